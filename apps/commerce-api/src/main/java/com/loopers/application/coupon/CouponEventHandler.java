@@ -1,5 +1,6 @@
 package com.loopers.application.coupon;
 
+import com.loopers.config.AsyncConfig;
 import com.loopers.domain.coupon.CouponService;
 import com.loopers.domain.coupon.UserCoupon;
 import com.loopers.domain.order.OrderCreatedEvent;
@@ -24,7 +25,7 @@ public class CouponEventHandler {
     }
     
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async
+    @Async(AsyncConfig.COUPON_EXECUTOR)
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleCouponUsage(OrderCreatedEvent event) {
         if (event.getCouponId() == null) {
@@ -1,5 +1,6 @@
 package com.loopers.application.data;
 
+import com.loopers.config.AsyncConfig;
 import com.loopers.domain.order.OrderCreatedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +20,7 @@ public class DataPlatformEventHandler {
     }
     
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async
+    @Async(AsyncConfig.ANALYTICS_EXECUTOR)
     public void handleDataPlatformTransfer(OrderCreatedEvent event) {
         log.info("데이터 플랫폼 전송 처리 시작 - orderId: {}", event.getOrderId());
         
@@ -1,6 +1,7 @@
 package com.loopers.application.event;
 
 import com.loopers.application.product.ProductFacade;
+import com.loopers.config.AsyncConfig;
 import com.loopers.domain.event.CatalogEvent;
 import com.loopers.domain.event.OrderEvent;
 import com.loopers.domain.like.ProductLikeEvent;
@@ -33,7 +34,7 @@ public class KafkaEventHandler {
     /**
      * ProductLikeEvent를 처리하여 catalog-events 토픽으로 전송
      */
-    @Async
+    @Async(AsyncConfig.KAFKA_PUBLISH_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleProductLikeEvent(ProductLikeEvent event) {
         try {
@@ -63,7 +64,7 @@ public class KafkaEventHandler {
     /**
      * OrderCreatedEvent를 처리하여 order-events 토픽으로 전송
      */
-    @Async
+    @Async(AsyncConfig.KAFKA_PUBLISH_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleOrderCreatedEvent(OrderCreatedEvent event) {
         try {
@@ -94,7 +95,7 @@ public class KafkaEventHandler {
     /**
      * PaymentResultEvent를 처리하여 order-events 토픽으로 전송
      */
-    @Async
+    @Async(AsyncConfig.KAFKA_PUBLISH_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePaymentResultEvent(PaymentResultEvent event) {
         try {
@@ -117,7 +118,7 @@ public class KafkaEventHandler {
     /**
      * 재고 조정 이벤트 처리
      */
-    @Async
+    @Async(AsyncConfig.KAFKA_PUBLISH_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleStockAdjustedEvent(ProductFacade.StockAdjustedEvent event) {
         try {
@@ -0,0 +1,134 @@
+package com.loopers.application.payment;
+
+import com.loopers.domain.payment.PaymentCallback;
+import com.loopers.infrastructure.payment.PaymentResultWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PG 결제 콜백을 큐에 적재하고 워커 스레드에서 마이크로 배치로 반영한다.
+ *
+ * 콜백 요청 스레드는 적재만 하고 즉시 응답하므로 PG의 콜백 타임아웃과 DB 처리 시간이 분리된다.
+ * 워커는 최대 MAX_BATCH_SIZE 건을 모아 하나의 트랜잭션으로 반영하며,
+ * 큐가 가득 찬 경우에는 요청 스레드에서 직접 반영해 콜백이 유실되지 않도록 한다.
+ */
+@Component
+public class PaymentCallbackProcessor {
+    private static final Logger log = LoggerFactory.getLogger(PaymentCallbackProcessor.class);
+
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int MAX_BATCH_SIZE = 200;
+    private static final long POLL_TIMEOUT_MS = 50;
+
+    private final PaymentResultWriter paymentResultWriter;
+    private final BlockingQueue<PaymentCallback> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Counter overflowCounter;
+    private final Counter failureCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PaymentCallbackProcessor(PaymentResultWriter paymentResultWriter, MeterRegistry meterRegistry) {
+        this.paymentResultWriter = paymentResultWriter;
+        this.overflowCounter = Counter.builder("payment.callback.overflow")
+                .description("큐가 가득 차 요청 스레드에서 직접 반영한 콜백 수")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("payment.callback.failed")
+                .description("반영에 실패한 콜백 수")
+                .register(meterRegistry);
+        Gauge.builder("payment.callback.queue.size", queue, BlockingQueue::size)
+                .description("반영 대기 중인 콜백 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("PaymentCallback-worker").start(this::runLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // 종료 시점에 남은 콜백은 현재 스레드에서 모두 반영한다
+        List<PaymentCallback> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            apply(remaining);
+        }
+    }
+
+    /**
+     * 콜백을 큐에 적재한다. 큐가 가득 차면 호출 스레드에서 바로 반영한다.
+     */
+    public void enqueue(PaymentCallback callback) {
+        if (!callback.isTerminal()) {
+            log.debug("종결 상태가 아닌 콜백 무시: transactionId={}, status={}", callback.transactionId(), callback.status());
+            return;
+        }
+        if (!queue.offer(callback)) {
+            overflowCounter.increment();
+            log.warn("콜백 큐 포화 - 직접 반영: transactionId={}", callback.transactionId());
+            apply(List.of(callback));
+        }
+    }
+
+    private void runLoop() {
+        List<PaymentCallback> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                PaymentCallback first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 반영에 실패하면 문제 콜백이 나머지를 막지 않도록 건별로 다시 반영한다.
+     */
+    void apply(List<PaymentCallback> batch) {
+        try {
+            paymentResultWriter.applyCallbacks(batch);
+        } catch (Exception e) {
+            log.warn("콜백 배치 반영 실패 - 건별 재시도: size={}", batch.size(), e);
+            for (PaymentCallback callback : batch) {
+                try {
+                    paymentResultWriter.applyCallbacks(List.of(callback));
+                } catch (Exception ex) {
+                    failureCounter.increment();
+                    log.error("결제 콜백 반영 실패: transactionId={}, orderId={}",
+                            callback.transactionId(), callback.orderId(), ex);
+                }
+            }
+        }
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+}
@@ -1,12 +1,12 @@
 package com.loopers.application.payment;
 
-import com.loopers.domain.order.Order;
+import com.loopers.config.AsyncConfig;
 import com.loopers.domain.order.OrderCreatedEvent;
 import com.loopers.domain.order.OrderService;
+import com.loopers.domain.order.OrderStatus;
 import com.loopers.domain.payment.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
@@ -14,43 +14,45 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.transaction.event.TransactionPhase;
 
-import java.util.Optional;
-
 @Component
 public class PaymentEventHandler {
     private static final Logger log = LoggerFactory.getLogger(PaymentEventHandler.class);
     
-    private final PaymentService paymentService;
+    private final PaymentFacade paymentFacade;
     private final PaymentGateway paymentGateway;
     private final OrderService orderService;
-    private final ApplicationEventPublisher eventPublisher;
     
-    public PaymentEventHandler(PaymentService paymentService, PaymentGateway paymentGateway,
-                               OrderService orderService, ApplicationEventPublisher eventPublisher) {
-        this.paymentService = paymentService;
+    public PaymentEventHandler(PaymentFacade paymentFacade, PaymentGateway paymentGateway,
+                               OrderService orderService) {
+        this.paymentFacade = paymentFacade;
         this.paymentGateway = paymentGateway;
         this.orderService = orderService;
-        this.eventPublisher = eventPublisher;
     }
     
+    /**
+     * 결제 요청 처리
+     * PG 호출(타임아웃 + 재시도로 수 초 소요)이 DB 커넥션을 점유하지 않도록 트랜잭션을 세 단계로 분리한다.
+     * 1. PENDING 결제 저장 (짧은 트랜잭션)
+     * 2. PG 결제 요청 (트랜잭션 없음)
+     * 3. 결과 기록 및 결과 이벤트 발행 (짧은 트랜잭션)
+     * PG 지연이 다른 비동기 리스너로 번지지 않도록 결제 전용 가상 스레드 실행기에서 처리한다.
+     */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Async(AsyncConfig.PAYMENT_EXECUTOR)
     public void handlePaymentRequest(OrderCreatedEvent event) {
         log.info("결제 요청 처리 시작 - orderId: {}", event.getOrderId());
         
         try {
-            // 결제 엔티티 생성
-            Payment payment = paymentService.createPayment(
+            // 1. 결제 엔티티 생성 및 저장
+            Payment payment = paymentFacade.registerPendingPayment(
                 event.getOrderId().toString(),
                 event.getUserId(),
                 event.getTotalAmount(),
                 event.getCardCompany(),
                 event.getCardNumber()
             );
-            paymentService.savePayment(payment);
             
-            // PG 결제 요청
+            // 2. PG 결제 요청 (커넥션 미점유)
             PaymentRequest paymentRequest = new PaymentRequest(
                 event.getOrderId().toString(),
                 event.getCardCompany(),
@@ -61,26 +63,18 @@ public class PaymentEventHandler {
             
             PaymentResponse pgResponse = paymentGateway.requestPayment(paymentRequest);
             
+            // 3. 결과 기록
             if (pgResponse.isSuccess() && pgResponse.getTransactionId() != null) {
-                payment.updateTransactionId(pgResponse.getTransactionId());
-                paymentService.savePayment(payment);
-                
-                // 결제 성공 이벤트 발행
-                eventPublisher.publishEvent(PaymentResultEvent.success(
-                    event.getOrderId().toString(),
-                    pgResponse.getTransactionId(),
-                    event.getTotalAmount()
-                ));
+                paymentFacade.recordRequestSuccess(payment, pgResponse.getTransactionId());
                 
                 log.info("결제 요청 성공 - orderId: {}, transactionId: {}", 
                         event.getOrderId(), pgResponse.getTransactionId());
             } else {
-                // 결제 실패 이벤트 발행
-                eventPublisher.publishEvent(PaymentResultEvent.failure(
+                paymentFacade.recordRequestFailure(
                     event.getOrderId().toString(),
                     event.getTotalAmount(),
                     "PG 결제 실패"
-                ));
+                );
                 
                 log.warn("결제 요청 실패 - orderId: {}", event.getOrderId());
             }
@@ -89,11 +83,11 @@ public class PaymentEventHandler {
             log.error("결제 요청 처리 실패 - orderId: {}", event.getOrderId(), e);
             
             // 결제 실패 이벤트 발행
-            eventPublisher.publishEvent(PaymentResultEvent.failure(
+            paymentFacade.recordRequestFailure(
                 event.getOrderId().toString(),
                 event.getTotalAmount(),
                 e.getMessage()
-            ));
+            );
         }
     }
     
@@ -103,20 +97,18 @@ public class PaymentEventHandler {
         log.info("결제 결과 이벤트 처리 - orderId: {}, status: {}", event.getOrderId(), event.getStatus());
         
         try {
-            Optional<Order> orderOpt = orderService.getOrderById(Long.parseLong(event.getOrderId()));
-            if (orderOpt.isPresent()) {
-                Order order = orderOpt.get();
-                
-                if (event.isSuccess()) {
-                    order.completePayment();
-                    log.info("주문 결제 완료 처리 - orderId: {}", event.getOrderId());
-                } else {
-                    order.failPayment();
-                    log.warn("주문 결제 실패 처리 - orderId: {}, reason: {}", 
-                            event.getOrderId(), event.getFailureReason());
-                }
-                
-                orderService.saveOrder(order);
+            // 콜백/복구 스케줄러와 경합하므로 PENDING 주문에만 조건부 UPDATE 로 반영한다
+            OrderStatus status = event.isSuccess() ? OrderStatus.COMPLETED : OrderStatus.PAYMENT_FAILED;
+            if (!orderService.applyPaymentResult(Long.parseLong(event.getOrderId()), status)) {
+                log.info("이미 결제 결과가 반영된 주문 - 반영 생략: orderId: {}, status: {}", event.getOrderId(), status);
+                return;
+            }
+
+            if (event.isSuccess()) {
+                log.info("주문 결제 완료 처리 - orderId: {}", event.getOrderId());
+            } else {
+                log.warn("주문 결제 실패 처리 - orderId: {}, reason: {}",
+                        event.getOrderId(), event.getFailureReason());
             }
         } catch (Exception e) {
             log.error("결제 결과 처리 실패 - orderId: {}", event.getOrderId(), e);
@@ -0,0 +1,63 @@
+package com.loopers.application.payment;
+
+import com.loopers.domain.payment.Payment;
+import com.loopers.domain.payment.PaymentResultEvent;
+import com.loopers.domain.payment.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * 결제 요청 흐름의 DB 작업을 짧은 트랜잭션 단위로 묶는 파사드
+ * PG 호출은 트랜잭션 밖에서 수행되므로, 호출 전후의 저장/결과 기록만 이 클래스를 통해 커밋한다.
+ * 결과 이벤트는 트랜잭션 안에서 발행해야 AFTER_COMMIT 리스너가 정상적으로 수신한다.
+ */
+@Service
+@Transactional
+public class PaymentFacade {
+    private static final Logger log = LoggerFactory.getLogger(PaymentFacade.class);
+
+    private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PaymentFacade(PaymentService paymentService, ApplicationEventPublisher eventPublisher) {
+        this.paymentService = paymentService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 1단계: PENDING 결제 저장
+     */
+    public Payment registerPendingPayment(String orderId, String userId, BigDecimal amount,
+                                          String cardType, String cardNo) {
+        return paymentService.registerPendingPayment(orderId, userId, amount, cardType, cardNo);
+    }
+
+    /**
+     * 3단계: PG 요청 성공 결과 기록 및 성공 이벤트 발행
+     */
+    public void recordRequestSuccess(Payment payment, String transactionId) {
+        if (!paymentService.assignTransactionId(payment.getId(), transactionId)) {
+            log.warn("PG 요청 결과 반영 생략 - 이미 처리된 결제: orderId={}, transactionId={}",
+                    payment.getOrderId(), transactionId);
+            return;
+        }
+
+        eventPublisher.publishEvent(PaymentResultEvent.success(
+            payment.getOrderId(),
+            transactionId,
+            payment.getAmount()
+        ));
+    }
+
+    /**
+     * 3단계: PG 요청 실패 결과 이벤트 발행
+     */
+    public void recordRequestFailure(String orderId, BigDecimal amount, String failureReason) {
+        eventPublisher.publishEvent(PaymentResultEvent.failure(orderId, amount, failureReason));
+    }
+}
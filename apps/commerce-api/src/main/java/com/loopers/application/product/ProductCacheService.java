@@ -2,11 +2,15 @@ package com.loopers.application.product;
 
 import com.loopers.domain.product.Product;
 import com.loopers.interfaces.api.ProductDetailResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 상품 캐시 서비스
@@ -26,10 +30,15 @@ public class ProductCacheService {
     private static final String PRODUCT_LIST_PREFIX = "product:list:";
     private static final String POPULAR_PRODUCTS_KEY = "product:popular";
     
+    // 키 레지스트리 (commerce-streamer 가 KEYS 조회 없이 무효화할 키를 찾는 데 사용)
+    private static final String PRODUCT_REGISTRY_PREFIX = "product:registry:";     // 상품을 담고 있는 캐시 키
+    private static final String PRODUCT_LIST_REGISTRY_KEY = "product:registry:list"; // 살아 있는 상품 목록 캐시 키
+    
     // TTL 설정
     private static final Duration PRODUCT_DETAIL_TTL = Duration.ofMinutes(10);  // 상품 상세: 10분
     private static final Duration PRODUCT_LIST_TTL = Duration.ofMinutes(5);     // 상품 목록: 5분
     private static final Duration POPULAR_PRODUCTS_TTL = Duration.ofMinutes(30); // 인기 상품: 30분
+    private static final Duration REGISTRY_TTL = PRODUCT_DETAIL_TTL;              // 등록된 캐시보다 오래 유지
 
     public ProductCacheService(RedisTemplate<String, Object> redisTemplate) {
         this.redisTemplate = redisTemplate;
@@ -49,7 +58,16 @@ public class ProductCacheService {
      */
     public void cacheProductDetail(Long productId, ProductDetailResponse productDetail) {
         String key = PRODUCT_DETAIL_PREFIX + productId;
-        redisTemplate.opsForValue().set(key, productDetail, PRODUCT_DETAIL_TTL);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().set(key, productDetail, PRODUCT_DETAIL_TTL);
+                register(ops, PRODUCT_REGISTRY_PREFIX + productId, key);
+                return null;
+            }
+        });
     }
 
     /**
@@ -76,7 +94,19 @@ public class ProductCacheService {
      */
     public void cacheProductList(String cacheKey, List<Product> products) {
         String key = PRODUCT_LIST_PREFIX + cacheKey;
-        redisTemplate.opsForValue().set(key, products, PRODUCT_LIST_TTL);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().set(key, products, PRODUCT_LIST_TTL);
+                register(ops, PRODUCT_LIST_REGISTRY_KEY, key);
+                for (Product product : products) {
+                    register(ops, PRODUCT_REGISTRY_PREFIX + product.getId(), key);
+                }
+                return null;
+            }
+        });
     }
 
     /**
@@ -130,12 +160,23 @@ public class ProductCacheService {
     }
 
     /**
-     * 패턴에 맞는 상품 목록 캐시들 모두 삭제
+     * 레지스트리에 등록된 상품 목록 캐시들 모두 삭제 (KEYS 패턴 조회 없음)
      */
     private void evictProductListCachesByPattern() {
-        // 모든 상품 목록 캐시 삭제
-        // 운영환경에서는 더 선별적으로 삭제할 수 있음
-        redisTemplate.delete(redisTemplate.keys(PRODUCT_LIST_PREFIX + "*"));
+        Set<Object> listKeys = redisTemplate.opsForSet().members(PRODUCT_LIST_REGISTRY_KEY);
+        if (listKeys == null || listKeys.isEmpty()) {
+            return;
+        }
+        redisTemplate.unlink(listKeys.stream().map(String::valueOf).toList());
+        redisTemplate.opsForSet().remove(PRODUCT_LIST_REGISTRY_KEY, listKeys.toArray());
+    }
+    
+    /**
+     * 캐시 키를 레지스트리에 등록 (레지스트리는 등록된 캐시보다 오래 유지되도록 TTL 갱신)
+     */
+    private void register(RedisOperations<String, Object> ops, String registryKey, String cacheKey) {
+        ops.opsForSet().add(registryKey, cacheKey);
+        ops.expire(registryKey, REGISTRY_TTL);
     }
 
     // 상품 목록 쿼리용 캐시 키 생성
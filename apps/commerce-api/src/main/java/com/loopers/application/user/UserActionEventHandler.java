@@ -1,5 +1,6 @@
 package com.loopers.application.user;
 
+import com.loopers.config.AsyncConfig;
 import com.loopers.domain.user.UserActionEvent;
 import com.loopers.domain.user.UserActionHandler;
 import org.slf4j.Logger;
@@ -23,7 +24,7 @@ public class UserActionEventHandler {
     }
     
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async
+    @Async(AsyncConfig.ANALYTICS_EXECUTOR)
     public void handleUserAction(UserActionEvent event) {
         try {
             // 1. 사용자 행동 로깅 (구조화된 로그)
@@ -1,30 +1,95 @@
 package com.loopers.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * 리스너 분류별 비동기 실행기 설정
+ *
+ * 하나의 공용 풀을 나눠 쓰면 PG 지연이나 분석 이벤트 폭주가 쿠폰/카프카 발행까지 막기 때문에
+ * 분류별로 실행기를 분리하고, 각 실행기에 큐 크기와 오버플로 정책을 명시한다.
+ * 블로킹 I/O 위주의 실행기는 가상 스레드를 사용하되 maxPoolSize 로 하위 자원(커넥션 풀, PG)을 보호한다.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    /**
+     * PG 연동 전용 실행기 이름
+     * PG 지연이 다른 리스너의 실행기를 고갈시키지 않도록 분리한다.
+     */
+    public static final String PAYMENT_EXECUTOR = "paymentTaskExecutor";
+
+    /** 쿠폰 사용 처리 (DB 쓰기, 유실 불가) */
+    public static final String COUPON_EXECUTOR = "couponTaskExecutor";
+
+    /** 스프링 이벤트 → 카프카 발행 */
+    public static final String KAFKA_PUBLISH_EXECUTOR = "kafkaPublishTaskExecutor";
+
+    /** 사용자 행동 추적, 데이터 플랫폼 전송 (best-effort) */
+    public static final String ANALYTICS_EXECUTOR = "analyticsTaskExecutor";
+
+    private static final String DEFAULT_EXECUTOR = "taskExecutor";
+
+    private final AsyncExecutorProperties properties;
+    private final MonitoredExecutorFactory executorFactory;
+
+    public AsyncConfig(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executorFactory = new MonitoredExecutorFactory(meterRegistry);
+    }
+
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("AsyncEvent-");
-        executor.initialize();
-        return executor;
+        return taskExecutor();
+    }
+
+    /**
+     * 실행기를 지정하지 않은 리스너(좋아요 집계, 캐시 무효화)용 기본 실행기
+     */
+    @Bean(name = DEFAULT_EXECUTOR)
+    public ExecutorService taskExecutor() {
+        return create(DEFAULT_EXECUTOR, "AsyncEvent-",
+                new AsyncExecutorProperties.ExecutorSpec(5, 10, 1_000, false, OverflowPolicy.CALLER_RUNS));
+    }
+
+    /**
+     * PG 호출은 대부분의 시간을 I/O 대기로 보내므로 가상 스레드로 실행한다.
+     * 동시 호출 상한은 resilience4j Bulkhead(pgClient)와 PgConcurrencyLimiter가 담당한다.
+     * PENDING 결제는 이 실행기 안에서 저장되므로, 거절하면 복구 스케줄러가 찾을 결제건 자체가 남지 않는다.
+     * 큐가 넘치면 호출 스레드에서 실행해 결제 요청 유입 속도를 늦춘다.
+     */
+    @Bean(name = PAYMENT_EXECUTOR)
+    public ExecutorService paymentTaskExecutor() {
+        return create(PAYMENT_EXECUTOR, "PaymentVT-",
+                new AsyncExecutorProperties.ExecutorSpec(100, 100, 10_000, true, OverflowPolicy.CALLER_RUNS));
+    }
+
+    @Bean(name = COUPON_EXECUTOR)
+    public ExecutorService couponTaskExecutor() {
+        return create(COUPON_EXECUTOR, "CouponVT-",
+                new AsyncExecutorProperties.ExecutorSpec(10, 10, 1_000, true, OverflowPolicy.CALLER_RUNS));
+    }
+
+    @Bean(name = KAFKA_PUBLISH_EXECUTOR)
+    public ExecutorService kafkaPublishTaskExecutor() {
+        return create(KAFKA_PUBLISH_EXECUTOR, "KafkaPublishVT-",
+                new AsyncExecutorProperties.ExecutorSpec(32, 32, 10_000, true, OverflowPolicy.CALLER_RUNS));
+    }
+
+    @Bean(name = ANALYTICS_EXECUTOR)
+    public ExecutorService analyticsTaskExecutor() {
+        return create(ANALYTICS_EXECUTOR, "AnalyticsVT-",
+                new AsyncExecutorProperties.ExecutorSpec(16, 16, 1_000, true, OverflowPolicy.DROP_OLDEST));
     }
 
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        return getAsyncExecutor();
+    private ExecutorService create(String name, String threadNamePrefix, AsyncExecutorProperties.ExecutorSpec defaults) {
+        return executorFactory.create(name, threadNamePrefix, properties.get(name, defaults));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.loopers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * 리스너 분류별 비동기 실행기 설정
+ * 설정이 없는 실행기는 AsyncConfig 에 정의된 기본값을 사용한다.
+ */
+@ConfigurationProperties(prefix = "async")
+public record AsyncExecutorProperties(Map<String, ExecutorSpec> executors) {
+
+    public AsyncExecutorProperties {
+        executors = executors == null ? Map.of() : executors;
+    }
+
+    public ExecutorSpec get(String name, ExecutorSpec defaults) {
+        return executors.getOrDefault(name, defaults);
+    }
+
+    /**
+     * @param maxPoolSize    동시에 실행되는 작업 수 상한 (가상 스레드여도 하위 자원 보호를 위해 제한한다)
+     * @param queueCapacity  대기 큐 크기
+     * @param virtualThreads 블로킹 I/O 위주 작업이면 true
+     */
+    public record ExecutorSpec(
+            int corePoolSize,
+            int maxPoolSize,
+            int queueCapacity,
+            boolean virtualThreads,
+            OverflowPolicy overflowPolicy
+    ) {
+    }
+}
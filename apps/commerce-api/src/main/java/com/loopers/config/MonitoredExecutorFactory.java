@@ -0,0 +1,60 @@
+package com.loopers.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큐 크기와 오버플로 정책이 명시된 실행기를 만들고 메트릭을 등록한다.
+ *
+ * 가상 스레드 실행기도 ThreadPoolExecutor 위에 가상 스레드 팩토리를 얹어 만들기 때문에
+ * 동시 실행 수, 큐 크기, 거절 정책을 플랫폼 스레드 실행기와 같은 방식으로 다룰 수 있다.
+ * 등록되는 메트릭 (name 태그로 구분):
+ * - executor.queued / executor.active / executor.pool.size / executor.completed
+ * - executor.idle : 큐 대기 시간, executor : 실행 시간
+ * - executor.rejected : 오버플로 정책이 적용된 횟수
+ */
+public class MonitoredExecutorFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    public MonitoredExecutorFactory(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ExecutorService create(String name, String threadNamePrefix, AsyncExecutorProperties.ExecutorSpec spec) {
+        ThreadFactory threadFactory = spec.virtualThreads()
+                ? Thread.ofVirtual().name(threadNamePrefix, 0).factory()
+                : Thread.ofPlatform().name(threadNamePrefix, 0).factory();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                spec.corePoolSize(),
+                spec.maxPoolSize(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(spec.queueCapacity()),
+                threadFactory,
+                countingHandler(name, spec.overflowPolicy()));
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, name, Tags.empty());
+    }
+
+    private RejectedExecutionHandler countingHandler(String name, OverflowPolicy policy) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("큐가 가득 차 오버플로 정책이 적용된 작업 수")
+                .tags("name", name, "policy", policy.name())
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = policy.toHandler();
+        return (task, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
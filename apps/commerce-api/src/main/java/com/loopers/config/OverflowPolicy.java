@@ -0,0 +1,24 @@
+package com.loopers.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 실행기 큐가 가득 찼을 때의 처리 방식
+ */
+public enum OverflowPolicy {
+    /** 제출한 스레드에서 직접 실행한다. 유실되면 안 되는 작업에 사용 (생산 속도도 자연스럽게 늦춰진다) */
+    CALLER_RUNS,
+    /** 가장 오래 대기한 작업을 버리고 새 작업을 넣는다. 최신 데이터가 더 중요한 best-effort 작업에 사용 */
+    DROP_OLDEST,
+    /** 예외를 던져 제출한 쪽에서 처리하도록 한다. 별도 복구 경로가 있는 작업에 사용 */
+    ABORT;
+
+    RejectedExecutionHandler toHandler() {
+        return switch (this) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+}
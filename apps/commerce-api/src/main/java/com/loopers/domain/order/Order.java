@@ -65,8 +65,10 @@ public class Order extends BaseEntity {
     }
 
     public void failPayment() {
-        // 결제 실패 시 PAYMENT_FAILED 상태로 변경
-        this.status = OrderStatus.PAYMENT_FAILED;
+        // 결제 실패 시 PAYMENT_FAILED 상태로 변경 (이미 결제가 완료된 주문은 늦게 도착한 실패로 되돌리지 않는다)
+        if (this.status == OrderStatus.PENDING) {
+            this.status = OrderStatus.PAYMENT_FAILED;
+        }
     }
 
     private void recalculateTotalAmount() {
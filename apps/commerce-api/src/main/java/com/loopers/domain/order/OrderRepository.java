@@ -1,5 +1,6 @@
 package com.loopers.domain.order;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,4 +8,10 @@ public interface OrderRepository {
     List<Order> findByUserId(String userId);
     Order save(Order order);
     Optional<Order> findById(Long id);
+    /**
+     * PENDING 주문만 한 번의 UPDATE 로 전이한다 (이미 결제 결과가 반영된 주문은 건드리지 않는다)
+     *
+     * @return 실제로 전이된 주문 수
+     */
+    int updateStatusIfPending(Collection<Long> ids, OrderStatus status);
 }
\ No newline at end of file
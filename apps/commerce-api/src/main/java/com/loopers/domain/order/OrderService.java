@@ -78,6 +78,15 @@ public class OrderService {
     public Optional<Order> getOrderById(Long orderId) {
         return orderRepository.findById(orderId);
     }
+
+    /**
+     * 결제 결과를 PENDING 주문에만 반영한다 (먼저 결과가 반영된 주문은 되돌리지 않는다)
+     *
+     * @return 주문 상태가 실제로 전이되었는지
+     */
+    public boolean applyPaymentResult(Long orderId, OrderStatus status) {
+        return orderRepository.updateStatusIfPending(List.of(orderId), status) > 0;
+    }
     
     public List<Order> getUserOrders(String userId) {
         return orderRepository.findByUserId(userId);
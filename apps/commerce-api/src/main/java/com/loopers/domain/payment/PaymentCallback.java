@@ -0,0 +1,24 @@
+package com.loopers.domain.payment;
+
+/**
+ * PG 결제 결과 콜백
+ * 트랜잭션 키가 아직 결제에 기록되지 않았을 수 있으므로 주문 ID도 함께 보관한다.
+ */
+public record PaymentCallback(
+        String transactionId,
+        String orderId,
+        String status,
+        String message
+) {
+    public boolean isApproved() {
+        return "COMPLETED".equalsIgnoreCase(status) || "SUCCESS".equalsIgnoreCase(status);
+    }
+
+    public boolean isFailed() {
+        return "FAILED".equalsIgnoreCase(status) || "LIMIT_EXCEEDED".equalsIgnoreCase(status) || "INVALID_CARD".equalsIgnoreCase(status);
+    }
+
+    public boolean isTerminal() {
+        return isApproved() || isFailed();
+    }
+}
@@ -1,7 +1,16 @@
 package com.loopers.domain.payment;
 
+import java.util.List;
+import java.util.Map;
+
 public interface PaymentGateway {
     PaymentResponse requestPayment(PaymentRequest request);
     PaymentStatusResponse checkPaymentStatus(String transactionId);
     PaymentStatusResponse checkPaymentByOrderId(String orderId);
+
+    /**
+     * 여러 주문의 결제 상태를 묶음 요청으로 조회한다.
+     * PG에 결제건이 없는 주문은 결과 Map에 포함되지 않는다.
+     */
+    Map<String, PaymentStatusResponse> checkPaymentsByOrderIds(List<String> orderIds);
 }
\ No newline at end of file
@@ -35,6 +35,29 @@ public class PaymentService {
         return paymentRepository.save(payment);
     }
 
+    /**
+     * PENDING 결제를 생성하고 즉시 커밋한다.
+     * PG 호출 전에 커넥션을 반납할 수 있도록 짧은 트랜잭션으로만 사용한다.
+     */
+    public Payment registerPendingPayment(String orderId, String userId, BigDecimal amount, String cardType, String cardNo) {
+        Payment payment = createPayment(orderId, userId, amount, cardType, cardNo);
+        return paymentRepository.save(payment);
+    }
+
+    /**
+     * PG가 발급한 거래 키를 PENDING 결제에 기록한다.
+     * PG 호출 동안 다른 경로(콜백, 복구 스케줄러)가 상태를 바꿨을 수 있으므로 다시 조회한 뒤 PENDING일 때만 반영한다.
+     */
+    public boolean assignTransactionId(Long paymentId, String transactionId) {
+        return paymentRepository.findById(paymentId)
+                .filter(Payment::isPending)
+                .map(payment -> {
+                    payment.updateTransactionId(transactionId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
     public void approvePayment(Payment payment, String transactionId) {
         payment.approve(transactionId);
         paymentRepository.save(payment);
@@ -0,0 +1,34 @@
+package com.loopers.infrastructure.event;
+
+import com.loopers.event.schema.EventEncoding;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 카프카 이벤트 발행 설정
+ *
+ * @param encoding      페이로드 인코딩 (컨슈머는 두 형식을 모두 읽으므로 롤백 시 JSON 으로 되돌릴 수 있다)
+ * @param hotKeySalting catalog-events 핫 키 분산 설정
+ */
+@ConfigurationProperties(prefix = "event.publish")
+public record EventPublishProperties(
+        @DefaultValue("BINARY") EventEncoding encoding,
+        @DefaultValue HotKeySalting hotKeySalting
+) {
+
+    /**
+     * @param enabled      true 이면 핫 상품의 조회/좋아요 이벤트 키를 하위 키로 나누어 발행한다
+     * @param salts        핫 상품 하나를 나눌 하위 키 수 (파티션 수 이하 권장)
+     * @param hotThreshold 윈도우 동안 이 건수를 넘은 상품을 핫 상품으로 본다
+     * @param window       핫 상품 판정 윈도우
+     */
+    public record HotKeySalting(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("8") int salts,
+            @DefaultValue("500") int hotThreshold,
+            @DefaultValue("1s") Duration window
+    ) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.loopers.infrastructure.event;
+
+import com.loopers.event.schema.PartitionKeys;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * catalog-events 핫 키 분산
+ *
+ * 한 윈도우 동안 한 상품의 교환 가능한 이벤트(조회, 좋아요 증감)가 hotThreshold 건을 넘으면,
+ * 그 뒤의 이벤트는 키를 salts 개의 하위 키로 나누어 여러 파티션(컨슈머 스레드)에 퍼뜨린다.
+ * 재고 변경처럼 순서가 중요한 이벤트는 항상 상품 ID 키로 발행한다.
+ */
+class HotKeySalter {
+
+    private final EventPublishProperties.HotKeySalting properties;
+    private final LongSupplier clock;
+    private final Map<Long, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private volatile long windowStartMillis;
+
+    HotKeySalter(EventPublishProperties.HotKeySalting properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    HotKeySalter(EventPublishProperties.HotKeySalting properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.windowStartMillis = clock.getAsLong();
+    }
+
+    /**
+     * @return 파티션 키 (핫 상품의 교환 가능한 이벤트면 salt 를 붙인 하위 키)
+     */
+    String keyFor(Long productId, String eventType) {
+        String baseKey = productId.toString();
+        if (!properties.enabled() || !PartitionKeys.isCommutative(eventType)) {
+            return baseKey;
+        }
+
+        rollWindow();
+        int count = hits.computeIfAbsent(productId, id -> new AtomicInteger()).incrementAndGet();
+        if (count <= properties.hotThreshold()) {
+            return baseKey;
+        }
+        return PartitionKeys.salted(baseKey, ThreadLocalRandom.current().nextInt(properties.salts()));
+    }
+
+    private void rollWindow() {
+        long now = clock.getAsLong();
+        if (now - windowStartMillis < properties.window().toMillis()) {
+            return;
+        }
+        synchronized (this) {
+            if (now - windowStartMillis >= properties.window().toMillis()) {
+                hits.clear();
+                windowStartMillis = now;
+            }
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.loopers.infrastructure.event;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loopers.config.kafka.KafkaConfig;
 import com.loopers.domain.event.CatalogEvent;
 import com.loopers.domain.event.OrderEvent;
+import com.loopers.event.schema.EventCodec;
+import com.loopers.event.schema.EventEnvelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * 카프카 토픽에 이벤트를 발행하기 위한 인프라 서비스
+ *
+ * 이벤트는 공통 스키마(event-schema 모듈)의 바이너리 형식으로 인코딩해 전송한다. (event.publish.encoding=JSON 으로 되돌릴 수 있음)
+ * - order-events : 주문/결제 결과는 유실되면 안 되므로 acks=all 멱등성 프로듀서로 발행
+ * - catalog-events : 재고 변경과 좋아요 증감은 집계에 그대로 더해지는 델타라 유실되면 복구할 수 없으므로 acks=all 멱등성 프로듀서로 발행
+ *   컨슈머의 eventId 멱등 처리는 재전송으로 생긴 중복만 막을 뿐 유실은 막지 못한다.
+ *   acks=1 프로듀서는 유실돼도 집계가 크게 틀어지지 않는 일회성 이벤트(조회)에만 쓴다 (DISPOSABLE_EVENT_TYPES)
+ *   핫 상품의 조회/좋아요 이벤트는 설정 시 하위 키로 나누어 여러 파티션에 퍼뜨린다 ({@link HotKeySalter})
+ * 성공 로그는 건별로 남기지 않고 LOG_SAMPLE_INTERVAL 건마다 누적 건수로 남긴다. 실패는 항상 기록한다.
  */
 @Component
 public class KafkaEventPublisher {
@@ -17,30 +31,31 @@ public class KafkaEventPublisher {
     
     private static final String CATALOG_EVENTS_TOPIC = "catalog-events";
     private static final String ORDER_EVENTS_TOPIC = "order-events";
+    private static final long LOG_SAMPLE_INTERVAL = 1_000;
+    private static final Set<String> DISPOSABLE_EVENT_TYPES = Set.of("PRODUCT_VIEWED");
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> reliableTemplate;
+    private final KafkaTemplate<String, byte[]> throughputTemplate;
+    private final EventPublishProperties properties;
+    private final HotKeySalter hotKeySalter;
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
 
-    public KafkaEventPublisher(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+    public KafkaEventPublisher(
+            @Qualifier(KafkaConfig.RELIABLE_BYTES_TEMPLATE) KafkaTemplate<String, byte[]> reliableTemplate,
+            @Qualifier(KafkaConfig.THROUGHPUT_BYTES_TEMPLATE) KafkaTemplate<String, byte[]> throughputTemplate,
+            EventPublishProperties properties) {
+        this.reliableTemplate = reliableTemplate;
+        this.throughputTemplate = throughputTemplate;
+        this.properties = properties;
+        this.hotKeySalter = new HotKeySalter(properties.hotKeySalting());
     }
 
     public void publishCatalogEvent(CatalogEvent event) {
         try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            String partitionKey = event.getProductId().toString();
-            
-            kafkaTemplate.send(CATALOG_EVENTS_TOPIC, partitionKey, eventJson)
-                    .whenComplete((result, ex) -> {
-                        if (ex != null) {
-                            log.error("Failed to publish catalog event: {}", event, ex);
-                        } else {
-                            log.info("Successfully published catalog event: {} to partition: {}", 
-                                    event.getEventId(), result.getRecordMetadata().partition());
-                        }
-                    });
-                    
+            byte[] payload = EventCodec.encode(toEnvelope(event), properties.encoding());
+            String partitionKey = hotKeySalter.keyFor(event.getProductId(), event.getEventType());
+            send(templateFor(event.getEventType()), CATALOG_EVENTS_TOPIC, partitionKey, payload, event.getEventId());
         } catch (Exception e) {
             log.error("Failed to serialize catalog event: {}", event, e);
         }
@@ -48,21 +63,70 @@ public class KafkaEventPublisher {
 
     public void publishOrderEvent(OrderEvent event) {
         try {
-            String eventJson = objectMapper.writeValueAsString(event);
+            byte[] payload = EventCodec.encode(toEnvelope(event), properties.encoding());
             String partitionKey = event.getOrderId().toString();
-            
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, partitionKey, eventJson)
-                    .whenComplete((result, ex) -> {
-                        if (ex != null) {
-                            log.error("Failed to publish order event: {}", event, ex);
-                        } else {
-                            log.info("Successfully published order event: {} to partition: {}", 
-                                    event.getEventId(), result.getRecordMetadata().partition());
-                        }
-                    });
-                    
+            send(reliableTemplate, ORDER_EVENTS_TOPIC, partitionKey, payload, event.getEventId());
         } catch (Exception e) {
             log.error("Failed to serialize order event: {}", event, e);
         }
     }
+
+    private KafkaTemplate<String, byte[]> templateFor(String eventType) {
+        return DISPOSABLE_EVENT_TYPES.contains(eventType) ? throughputTemplate : reliableTemplate;
+    }
+
+    private EventEnvelope toEnvelope(CatalogEvent event) {
+        return new EventEnvelope()
+                .setEventId(event.getEventId())
+                .setEventType(event.getEventType())
+                .setVersion(event.getVersion())
+                .setTimestamp(event.getTimestamp())
+                .setProductId(event.getProductId())
+                .setUserId(event.getUserId())
+                .setQuantityChanged(event.getQuantityChanged());
+    }
+
+    private EventEnvelope toEnvelope(OrderEvent event) {
+        EventEnvelope envelope = new EventEnvelope()
+                .setEventId(event.getEventId())
+                .setEventType(event.getEventType())
+                .setVersion(event.getVersion())
+                .setTimestamp(event.getTimestamp())
+                .setOrderId(event.getOrderId())
+                .setUserId(event.getUserId())
+                .setTotalAmount(event.getTotalAmount())
+                .setCouponId(event.getCouponId())
+                .setCardCompany(event.getCardCompany())
+                .setCardNumber(event.getCardNumber())
+                .setTransactionId(event.getTransactionId())
+                .setPaymentStatus(event.getPaymentStatus())
+                .setFailureReason(event.getFailureReason());
+        if (event.getItems() != null) {
+            for (OrderEvent.OrderItemData item : event.getItems()) {
+                envelope.addItem(item.getProductId(),
+                        item.getQuantity() != null ? item.getQuantity() : 1,
+                        item.getPrice());
+            }
+        }
+        return envelope;
+    }
+
+    private void send(KafkaTemplate<String, byte[]> template, String topic, String key, byte[] payload, String eventId) {
+        template.send(topic, key, payload)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        failedCount.incrementAndGet();
+                        log.error("Failed to publish event: {} to topic: {}", eventId, topic, ex);
+                        return;
+                    }
+                    long published = publishedCount.incrementAndGet();
+                    if (published % LOG_SAMPLE_INTERVAL == 0) {
+                        log.info("Published {} events (failed: {}), last: {} to {}-{}",
+                                published, failedCount.get(), eventId, topic, result.getRecordMetadata().partition());
+                    } else if (log.isDebugEnabled()) {
+                        log.debug("Successfully published event: {} to {}-{}",
+                                eventId, topic, result.getRecordMetadata().partition());
+                    }
+                });
+    }
 }
@@ -1,11 +1,15 @@
 package com.loopers.infrastructure.order;
 
 import com.loopers.domain.order.Order;
+import com.loopers.domain.order.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,11 @@ import java.util.Optional;
 public interface JpaOrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.userId = :userId")
     List<Order> findByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt "
+            + "WHERE o.id IN :ids AND o.status = com.loopers.domain.order.OrderStatus.PENDING")
+    int updateStatusIfPending(@Param("ids") Collection<Long> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") ZonedDateTime updatedAt);
 }
\ No newline at end of file
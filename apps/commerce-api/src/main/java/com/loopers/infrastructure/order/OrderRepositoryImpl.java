@@ -2,8 +2,11 @@ package com.loopers.infrastructure.order;
 
 import com.loopers.domain.order.Order;
 import com.loopers.domain.order.OrderRepository;
+import com.loopers.domain.order.OrderStatus;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +33,12 @@ public class OrderRepositoryImpl implements OrderRepository {
     public Optional<Order> findById(Long id) {
         return jpaOrderRepository.findById(id);
     }
+
+    @Override
+    public int updateStatusIfPending(Collection<Long> ids, OrderStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaOrderRepository.updateStatusIfPending(ids, status, ZonedDateTime.now());
+    }
 }
\ No newline at end of file
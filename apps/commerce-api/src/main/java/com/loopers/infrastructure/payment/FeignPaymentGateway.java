@@ -4,25 +4,42 @@ import com.loopers.domain.payment.PaymentGateway;
 import com.loopers.domain.payment.PaymentRequest;
 import com.loopers.domain.payment.PaymentResponse;
 import com.loopers.domain.payment.PaymentStatusResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * PG 연동 게이트웨이
+ * Retry → CircuitBreaker → Bulkhead → 적응형 동시성 제한 → Feign 순서로 호출을 보호한다.
+ * Bulkhead는 PG 호출이 점유할 수 있는 스레드 수의 고정 상한이고,
+ * {@link PgConcurrencyLimiter}는 관측된 PG 지연에 따라 그 안에서 실제 동시 호출 수를 조절한다.
+ * Bulkhead 에는 fallback 을 두지 않는다. 가장 안쪽에서 예외를 삼키면 Retry 와 CircuitBreaker 가 실패를 보지 못한다.
+ */
 @Component
 public class FeignPaymentGateway implements PaymentGateway {
     private static final Logger log = LoggerFactory.getLogger(FeignPaymentGateway.class);
+    private static final int MAX_SEARCH_SIZE = 500; // pg-simulator 다건 조회 최대 건수
     
     private final PgClient pgClient;
+    private final PgConcurrencyLimiter concurrencyLimiter;
 
-    public FeignPaymentGateway(PgClient pgClient) {
+    public FeignPaymentGateway(PgClient pgClient, PgConcurrencyLimiter concurrencyLimiter) {
         this.pgClient = pgClient;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @Override
     @CircuitBreaker(name = "pgClient", fallbackMethod = "requestPaymentFallback")
     @Retry(name = "pgClient", fallbackMethod = "requestPaymentFallback")
+    @Bulkhead(name = "pgClient")
     public PaymentResponse requestPayment(PaymentRequest request) {
         try {
             log.info("PG 결제 요청 시작: orderId={}", request.getOrderId());
@@ -35,7 +52,8 @@ public class FeignPaymentGateway implements PaymentGateway {
                     request.getCallbackUrl()
             );
 
-            PgClient.PgSimulatorResponse response = pgClient.requestPayment("135135", pgRequest);
+            PgClient.PgSimulatorResponse response = concurrencyLimiter.execute(
+                    () -> pgClient.requestPayment("135135", pgRequest));
             
             if (response.success() && response.data() != null) {
                 log.info("PG 결제 요청 성공: orderId={}, transactionId={}", 
@@ -54,11 +72,13 @@ public class FeignPaymentGateway implements PaymentGateway {
     @Override
     @CircuitBreaker(name = "pgClient", fallbackMethod = "checkPaymentStatusFallback")
     @Retry(name = "pgClient", fallbackMethod = "checkPaymentStatusFallback")
+    @Bulkhead(name = "pgClient")
     public PaymentStatusResponse checkPaymentStatus(String transactionId) {
         try {
             log.info("PG 결제 상태 확인 시작: transactionId={}", transactionId);
             
-            PgClient.PgStatusResponse response = pgClient.getPaymentStatus("135135", transactionId);
+            PgClient.PgStatusResponse response = concurrencyLimiter.execute(
+                    () -> pgClient.getPaymentStatus("135135", transactionId));
             
             if (response.success() && response.data() != null) {
                 PgClient.PgStatusResponse.StatusData data = response.data();
@@ -78,11 +98,13 @@ public class FeignPaymentGateway implements PaymentGateway {
     @Override
     @CircuitBreaker(name = "pgClient", fallbackMethod = "checkPaymentByOrderIdFallback")
     @Retry(name = "pgClient", fallbackMethod = "checkPaymentByOrderIdFallback")
+    @Bulkhead(name = "pgClient")
     public PaymentStatusResponse checkPaymentByOrderId(String orderId) {
         try {
             log.info("PG 주문별 결제 상태 확인 시작: orderId={}", orderId);
             
-            PgClient.PgStatusResponse response = pgClient.getPaymentByOrderId("135135", orderId);
+            PgClient.PgStatusResponse response = concurrencyLimiter.execute(
+                    () -> pgClient.getPaymentByOrderId("135135", orderId));
             
             if (response.success() && response.data() != null) {
                 PgClient.PgStatusResponse.StatusData data = response.data();
@@ -99,6 +121,54 @@ public class FeignPaymentGateway implements PaymentGateway {
         }
     }
 
+    @Override
+    @CircuitBreaker(name = "pgClient", fallbackMethod = "checkPaymentsByOrderIdsFallback")
+    @Retry(name = "pgClient", fallbackMethod = "checkPaymentsByOrderIdsFallback")
+    @Bulkhead(name = "pgClient")
+    public Map<String, PaymentStatusResponse> checkPaymentsByOrderIds(List<String> orderIds) {
+        log.info("PG 다건 결제 상태 확인 시작: size={}", orderIds.size());
+
+        Map<String, PaymentStatusResponse> result = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += MAX_SEARCH_SIZE) {
+            List<String> chunk = orderIds.subList(from, Math.min(from + MAX_SEARCH_SIZE, orderIds.size()));
+            PgClient.PgSearchRequest request = new PgClient.PgSearchRequest(chunk, List.of());
+
+            PgClient.PgOrdersResponse response = concurrencyLimiter.execute(
+                    () -> pgClient.searchPayments("135135", request));
+
+            if (response.meta() == null || !response.meta().isSuccess() || response.data() == null) {
+                String message = response.meta() != null ? response.meta().message() : null;
+                throw new IllegalStateException("PG 다건 결제 상태 확인 실패: " + message);
+            }
+
+            for (PgClient.PgOrdersResponse.OrderData order : response.data().orders()) {
+                toStatusResponse(order).ifPresent(status -> result.put(order.orderId(), status));
+            }
+        }
+
+        log.info("PG 다건 결제 상태 확인 완료: requested={}, found={}", orderIds.size(), result.size());
+        return result;
+    }
+
+    /**
+     * 주문 하나에 여러 트랜잭션이 있을 수 있으므로 승인 → 대기 → 최신 실패 순으로 대표 상태를 고른다.
+     */
+    private Optional<PaymentStatusResponse> toStatusResponse(PgClient.PgOrdersResponse.OrderData order) {
+        List<PgClient.PgOrdersResponse.TransactionData> transactions = order.transactions();
+        if (transactions == null || transactions.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PgClient.PgOrdersResponse.TransactionData representative = transactions.stream()
+                .filter(tx -> "SUCCESS".equals(tx.status()))
+                .findFirst()
+                .or(() -> transactions.stream().filter(tx -> "PENDING".equals(tx.status())).findFirst())
+                .orElse(transactions.get(0));
+
+        return Optional.of(new PaymentStatusResponse(
+                representative.transactionKey(), representative.status(), representative.reason(), order.orderId()));
+    }
+
     // Fallback methods
     public PaymentResponse requestPaymentFallback(PaymentRequest request, Throwable throwable) {
         log.error("PG 결제 요청 Fallback 실행: orderId={}, error={}", request.getOrderId(), throwable.getMessage());
@@ -114,4 +184,14 @@ public class FeignPaymentGateway implements PaymentGateway {
         log.error("PG 주문별 결제 상태 확인 Fallback 실행: orderId={}, error={}", orderId, throwable.getMessage());
         return new PaymentStatusResponse(null, "PENDING", "결제 상태 확인이 일시적으로 불가능합니다.", orderId);
     }
+
+    public Map<String, PaymentStatusResponse> checkPaymentsByOrderIdsFallback(List<String> orderIds, Throwable throwable) {
+        log.error("PG 다건 결제 상태 확인 Fallback 실행: size={}, error={}", orderIds.size(), throwable.getMessage());
+        // 결제건 없음으로 오인하지 않도록 모든 주문을 PENDING으로 돌려준다
+        Map<String, PaymentStatusResponse> result = new HashMap<>();
+        for (String orderId : orderIds) {
+            result.put(orderId, new PaymentStatusResponse(null, "PENDING", "결제 상태 확인이 일시적으로 불가능합니다.", orderId));
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.loopers.infrastructure.payment;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 결제 배치 작업(복구 파티션, 대사 작업)에 대한 Redis 기반 리스
+ * 여러 commerce-api 노드가 동시에 스케줄러를 실행해도 작업 단위마다 한 노드만 처리하도록 한다.
+ */
+@Component
+public class PaymentJobLease {
+
+    private static final String LEASE_KEY_PREFIX = "payment:job:lease:";
+
+    // 본인이 획득한 리스만 해제한다
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public PaymentJobLease(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean tryAcquire(String job, Duration ttl) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(job), nodeId, ttl);
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    public void release(String job) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(job)), nodeId);
+    }
+
+    private String leaseKey(String job) {
+        return LEASE_KEY_PREFIX + job;
+    }
+}
@@ -0,0 +1,125 @@
+package com.loopers.infrastructure.payment;
+
+import com.loopers.domain.payment.Payment;
+import com.loopers.domain.payment.PaymentGateway;
+import com.loopers.domain.payment.PaymentStatus;
+import com.loopers.domain.payment.PaymentStatusResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전일 최종 처리된 결제를 PG 결제 상태와 대사하는 스케줄러
+ *
+ * 주요 기능:
+ * 1. 전일 승인/실패 처리된 결제를 keyset 페이지 단위로 조회
+ * 2. 페이지마다 PG 다건 조회 API 한 번으로 상태 확인
+ * 3. 불일치 건을 로그와 메트릭(payment.reconciliation.mismatch)으로 남김 (자동 보정하지 않음)
+ */
+@Slf4j
+@Component
+public class PaymentReconciliationScheduler {
+
+    private static final String JOB = "reconciliation";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(30);
+    private static final int PAGE_SIZE = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentJobLease jobLease;
+    private final Counter mismatchCounter;
+
+    public PaymentReconciliationScheduler(PaymentRepository paymentRepository,
+                                          PaymentGateway paymentGateway,
+                                          PaymentJobLease jobLease,
+                                          MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.jobLease = jobLease;
+        this.mismatchCounter = Counter.builder("payment.reconciliation.mismatch")
+                .description("PG 상태와 일치하지 않는 결제 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 매일 새벽 4시에 전일 결제 대사 실행
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void reconcileYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        reconcile(yesterday.atStartOfDay(), yesterday.plusDays(1).atStartOfDay());
+    }
+
+    public void reconcile(LocalDateTime from, LocalDateTime to) {
+        if (!jobLease.tryAcquire(JOB, LEASE_TTL)) {
+            log.info("다른 노드에서 결제 대사 진행 중 - 건너뜀");
+            return;
+        }
+
+        try {
+            log.info("=== 결제 대사 시작 - from: {}, to: {} ===", from, to);
+
+            long lastId = 0L;
+            int checked = 0;
+            int mismatched = 0;
+
+            while (true) {
+                List<Payment> page = paymentRepository.findCompletedPaymentsAfter(
+                        List.of(PaymentStatus.APPROVED, PaymentStatus.FAILED), from, to, lastId,
+                        PageRequest.of(0, PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                Map<String, PaymentStatusResponse> statuses = paymentGateway.checkPaymentsByOrderIds(
+                        page.stream().map(Payment::getOrderId).toList());
+
+                for (Payment payment : page) {
+                    if (isMismatched(payment, statuses.get(payment.getOrderId()))) {
+                        mismatched++;
+                    }
+                }
+
+                checked += page.size();
+                lastId = page.get(page.size() - 1).getId();
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+
+            log.info("=== 결제 대사 완료 - 확인: {}건, 불일치: {}건 ===", checked, mismatched);
+
+        } catch (Exception e) {
+            log.error("결제 대사 실행 중 오류", e);
+        } finally {
+            jobLease.release(JOB);
+        }
+    }
+
+    private boolean isMismatched(Payment payment, PaymentStatusResponse pgStatus) {
+        // PG 조회 불가(Fallback)로 PENDING이 내려온 경우는 판단을 보류한다
+        if (pgStatus != null && !pgStatus.isApproved() && !pgStatus.isFailed()) {
+            return false;
+        }
+
+        boolean pgApproved = pgStatus != null && pgStatus.isApproved();
+        if (payment.isApproved() == pgApproved) {
+            return false;
+        }
+
+        mismatchCounter.increment();
+        log.warn("결제 대사 불일치 - paymentId: {}, orderId: {}, status: {}, pgStatus: {}",
+                payment.getId(), payment.getOrderId(), payment.getStatus(),
+                pgStatus != null ? pgStatus.getStatus() : "NOT_FOUND");
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.loopers.infrastructure.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * PENDING 결제 복구 스케줄러 설정
+ *
+ * @param partitionCount   결제 id 기준 작업 파티션 수 (노드들이 파티션 단위로 리스를 나눠 가진다)
+ * @param pageSize         keyset 페이지 크기
+ * @param parallelism      동시에 결과를 반영하는 최대 결제 수
+ * @param leaseTtl         파티션 리스 유지 시간. 처리 후 해제하지 않으므로 실행 주기와 같게 둔다
+ *                         (처리는 leaseTtl 의 80% 안에서 멈춘다)
+ * @param pendingThreshold 복구 대상이 되는 최소 PENDING 경과 시간
+ * @param expireAfter      PG 조회 실패 시 자동 실패 처리하는 경과 시간
+ */
+@ConfigurationProperties(prefix = "payment.recovery")
+public record PaymentRecoveryProperties(
+        @DefaultValue("8") int partitionCount,
+        @DefaultValue("100") int pageSize,
+        @DefaultValue("16") int parallelism,
+        @DefaultValue("5m") Duration leaseTtl,
+        @DefaultValue("5m") Duration pendingThreshold,
+        @DefaultValue("10m") Duration expireAfter
+) {
+}
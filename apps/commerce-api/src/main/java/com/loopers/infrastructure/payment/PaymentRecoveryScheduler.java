@@ -1,26 +1,34 @@
 package com.loopers.infrastructure.payment;
 
 import com.loopers.domain.payment.Payment;
-import com.loopers.domain.payment.PaymentService;
 import com.loopers.domain.payment.PaymentGateway;
 import com.loopers.domain.payment.PaymentStatusResponse;
-import feign.FeignException;
-import com.loopers.domain.order.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * PENDING 상태의 결제를 주기적으로 확인하여 최종 결제 상태를 업데이트하는 스케줄러
  * 
  * 주요 기능:
- * 1. 5분 이상 PENDING 상태인 결제들을 조회
- * 2. PG에서 실제 결제 상태 확인
- * 3. 결제 상태 및 주문 상태 업데이트
+ * 1. 결제 id 기준 파티션마다 Redis 리스를 획득한 노드만 해당 파티션을 처리 (노드 간 작업 분할)
+ *    리스는 처리 후에도 실행 주기 동안 유지되어, 한 주기에 파티션마다 한 번만 처리된다
+ * 2. 파티션 내 PENDING 결제를 keyset 페이지 단위로 조회
+ * 3. 페이지 내 결제들의 PG 상태를 다건 조회 API로 한 번에 조회
+ * 4. 결제 1건마다 짧은 트랜잭션으로 결제 상태 및 주문 상태 업데이트 (가상 스레드 병렬, 동시 반영 수 제한)
  */
 @Slf4j
 @Component
@@ -28,152 +36,183 @@ import java.util.List;
 public class PaymentRecoveryScheduler {
 
     private final PaymentRepository paymentRepository;
-    private final PaymentService paymentService;
     private final PaymentGateway paymentGateway;
-    private final OrderRepository orderRepository;
+    private final PaymentResultWriter paymentResultWriter;
+    private final PaymentJobLease jobLease;
+    private final PaymentRecoveryProperties properties;
 
     /**
      * 매 5분마다 PENDING 결제 복구 작업 실행
      */
     @Scheduled(fixedDelay = 300000) // 5분 (300초)
-    @Transactional
     public void recoverPendingPayments() {
         try {
             log.info("=== PENDING 결제 복구 스케줄러 시작 ===");
-            
-            // 5분 이상 PENDING 상태인 결제들 조회
-            List<Payment> pendingPayments = paymentRepository.findPendingPaymentsOlderThan(5);
-            
-            if (pendingPayments.isEmpty()) {
+
+            ZonedDateTime threshold = ZonedDateTime.now().minus(properties.pendingThreshold());
+            RecoveryCounter counter = new RecoveryCounter();
+
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("PaymentRecovery-", 0).factory())) {
+                for (int partition = 0; partition < properties.partitionCount(); partition++) {
+                    String job = "recovery:" + partition;
+                    if (!jobLease.tryAcquire(job, properties.leaseTtl())) {
+                        log.debug("다른 노드가 처리 중이거나 이번 주기에 처리한 파티션 - partition: {}", partition);
+                        continue;
+                    }
+                    // 리스는 해제하지 않고 만료되게 둔다 (방금 처리한 파티션을 다른 노드가 곧바로 다시 조회하지 않도록)
+                    recoverPartition(partition, threshold, executor, counter);
+                }
+            }
+
+            if (counter.total() == 0) {
                 log.info("복구 대상 PENDING 결제 없음");
                 return;
             }
-            
-            log.info("복구 대상 PENDING 결제 {}건 발견", pendingPayments.size());
-            
-            int successCount = 0;
-            int failureCount = 0;
-            
-            for (Payment payment : pendingPayments) {
+
+            log.info("=== PENDING 결제 복구 완료 - 성공: {}건, 실패: {}건 ===",
+                    counter.success.get(), counter.failure.get());
+
+        } catch (Exception e) {
+            log.error("PENDING 결제 복구 스케줄러 실행 중 오류", e);
+        }
+    }
+
+    /**
+     * 파티션 하나를 keyset 페이지 단위로 처리
+     * 리스가 만료되기 전에 멈춰서 다른 노드와 같은 결제를 중복 처리하지 않도록 한다.
+     */
+    private void recoverPartition(int partition, ZonedDateTime threshold,
+                                  ExecutorService executor, RecoveryCounter counter) {
+        Duration leaseTtl = properties.leaseTtl();
+        long deadline = System.nanoTime() + leaseTtl.minus(leaseTtl.dividedBy(5)).toNanos();
+        long lastId = 0L;
+
+        while (System.nanoTime() < deadline) {
+            List<Payment> page = paymentRepository.findPendingPaymentsAfter(
+                    threshold, lastId, properties.partitionCount(), partition,
+                    PageRequest.of(0, properties.pageSize()));
+            if (page.isEmpty()) {
+                return;
+            }
+
+            log.info("복구 대상 PENDING 결제 {}건 발견 - partition: {}", page.size(), partition);
+            recoverPage(page, executor, counter);
+
+            lastId = page.get(page.size() - 1).getId();
+            if (page.size() < properties.pageSize()) {
+                return;
+            }
+        }
+
+        log.warn("리스 만료 전 파티션 처리 중단 - partition: {}, lastId: {}", partition, lastId);
+    }
+
+    /**
+     * 페이지 내 결제들의 PG 상태를 한 번에 조회한 뒤, 결과를 병렬로 반영하고 모두 끝날 때까지 대기
+     */
+    private void recoverPage(List<Payment> page, ExecutorService executor, RecoveryCounter counter) {
+        Map<String, PaymentStatusResponse> statuses;
+        try {
+            statuses = paymentGateway.checkPaymentsByOrderIds(
+                    page.stream().map(Payment::getOrderId).toList());
+        } catch (Exception e) {
+            log.error("PG 다건 결제 상태 조회 실패 - size: {}", page.size(), e);
+            page.forEach(payment -> {
+                if (expireIfStale(payment)) {
+                    counter.success.incrementAndGet();
+                } else {
+                    counter.failure.incrementAndGet();
+                }
+            });
+            return;
+        }
+
+        Semaphore permits = new Semaphore(properties.parallelism());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(page.size());
+
+        for (Payment payment : page) {
+            PaymentStatusResponse statusResponse = statuses.get(payment.getOrderId());
+            permits.acquireUninterruptibly();
+            futures.add(CompletableFuture.runAsync(() -> {
                 try {
-                    if (processPaymentRecovery(payment)) {
-                        successCount++;
+                    if (processPaymentRecovery(payment, statusResponse)) {
+                        counter.success.incrementAndGet();
                     } else {
-                        failureCount++;
+                        counter.failure.incrementAndGet();
                     }
                 } catch (Exception e) {
                     log.error("결제 복구 처리 중 오류 발생 - paymentId: {}, orderId: {}", 
                             payment.getId(), payment.getOrderId(), e);
-                    failureCount++;
+                    counter.failure.incrementAndGet();
+                } finally {
+                    permits.release();
                 }
-            }
-            
-            log.info("=== PENDING 결제 복구 완료 - 성공: {}건, 실패: {}건 ===", successCount, failureCount);
-            
-        } catch (Exception e) {
-            log.error("PENDING 결제 복구 스케줄러 실행 중 오류", e);
+            }, executor));
         }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
     }
 
     /**
      * 개별 결제 복구 처리
+     * PG 조회 결과를 결제 1건 단위 트랜잭션으로 반영한다. 조회 결과가 없으면 PG에 결제건이 없는 것이다.
      */
-    private boolean processPaymentRecovery(Payment payment) {
-        try {
-            log.info("결제 복구 처리 시작 - paymentId: {}, orderId: {}", 
+    private boolean processPaymentRecovery(Payment payment, PaymentStatusResponse statusResponse) {
+        if (statusResponse == null) {
+            // PG에 해당 주문의 결제 정보가 없음 - 결제 실패로 처리
+            log.warn("PG에 결제 정보 없음 - 결제 실패로 처리: paymentId={}, orderId={}", 
                     payment.getId(), payment.getOrderId());
             
-            // PG에서 실제 결제 상태 조회
-            PaymentStatusResponse statusResponse = paymentGateway.checkPaymentByOrderId(payment.getOrderId());
-            
-            if (statusResponse.isApproved()) {
-                // 결제 승인 처리
-                paymentService.approvePayment(payment, statusResponse.getTransactionId());
-                paymentRepository.save(payment);
-                
-                // 주문 상태도 완료로 업데이트
-                updateOrderStatus(payment.getOrderId(), "COMPLETED");
-                
-                log.info("PENDING 결제 승인 완료 - paymentId: {}, orderId: {}", 
-                        payment.getId(), payment.getOrderId());
-                return true;
-                
-            } else if (statusResponse.isFailed()) {
-                // 결제 실패 처리
-                paymentService.failPayment(payment, statusResponse.getMessage());
-                paymentRepository.save(payment);
-                
-                // 주문 상태도 결제 실패로 업데이트
-                updateOrderStatus(payment.getOrderId(), "PAYMENT_FAILED");
-                
-                log.info("PENDING 결제 실패 확인 - paymentId: {}, orderId: {}, reason: {}", 
-                        payment.getId(), payment.getOrderId(), statusResponse.getMessage());
-                return true;
-                
-            } else {
-                // 여전히 PENDING 상태 - 다음 스케줄에서 다시 확인
-                log.info("PG에서도 여전히 PENDING 상태 - paymentId: {}, orderId: {}", 
-                        payment.getId(), payment.getOrderId());
-                return true;
-            }
+            paymentResultWriter.fail(payment.getId(), payment.getOrderId(), "PG에 결제 정보가 존재하지 않음");
+            return true;
+        }
+
+        if (statusResponse.isApproved()) {
+            // 결제 승인 및 주문 완료 처리
+            paymentResultWriter.approve(payment.getId(), payment.getOrderId(), statusResponse.getTransactionId());
             
-        } catch (feign.FeignException.NotFound e) {
-            // 404: PG에 해당 주문의 결제 정보가 없음 - 결제 실패로 처리
-            log.warn("PG에 결제 정보 없음 (404) - 결제 실패로 처리: paymentId={}, orderId={}", 
+            log.info("PENDING 결제 승인 완료 - paymentId: {}, orderId: {}", 
                     payment.getId(), payment.getOrderId());
-            
-            paymentService.failPayment(payment, "PG에 결제 정보가 존재하지 않음");
-            paymentRepository.save(payment);
-            updateOrderStatus(payment.getOrderId(), "PAYMENT_FAILED");
             return true;
             
-        } catch (Exception e) {
-            log.error("결제 복구 처리 실패 - paymentId: {}, orderId: {}", 
-                    payment.getId(), payment.getOrderId(), e);
+        } else if (statusResponse.isFailed()) {
+            // 결제 실패 및 주문 결제 실패 처리
+            paymentResultWriter.fail(payment.getId(), payment.getOrderId(), statusResponse.getMessage());
             
-            // PG 조회 실패 시 10분 이상된 결제는 실패로 처리
-            if (isPaymentExpired(payment, 10)) {
-                paymentService.failPayment(payment, "PG 응답 타임아웃 - 자동 실패 처리");
-                paymentRepository.save(payment);
-                updateOrderStatus(payment.getOrderId(), "PAYMENT_FAILED");
-                
-                log.warn("만료된 PENDING 결제 자동 실패 처리 - paymentId: {}, orderId: {}", 
-                        payment.getId(), payment.getOrderId());
-                return true;
-            }
+            log.info("PENDING 결제 실패 확인 - paymentId: {}, orderId: {}, reason: {}", 
+                    payment.getId(), payment.getOrderId(), statusResponse.getMessage());
+            return true;
             
-            return false;
+        } else {
+            // 여전히 PENDING 상태 - 다음 스케줄에서 다시 확인
+            log.info("PG에서도 여전히 PENDING 상태 - paymentId: {}, orderId: {}", 
+                    payment.getId(), payment.getOrderId());
+            return true;
         }
     }
 
     /**
-     * 주문 상태 업데이트
+     * PG 조회 실패 시 일정 시간 이상된 결제는 실패로 처리
      */
-    private void updateOrderStatus(String orderId, String status) {
-        try {
-            orderRepository.findById(Long.parseLong(orderId))
-                    .ifPresent(order -> {
-                        if ("COMPLETED".equals(status)) {
-                            order.complete();
-                        } else if ("CANCELLED".equals(status)) {
-                            order.cancel();
-                        } else if ("PAYMENT_FAILED".equals(status)) {
-                            order.failPayment();
-                        }
-                        orderRepository.save(order);
-                        log.debug("주문 상태 업데이트 완료 - orderId: {}, status: {}", orderId, status);
-                    });
-        } catch (Exception e) {
-            log.error("주문 상태 업데이트 실패 - orderId: {}, status: {}", orderId, status, e);
+    private boolean expireIfStale(Payment payment) {
+        if (!isPaymentExpired(payment, properties.expireAfter())) {
+            return false;
         }
+
+        paymentResultWriter.fail(payment.getId(), payment.getOrderId(), "PG 응답 타임아웃 - 자동 실패 처리");
+        
+        log.warn("만료된 PENDING 결제 자동 실패 처리 - paymentId: {}, orderId: {}", 
+                payment.getId(), payment.getOrderId());
+        return true;
     }
 
     /**
      * 결제가 만료되었는지 확인 (생성 시간 기준)
      */
-    private boolean isPaymentExpired(Payment payment, int minutes) {
+    private boolean isPaymentExpired(Payment payment, Duration expireAfter) {
         return payment.getCreatedAt()
-                .isBefore(java.time.ZonedDateTime.now().minusMinutes(minutes));
+                .isBefore(ZonedDateTime.now().minus(expireAfter));
     }
 
     /**
@@ -183,4 +222,13 @@ public class PaymentRecoveryScheduler {
         log.info("수동 PENDING 결제 복구 실행");
         recoverPendingPayments();
     }
-}
\ No newline at end of file
+
+    private static class RecoveryCounter {
+        private final AtomicInteger success = new AtomicInteger();
+        private final AtomicInteger failure = new AtomicInteger();
+
+        int total() {
+            return success.get() + failure.get();
+        }
+    }
+}
@@ -2,11 +2,17 @@ package com.loopers.infrastructure.payment;
 
 import com.loopers.domain.payment.Payment;
 import com.loopers.domain.payment.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +29,67 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
         ZonedDateTime threshold = ZonedDateTime.now().minusMinutes(minutes);
         return findPendingPaymentsOlderThan(threshold);
     }
-}
\ No newline at end of file
+
+    /**
+     * 복구 대상 PENDING 결제를 id 기준 keyset 방식으로 페이지 조회한다.
+     * 노드 간 작업 분할을 위해 id를 partitionCount로 나눈 나머지가 partition인 결제만 조회한다.
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status = 'PENDING' AND p.createdAt < :threshold " +
+           "AND p.id > :lastId AND MOD(p.id, :partitionCount) = :partition ORDER BY p.id")
+    List<Payment> findPendingPaymentsAfter(@Param("threshold") ZonedDateTime threshold,
+                                           @Param("lastId") Long lastId,
+                                           @Param("partitionCount") int partitionCount,
+                                           @Param("partition") int partition,
+                                           Pageable pageable);
+
+    /**
+     * 대사 대상 결제(지정 기간에 최종 상태가 된 결제)를 id 기준 keyset 방식으로 페이지 조회한다.
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status IN :statuses AND p.completedAt >= :from AND p.completedAt < :to " +
+           "AND p.id > :lastId ORDER BY p.id")
+    List<Payment> findCompletedPaymentsAfter(@Param("statuses") List<PaymentStatus> statuses,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("lastId") Long lastId,
+                                             Pageable pageable);
+
+    /**
+     * 콜백 배치 반영용: 트랜잭션 키로 PENDING 결제를 잠금 조회한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.status = 'PENDING' AND p.transactionId IN :transactionIds")
+    List<Payment> findPendingByTransactionIdsForUpdate(@Param("transactionIds") Collection<String> transactionIds);
+
+    /**
+     * 콜백 배치 반영용: 주문 ID로 PENDING 결제를 잠금 조회한다. (트랜잭션 키 기록 전에 콜백이 도착한 경우)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.status = 'PENDING' AND p.orderId IN :orderIds")
+    List<Payment> findPendingByOrderIdsForUpdate(@Param("orderIds") Collection<String> orderIds);
+
+    /**
+     * PENDING 상태일 때만 승인으로 전이한다. 반영된 행 수(0 또는 1)를 반환한다.
+     * 벌크 UPDATE 는 엔티티 콜백을 거치지 않으므로 updatedAt 을 직접 갱신한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :status, p.transactionId = :transactionId, p.completedAt = :completedAt, " +
+           "p.updatedAt = :updatedAt WHERE p.id = :id AND p.status = 'PENDING'")
+    int approveIfPending(@Param("id") Long id,
+                         @Param("status") PaymentStatus status,
+                         @Param("transactionId") String transactionId,
+                         @Param("completedAt") LocalDateTime completedAt,
+                         @Param("updatedAt") ZonedDateTime updatedAt);
+
+    /**
+     * PENDING 상태일 때만 실패로 전이한다. 반영된 행 수(0 또는 1)를 반환한다.
+     * 벌크 UPDATE 는 엔티티 콜백을 거치지 않으므로 updatedAt 을 직접 갱신한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :status, p.errorMessage = :errorMessage, p.completedAt = :completedAt, " +
+           "p.updatedAt = :updatedAt WHERE p.id = :id AND p.status = 'PENDING'")
+    int failIfPending(@Param("id") Long id,
+                      @Param("status") PaymentStatus status,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("completedAt") LocalDateTime completedAt,
+                      @Param("updatedAt") ZonedDateTime updatedAt);
+}
@@ -0,0 +1,156 @@
+package com.loopers.infrastructure.payment;
+
+import com.loopers.domain.order.OrderRepository;
+import com.loopers.domain.order.OrderStatus;
+import com.loopers.domain.payment.Payment;
+import com.loopers.domain.payment.PaymentCallback;
+import com.loopers.domain.payment.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 최종 결과를 결제 1건 단위의 짧은 트랜잭션으로 반영한다.
+ *
+ * 결제 상태는 PENDING → 승인/실패로만 전이하도록 조건부 UPDATE로 보호하므로,
+ * 콜백/복구 스케줄러/결제 결과 이벤트가 같은 결제를 동시에 처리해도 먼저 도착한 결과 하나만 반영된다.
+ * 주문 상태는 결제 전이가 실제로 일어난 경우에만, PENDING 주문에 한해 함께 변경한다 (결제 결과 이벤트와 경합해도 되돌리지 않는다).
+ * 결제 실패는 경로와 관계없이 주문을 PAYMENT_FAILED 로 전이한다.
+ * 콜백은 {@link #applyCallbacks} 로 묶음 단위로 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentResultWriter {
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+
+    @Transactional
+    public boolean approve(Long paymentId, String orderId, String transactionId) {
+        int updated = paymentRepository.approveIfPending(
+                paymentId, PaymentStatus.APPROVED, transactionId, LocalDateTime.now(), ZonedDateTime.now());
+        if (updated == 0) {
+            log.debug("이미 처리된 결제 - 승인 반영 생략: paymentId={}, orderId={}", paymentId, orderId);
+            return false;
+        }
+
+        orderRepository.findById(Long.parseLong(orderId))
+                .ifPresent(order -> {
+                    order.completePayment();
+                    orderRepository.save(order);
+                });
+        return true;
+    }
+
+    @Transactional
+    public boolean fail(Long paymentId, String orderId, String errorMessage) {
+        int updated = paymentRepository.failIfPending(
+                paymentId, PaymentStatus.FAILED, errorMessage, LocalDateTime.now(), ZonedDateTime.now());
+        if (updated == 0) {
+            log.debug("이미 처리된 결제 - 실패 반영 생략: paymentId={}, orderId={}", paymentId, orderId);
+            return false;
+        }
+
+        orderRepository.findById(Long.parseLong(orderId))
+                .ifPresent(order -> {
+                    order.failPayment();
+                    orderRepository.save(order);
+                });
+        return true;
+    }
+
+    /**
+     * 콜백 묶음을 하나의 트랜잭션으로 반영한다.
+     *
+     * PENDING 결제만 잠금 조회하므로 이미 종결된 결제에 대한 중복/지연 콜백은 자연스럽게 무시된다.
+     * 트랜잭션 키로 찾지 못한 콜백은 주문 ID로 한 번 더 찾는다.
+     * 결제는 dirty checking 후 JDBC 배치로, 주문은 결과별 IN 절 UPDATE 한 번으로 갱신한다.
+     *
+     * @return 실제로 상태가 전이된 결제 수
+     */
+    @Transactional
+    public int applyCallbacks(List<PaymentCallback> callbacks) {
+        // 같은 결제에 대한 콜백이 한 묶음에 여러 번 들어오면 마지막 콜백만 반영한다
+        Map<String, PaymentCallback> byTransactionId = new LinkedHashMap<>();
+        Map<String, PaymentCallback> byOrderId = new LinkedHashMap<>();
+        for (PaymentCallback callback : callbacks) {
+            if (!callback.isTerminal()) {
+                continue;
+            }
+            if (callback.transactionId() != null) {
+                byTransactionId.put(callback.transactionId(), callback);
+            } else if (callback.orderId() != null) {
+                byOrderId.put(callback.orderId(), callback);
+            }
+        }
+
+        List<Long> completedOrderIds = new ArrayList<>();
+        List<Long> failedOrderIds = new ArrayList<>();
+        int applied = 0;
+
+        if (!byTransactionId.isEmpty()) {
+            for (Payment payment : paymentRepository.findPendingByTransactionIdsForUpdate(byTransactionId.keySet())) {
+                // 트랜잭션 키로 찾은 결제는 주문 ID 기준 콜백에서 중복 처리하지 않는다
+                byOrderId.remove(payment.getOrderId());
+                applied += applyCallback(payment, byTransactionId.remove(payment.getTransactionId()),
+                        completedOrderIds, failedOrderIds);
+            }
+            // 트랜잭션 키로 찾지 못한 콜백(요청 응답보다 콜백이 먼저 도착해 키가 아직 기록되지 않은 경우)은 주문 ID로 다시 찾는다
+            for (PaymentCallback unmatched : byTransactionId.values()) {
+                if (unmatched.orderId() != null) {
+                    byOrderId.putIfAbsent(unmatched.orderId(), unmatched);
+                }
+            }
+        }
+        if (!byOrderId.isEmpty()) {
+            for (Payment payment : paymentRepository.findPendingByOrderIdsForUpdate(byOrderId.keySet())) {
+                PaymentCallback callback = byOrderId.get(payment.getOrderId());
+                if (callback != null && callback.transactionId() != null && payment.getTransactionId() != null
+                        && !payment.getTransactionId().equals(callback.transactionId())) {
+                    // 같은 주문의 다른 결제 시도에 대한 콜백은 반영하지 않는다
+                    log.debug("트랜잭션 키가 다른 콜백 - 반영 생략: orderId={}, transactionId={}",
+                            payment.getOrderId(), callback.transactionId());
+                    continue;
+                }
+                applied += applyCallback(payment, callback, completedOrderIds, failedOrderIds);
+            }
+        }
+
+        // 결제 변경분을 먼저 flush한 뒤 주문을 벌크 갱신한다
+        paymentRepository.flush();
+        orderRepository.updateStatusIfPending(completedOrderIds, OrderStatus.COMPLETED);
+        orderRepository.updateStatusIfPending(failedOrderIds, OrderStatus.PAYMENT_FAILED);
+
+        log.debug("결제 콜백 배치 반영: 수신={}, 반영={}", callbacks.size(), applied);
+        return applied;
+    }
+
+    private int applyCallback(Payment payment, PaymentCallback callback,
+                              List<Long> completedOrderIds, List<Long> failedOrderIds) {
+        if (callback == null || !payment.isPending()) {
+            return 0;
+        }
+
+        String transactionId = callback.transactionId() != null ? callback.transactionId() : payment.getTransactionId();
+        if (callback.isApproved()) {
+            payment.approve(transactionId);
+            completedOrderIds.add(Long.parseLong(payment.getOrderId()));
+        } else {
+            if (transactionId != null) {
+                payment.updateTransactionId(transactionId);
+            }
+            payment.fail(callback.message());
+            failedOrderIds.add(Long.parseLong(payment.getOrderId()));
+        }
+        return 1;
+    }
+}
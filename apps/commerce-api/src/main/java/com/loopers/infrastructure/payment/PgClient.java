@@ -4,6 +4,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @FeignClient(name = "pgClient", url = "${pg.client.url:http://localhost:8082}", configuration = PgClientConfig.class)
 public interface PgClient {
@@ -20,6 +21,10 @@ public interface PgClient {
     PgStatusResponse getPaymentByOrderId(@RequestHeader("X-USER-ID") String userId,
                                          @RequestParam String orderId);
 
+    @PostMapping("/api/v1/payments/search")
+    PgOrdersResponse searchPayments(@RequestHeader("X-USER-ID") String userId,
+                                    @RequestBody PgSearchRequest request);
+
     record PgPaymentRequest(
             String orderId,
             String cardType,
@@ -49,4 +54,26 @@ public interface PgClient {
                 String cardType
         ) {}
     }
+
+    record PgSearchRequest(
+            List<String> orderIds,
+            List<String> transactionKeys
+    ) {}
+
+    record PgOrdersResponse(
+            Meta meta,
+            OrdersData data
+    ) {
+        record Meta(String result, String errorCode, String message) {
+            boolean isSuccess() {
+                return "SUCCESS".equals(result);
+            }
+        }
+
+        record OrdersData(List<OrderData> orders) {}
+
+        record OrderData(String orderId, List<TransactionData> transactions) {}
+
+        record TransactionData(String transactionKey, String status, String reason) {}
+    }
 }
\ No newline at end of file
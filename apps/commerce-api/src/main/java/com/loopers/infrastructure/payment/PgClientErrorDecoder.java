@@ -19,9 +19,9 @@ public class PgClientErrorDecoder implements ErrorDecoder {
             case 400 -> new IllegalArgumentException("잘못된 결제 요청: " + reason);
             case 401 -> new IllegalStateException("PG 인증 실패: " + reason);
             case 404 -> new RuntimeException("PG 결제 정보 없음: " + reason); // 404도 Fallback이 처리하도록 RuntimeException
-            case 429 -> new IllegalStateException("PG 요청 한도 초과: " + reason);
-            case 500 -> new RuntimeException("PG 서버 오류: " + reason);
-            case 503 -> new RuntimeException("PG 서버 일시 정지: " + reason);
+            case 429 -> new PgCongestionException("PG 요청 한도 초과: " + reason, 429);
+            case 500 -> new PgCongestionException("PG 서버 오류: " + reason, 500);
+            case 503 -> new PgCongestionException("PG 서버 일시 정지: " + reason, 503);
             default -> defaultErrorDecoder.decode(methodKey, response);
         };
     }
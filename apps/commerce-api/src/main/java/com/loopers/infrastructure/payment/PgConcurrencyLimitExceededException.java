@@ -0,0 +1,12 @@
+package com.loopers.infrastructure.payment;
+
+/**
+ * 적응형 동시성 한도를 초과하여 PG 호출을 거절했을 때 발생
+ * PG 장애가 아니므로 서킷 브레이커와 재시도 대상에서 제외한다.
+ */
+public class PgConcurrencyLimitExceededException extends RuntimeException {
+
+    public PgConcurrencyLimitExceededException(int limit) {
+        super("PG 동시 호출 한도 초과: limit=" + limit);
+    }
+}
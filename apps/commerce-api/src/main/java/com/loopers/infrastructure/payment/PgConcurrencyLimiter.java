@@ -0,0 +1,136 @@
+package com.loopers.infrastructure.payment;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PG 호출에 대한 적응형 동시성 제한기 (AIMD)
+ *
+ * 서킷 브레이커가 "PG가 죽었는가"를 판단한다면, 이 제한기는 "PG가 지금 감당할 수 있는 동시 호출 수"를 추정한다.
+ * - 응답이 지연 임계치 이내면 한도를 1/limit 씩 증가 (Additive Increase)
+ * - 지연 임계치 초과 또는 타임아웃/5xx/429 발생 시 한도를 backoffRatio 배로 감소 (Multiplicative Decrease)
+ *   (404, 401 같은 4xx 는 PG 혼잡과 무관하므로 한도를 조정하지 않는다)
+ * - 한도를 초과한 호출은 PG로 보내지 않고 즉시 거절
+ *
+ * 노출 메트릭: pg.client.concurrency.limit / inflight / rejected
+ */
+@Component
+public class PgConcurrencyLimiter {
+    private static final Logger log = LoggerFactory.getLogger(PgConcurrencyLimiter.class);
+
+    private final PgLimiterProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final long latencyThresholdNanos;
+
+    private volatile double limit;
+
+    public PgConcurrencyLimiter(PgLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.initialLimit();
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+
+        Gauge.builder("pg.client.concurrency.limit", this, PgConcurrencyLimiter::getLimit)
+                .description("PG 호출 적응형 동시성 한도")
+                .register(meterRegistry);
+        Gauge.builder("pg.client.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("PG 진행 중 호출 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("pg.client.concurrency.rejected")
+                .description("동시성 한도 초과로 거절된 PG 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한도 내에서 PG 호출을 실행한다.
+     * 호출 지연과 결과에 따라 한도를 조정한다.
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquire()) {
+            rejectedCounter.increment();
+            throw new PgConcurrencyLimitExceededException(getLimit());
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            if (isCongestion(e)) {
+                onDropped();
+            } else {
+                inFlight.decrementAndGet();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 타임아웃(연결/읽기 I/O 실패), 5xx, 429 만 혼잡 신호로 본다
+     */
+    private static boolean isCongestion(RuntimeException e) {
+        return e instanceof PgCongestionException
+                || e instanceof RetryableException
+                || e instanceof FeignException.ServerError
+                || e instanceof FeignException.TooManyRequests;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void onSuccess(long latencyNanos) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+            return;
+        }
+        // 한도의 절반도 쓰지 않는 상태에서는 PG 수용량을 관측할 수 없으므로 늘리지 않는다
+        if (inFlightBeforeRelease * 2 >= limit) {
+            increase();
+        }
+    }
+
+    private void onDropped() {
+        inFlight.decrementAndGet();
+        decrease();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(properties.maxLimit(), limit + 1.0 / limit);
+    }
+
+    private synchronized void decrease() {
+        double previous = limit;
+        limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+        if ((int) previous != (int) limit) {
+            log.warn("PG 동시성 한도 감소: {} -> {}", (int) previous, (int) limit);
+        }
+    }
+}
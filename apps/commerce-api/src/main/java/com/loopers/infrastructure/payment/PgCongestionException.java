@@ -0,0 +1,19 @@
+package com.loopers.infrastructure.payment;
+
+/**
+ * PG 가 혼잡하거나 장애 상태임을 나타내는 응답 (429, 5xx)
+ * 적응형 동시성 제한기는 이 예외와 타임아웃만 혼잡 신호로 보고 한도를 줄인다.
+ */
+public class PgCongestionException extends RuntimeException {
+
+    private final int status;
+
+    public PgCongestionException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.loopers.infrastructure.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * PG 호출 적응형 동시성 제한(AIMD) 설정
+ *
+ * @param initialLimit     시작 동시 호출 한도
+ * @param minLimit         한도 하한
+ * @param maxLimit         한도 상한
+ * @param backoffRatio     지연/오류 감지 시 한도에 곱하는 감소 비율
+ * @param latencyThreshold 이 값보다 느린 응답은 혼잡 신호로 간주
+ */
+@ConfigurationProperties(prefix = "pg.client.limiter")
+public record PgLimiterProperties(
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("100") int maxLimit,
+        @DefaultValue("0.7") double backoffRatio,
+        @DefaultValue("2s") Duration latencyThreshold
+) {
+}
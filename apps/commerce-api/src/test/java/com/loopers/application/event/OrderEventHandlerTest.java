@@ -1,6 +1,7 @@
 package com.loopers.application.event;
 
 import com.loopers.application.payment.PaymentEventHandler;
+import com.loopers.application.payment.PaymentFacade;
 import com.loopers.domain.order.Order;
 import com.loopers.domain.order.OrderCreatedEvent;
 import com.loopers.domain.order.OrderService;
@@ -13,7 +14,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -29,16 +29,13 @@ import static org.mockito.Mockito.*;
 class PaymentEventHandlerTest {
     
     @Mock
-    private PaymentService paymentService;
+    private PaymentFacade paymentFacade;
     
     @Mock
     private PaymentGateway paymentGateway;
     
     @Mock
     private OrderService orderService;
-    
-    @Mock
-    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PaymentEventHandler paymentEventHandler;
@@ -57,7 +54,7 @@ class PaymentEventHandlerTest {
         Payment mockPayment = mock(Payment.class);
         PaymentResponse successResponse = new PaymentResponse("결제 성공", true, "TXN-123");
 
-        when(paymentService.createPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
+        when(paymentFacade.registerPendingPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
                 .thenReturn(mockPayment);
         when(paymentGateway.requestPayment(any(PaymentRequest.class)))
                 .thenReturn(successResponse);
@@ -66,14 +63,14 @@ class PaymentEventHandlerTest {
         paymentEventHandler.handlePaymentRequest(testEvent);
 
         // Then
-        // 1. 결제 생성이 호출됨
-        verify(paymentService).createPayment(eq("1"), eq("test-user"), eq(BigDecimal.valueOf(100000)), eq("SAMSUNG"), eq("1234-5678-9012-3456"));
+        // 1. PENDING 결제 저장이 호출됨
+        verify(paymentFacade).registerPendingPayment(eq("1"), eq("test-user"), eq(BigDecimal.valueOf(100000)), eq("SAMSUNG"), eq("1234-5678-9012-3456"));
         
         // 2. PG 결제 요청이 호출됨
         verify(paymentGateway).requestPayment(any(PaymentRequest.class));
         
-        // 3. 결제 성공 이벤트 발행
-        verify(eventPublisher).publishEvent(any(PaymentResultEvent.class));
+        // 3. 결제 성공 결과 기록
+        verify(paymentFacade).recordRequestSuccess(mockPayment, "TXN-123");
     }
 
 
@@ -84,7 +81,7 @@ class PaymentEventHandlerTest {
         Payment mockPayment = mock(Payment.class);
         PaymentResponse failureResponse = new PaymentResponse("결제 실패", false);
 
-        when(paymentService.createPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
+        when(paymentFacade.registerPendingPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
                 .thenReturn(mockPayment);
         when(paymentGateway.requestPayment(any(PaymentRequest.class)))
                 .thenReturn(failureResponse);
@@ -93,9 +90,8 @@ class PaymentEventHandlerTest {
         paymentEventHandler.handlePaymentRequest(testEvent);
 
         // Then
-        verify(eventPublisher).publishEvent(argThat((Object event) -> 
-            event instanceof PaymentResultEvent && 
-            !((PaymentResultEvent) event).isSuccess()));
+        verify(paymentFacade).recordRequestFailure(eq("1"), eq(BigDecimal.valueOf(100000)), anyString());
+        verify(paymentFacade, never()).recordRequestSuccess(any(), anyString());
     }
 
     @Test
@@ -138,7 +134,7 @@ class PaymentEventHandlerTest {
         // Given
         Payment mockPayment = mock(Payment.class);
         
-        when(paymentService.createPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
+        when(paymentFacade.registerPendingPayment(anyString(), anyString(), any(BigDecimal.class), anyString(), anyString()))
                 .thenReturn(mockPayment);
         when(paymentGateway.requestPayment(any(PaymentRequest.class)))
                 .thenThrow(new RuntimeException("PG 서버 오류"));
@@ -147,9 +143,7 @@ class PaymentEventHandlerTest {
         paymentEventHandler.handlePaymentRequest(testEvent);
 
         // Then
-        verify(eventPublisher).publishEvent(argThat((Object event) ->
-            event instanceof PaymentResultEvent &&
-            !((PaymentResultEvent) event).isSuccess()));
+        verify(paymentFacade).recordRequestFailure(eq("1"), eq(BigDecimal.valueOf(100000)), eq("PG 서버 오류"));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.loopers.application.payment;
+
+import com.loopers.domain.order.Order;
+import com.loopers.domain.order.OrderRepository;
+import com.loopers.domain.order.OrderService;
+import com.loopers.domain.order.OrderStatus;
+import com.loopers.domain.payment.PaymentGateway;
+import com.loopers.domain.payment.PaymentResultEvent;
+import com.loopers.domain.product.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PaymentEventHandlerTest {
+
+    private InMemoryOrderRepository orderRepository;
+    private PaymentEventHandler paymentEventHandler;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        paymentEventHandler = new PaymentEventHandler(mock(PaymentFacade.class), mock(PaymentGateway.class),
+                new OrderService(orderRepository));
+    }
+
+    @Test
+    @DisplayName("콜백이 먼저 주문을 완료한 뒤 늦게 도착한 결제 실패 이벤트는 주문 상태를 바꾸지 않는다")
+    void handlePaymentResult_keepsCompletedOrderOnLateFailure() {
+        // given
+        Order order = orderRepository.save(new Order("user1", new ArrayList<>(), new Money(10000)));
+        orderRepository.updateStatusIfPending(List.of(1L), OrderStatus.COMPLETED);
+
+        // when
+        paymentEventHandler.handlePaymentResult(
+                PaymentResultEvent.failure("1", new BigDecimal("10000"), "PG 응답 타임아웃"));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("PENDING 주문은 결제 실패 이벤트로 PAYMENT_FAILED 가 된다")
+    void handlePaymentResult_failsPendingOrder() {
+        // given
+        Order order = orderRepository.save(new Order("user1", new ArrayList<>(), new Money(10000)));
+
+        // when
+        paymentEventHandler.handlePaymentResult(
+                PaymentResultEvent.failure("1", new BigDecimal("10000"), "PG 결제 실패"));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_FAILED);
+    }
+
+    /**
+     * 주문 ID 1 부터 순서대로 저장하고, 조건부 UPDATE 는 PENDING 주문에만 반영하는 저장소
+     */
+    private static class InMemoryOrderRepository implements OrderRepository {
+
+        private final Map<Long, Order> orders = new HashMap<>();
+
+        @Override
+        public List<Order> findByUserId(String userId) {
+            return orders.values().stream().filter(order -> order.getUserId().equals(userId)).toList();
+        }
+
+        @Override
+        public Order save(Order order) {
+            orders.put((long) orders.size() + 1, order);
+            return order;
+        }
+
+        @Override
+        public Optional<Order> findById(Long id) {
+            return Optional.ofNullable(orders.get(id));
+        }
+
+        @Override
+        public int updateStatusIfPending(Collection<Long> ids, OrderStatus status) {
+            int updated = 0;
+            for (Long id : ids) {
+                Order order = orders.get(id);
+                if (order != null && order.getStatus() == OrderStatus.PENDING) {
+                    if (status == OrderStatus.COMPLETED) {
+                        order.completePayment();
+                    } else {
+                        order.failPayment();
+                    }
+                    updated++;
+                }
+            }
+            return updated;
+        }
+    }
+}
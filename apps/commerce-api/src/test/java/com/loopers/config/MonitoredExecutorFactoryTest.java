@@ -0,0 +1,93 @@
+package com.loopers.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MonitoredExecutorFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MonitoredExecutorFactory factory = new MonitoredExecutorFactory(meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void blockWorker() {
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 정책은 큐가 가득 차면 가장 오래된 작업을 버리고 거절 횟수를 기록한다")
+    void dropOldest_discardsOldestTask() throws InterruptedException {
+        // given
+        executor = factory.create("test", "Test-",
+                new AsyncExecutorProperties.ExecutorSpec(1, 1, 1, true, OverflowPolicy.DROP_OLDEST));
+        List<String> executed = new CopyOnWriteArrayList<>();
+        blockWorker();
+
+        // when
+        executor.execute(() -> executed.add("first"));
+        executor.execute(() -> executed.add("second"));
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(executed).containsExactly("second");
+        assertThat(meterRegistry.get("executor.rejected").tag("name", "test").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS 정책은 큐가 가득 차면 제출한 스레드에서 실행한다")
+    void callerRuns_runsOnSubmittingThread() {
+        // given
+        executor = factory.create("test", "Test-",
+                new AsyncExecutorProperties.ExecutorSpec(1, 1, 1, true, OverflowPolicy.CALLER_RUNS));
+        blockWorker();
+        executor.execute(() -> { });
+        List<Thread> runners = new CopyOnWriteArrayList<>();
+
+        // when
+        executor.execute(() -> runners.add(Thread.currentThread()));
+
+        // then
+        assertThat(runners).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("ABORT 정책은 큐가 가득 차면 예외를 던진다")
+    void abort_throwsWhenQueueIsFull() {
+        // given
+        executor = factory.create("test", "Test-",
+                new AsyncExecutorProperties.ExecutorSpec(1, 1, 1, true, OverflowPolicy.ABORT));
+        blockWorker();
+        executor.execute(() -> { });
+
+        // when & then
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.loopers.infrastructure.event;
+
+import com.loopers.domain.event.CatalogEvent;
+import com.loopers.event.schema.PartitionKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HotKeySalterTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    private HotKeySalter salter(boolean enabled) {
+        return new HotKeySalter(
+                new EventPublishProperties.HotKeySalting(enabled, 8, 100, Duration.ofSeconds(1)), now::get);
+    }
+
+    @Test
+    @DisplayName("임계치를 넘은 상품의 좋아요 증감 이벤트는 하위 키로 나누어 발행하고, 원래 키로 복원된다")
+    void saltsHotProductLikes() {
+        // given
+        HotKeySalter salter = salter(true);
+        Set<String> keys = new HashSet<>();
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            CatalogEvent event = i % 2 == 0
+                    ? CatalogEvent.productLiked(42L, "user-" + i, 0L)
+                    : CatalogEvent.productUnliked(42L, "user-" + i, 0L);
+            keys.add(salter.keyFor(event.getProductId(), event.getEventType()));
+        }
+
+        // then
+        assertThat(keys).contains("42").hasSizeGreaterThan(1).hasSizeLessThanOrEqualTo(9);
+        assertThat(keys).allMatch(key -> PartitionKeys.baseKey(key).equals("42"));
+    }
+
+    @Test
+    @DisplayName("재고 변경처럼 순서가 중요한 이벤트는 핫 상품이어도 상품 키를 유지한다")
+    void keepsStrictKeyForOrderSensitiveEvents() {
+        // given
+        HotKeySalter salter = salter(true);
+        for (int i = 0; i < 1000; i++) {
+            salter.keyFor(42L, "PRODUCT_LIKED");
+        }
+
+        // when
+        CatalogEvent stockAdjusted = CatalogEvent.stockAdjusted(42L, -1, 0L);
+        String key = salter.keyFor(stockAdjusted.getProductId(), stockAdjusted.getEventType());
+
+        // then
+        assertThat(key).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("윈도우가 지나면 핫 상품 판정을 초기화한다")
+    void resetsHitsWhenWindowRolls() {
+        // given
+        HotKeySalter salter = salter(true);
+        for (int i = 0; i < 1000; i++) {
+            salter.keyFor(42L, "PRODUCT_LIKED");
+        }
+
+        // when
+        now.addAndGet(1_000);
+        String key = salter.keyFor(42L, "PRODUCT_LIKED");
+
+        // then
+        assertThat(key).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있으면 항상 상품 키로 발행한다")
+    void keepsProductKeyWhenDisabled() {
+        // given
+        HotKeySalter salter = salter(false);
+        Set<String> keys = new HashSet<>();
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            keys.add(salter.keyFor(42L, "PRODUCT_LIKED"));
+        }
+
+        // then
+        assertThat(keys).containsExactly("42");
+    }
+}
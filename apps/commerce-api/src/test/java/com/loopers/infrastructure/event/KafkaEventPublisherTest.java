@@ -0,0 +1,61 @@
+package com.loopers.infrastructure.event;
+
+import com.loopers.domain.event.CatalogEvent;
+import com.loopers.event.schema.EventEncoding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaEventPublisherTest {
+
+    private KafkaTemplate<String, byte[]> reliableTemplate;
+    private KafkaTemplate<String, byte[]> throughputTemplate;
+    private KafkaEventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reliableTemplate = mock(KafkaTemplate.class);
+        throughputTemplate = mock(KafkaTemplate.class);
+        when(reliableTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+        when(throughputTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(new CompletableFuture<>());
+        publisher = new KafkaEventPublisher(reliableTemplate, throughputTemplate, new EventPublishProperties(
+                EventEncoding.BINARY, new EventPublishProperties.HotKeySalting(false, 8, 500, Duration.ofSeconds(1))));
+    }
+
+    @Test
+    @DisplayName("재고 변경 이벤트는 유실되면 복구할 수 없으므로 acks=all 프로듀서로 발행한다")
+    void publishesStockAdjustedReliably() {
+        // when
+        publisher.publishCatalogEvent(CatalogEvent.stockAdjusted(1L, -3, 0L));
+
+        // then
+        verify(reliableTemplate).send(eq("catalog-events"), eq("1"), any(byte[].class));
+        verify(throughputTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("좋아요 증감 이벤트는 acks=all 프로듀서로 발행한다")
+    void publishesLikeDeltasReliably() {
+        // when
+        publisher.publishCatalogEvent(CatalogEvent.productLiked(2L, "user-1", 0L));
+        publisher.publishCatalogEvent(CatalogEvent.productUnliked(2L, "user-1", 0L));
+
+        // then
+        verify(reliableTemplate, times(2)).send(eq("catalog-events"), eq("2"), any(byte[].class));
+        verify(throughputTemplate, never()).send(anyString(), anyString(), any(byte[].class));
+    }
+}
@@ -0,0 +1,152 @@
+package com.loopers.infrastructure.payment;
+
+import com.loopers.domain.order.OrderRepository;
+import com.loopers.domain.order.OrderStatus;
+import com.loopers.domain.payment.Payment;
+import com.loopers.domain.payment.PaymentCallback;
+import com.loopers.domain.payment.PaymentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentResultWriterTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private PaymentResultWriter paymentResultWriter;
+
+    private Payment pendingPayment(String orderId, String transactionId) {
+        Payment payment = new Payment(orderId, 1L, new BigDecimal("10000"), "SAMSUNG", "1234-5678-9012-3456");
+        payment.updateTransactionId(transactionId);
+        return payment;
+    }
+
+    @Test
+    @DisplayName("PENDING 결제에 대한 콜백 묶음을 결과별로 한 번에 반영한다")
+    void applyCallbacks_appliesPendingPayments() {
+        // given
+        Payment approved = pendingPayment("1", "TX-1");
+        Payment failed = pendingPayment("2", "TX-2");
+        when(paymentRepository.findPendingByTransactionIdsForUpdate(anyCollection()))
+                .thenReturn(List.of(approved, failed));
+
+        List<PaymentCallback> callbacks = List.of(
+                new PaymentCallback("TX-1", "1", "SUCCESS", null),
+                new PaymentCallback("TX-2", "2", "FAILED", "한도 초과")
+        );
+
+        // when
+        int applied = paymentResultWriter.applyCallbacks(callbacks);
+
+        // then
+        assertThat(applied).isEqualTo(2);
+        assertThat(approved.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        assertThat(failed.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("한도 초과");
+        verify(orderRepository).updateStatusIfPending(List.of(1L), OrderStatus.COMPLETED);
+        verify(orderRepository).updateStatusIfPending(List.of(2L), OrderStatus.PAYMENT_FAILED);
+        verify(paymentRepository, never()).findPendingByOrderIdsForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("이미 종결된 결제에 대한 콜백은 반영하지 않는다")
+    void applyCallbacks_ignoresAlreadyCompletedPayments() {
+        // given
+        when(paymentRepository.findPendingByTransactionIdsForUpdate(anyCollection())).thenReturn(List.of());
+
+        // when
+        int applied = paymentResultWriter.applyCallbacks(List.of(new PaymentCallback("TX-1", "1", "SUCCESS", null)));
+
+        // then
+        assertThat(applied).isZero();
+        verify(orderRepository).updateStatusIfPending(List.of(), OrderStatus.COMPLETED);
+        verify(orderRepository).updateStatusIfPending(List.of(), OrderStatus.PAYMENT_FAILED);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 키가 없는 콜백은 주문 ID로 결제를 찾아 반영한다")
+    void applyCallbacks_fallsBackToOrderId() {
+        // given
+        Payment payment = pendingPayment("3", null);
+        when(paymentRepository.findPendingByOrderIdsForUpdate(anyCollection())).thenReturn(List.of(payment));
+
+        // when
+        int applied = paymentResultWriter.applyCallbacks(List.of(new PaymentCallback(null, "3", "COMPLETED", null)));
+
+        // then
+        assertThat(applied).isEqualTo(1);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        verify(paymentRepository, never()).findPendingByTransactionIdsForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 키가 아직 기록되지 않은 결제의 콜백은 주문 ID로 찾아 반영한다")
+    void applyCallbacks_fallsBackToOrderIdWhenTransactionIdNotRecorded() {
+        // given
+        Payment payment = pendingPayment("4", null);
+        when(paymentRepository.findPendingByTransactionIdsForUpdate(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findPendingByOrderIdsForUpdate(anyCollection())).thenReturn(List.of(payment));
+
+        // when
+        int applied = paymentResultWriter.applyCallbacks(List.of(new PaymentCallback("TX-4", "4", "SUCCESS", null)));
+
+        // then
+        assertThat(applied).isEqualTo(1);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        assertThat(payment.getTransactionId()).isEqualTo("TX-4");
+        verify(orderRepository).updateStatusIfPending(List.of(4L), OrderStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("주문 ID로 찾은 결제의 트랜잭션 키가 콜백과 다르면 반영하지 않는다")
+    void applyCallbacks_skipsOrderIdFallbackForOtherTransaction() {
+        // given
+        Payment payment = pendingPayment("5", "TX-NEW");
+        when(paymentRepository.findPendingByTransactionIdsForUpdate(anyCollection())).thenReturn(List.of());
+        when(paymentRepository.findPendingByOrderIdsForUpdate(anyCollection())).thenReturn(List.of(payment));
+
+        // when
+        int applied = paymentResultWriter.applyCallbacks(List.of(new PaymentCallback("TX-OLD", "5", "FAILED", "한도 초과")));
+
+        // then
+        assertThat(applied).isZero();
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 로 결제를 승인/실패 처리할 때 updatedAt 도 함께 갱신한다")
+    void approveAndFail_touchUpdatedAt() {
+        // given
+        when(paymentRepository.approveIfPending(any(), any(), any(), any(), any())).thenReturn(1);
+        when(paymentRepository.failIfPending(any(), any(), any(), any(), any())).thenReturn(1);
+
+        // when
+        paymentResultWriter.approve(1L, "1", "TX-1");
+        paymentResultWriter.fail(2L, "2", "한도 초과");
+
+        // then
+        verify(paymentRepository).approveIfPending(eq(1L), eq(PaymentStatus.APPROVED), eq("TX-1"), notNull(), notNull());
+        verify(paymentRepository).failIfPending(eq(2L), eq(PaymentStatus.FAILED), eq("한도 초과"), notNull(), notNull());
+    }
+}
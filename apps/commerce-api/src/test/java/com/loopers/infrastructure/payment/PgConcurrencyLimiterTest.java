@@ -0,0 +1,119 @@
+package com.loopers.infrastructure.payment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PgConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PgConcurrencyLimiter limiter(int initialLimit, Duration latencyThreshold) {
+        return new PgConcurrencyLimiter(
+                new PgLimiterProperties(initialLimit, 1, 100, 0.5, latencyThreshold), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("진행 중 호출이 한도에 도달하면 추가 호출을 즉시 거절한다")
+    void rejectWhenLimitReached() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(10));
+
+        // when & then
+        assertThatThrownBy(() -> limiter.execute(() -> limiter.execute(() -> "nested")))
+                .isInstanceOf(PgConcurrencyLimitExceededException.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.counter("pg.client.concurrency.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("PG 오류가 발생하면 한도를 비율만큼 줄인다")
+    void decreaseLimitOnFailure() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(10, Duration.ofSeconds(10));
+
+        // when
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new PgCongestionException("PG 서버 오류", 500);
+        })).isInstanceOf(PgCongestionException.class);
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("지연 임계치를 넘는 응답도 혼잡 신호로 보고 한도를 줄인다")
+    void decreaseLimitOnSlowCall() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(10, Duration.ZERO);
+
+        // when
+        String result = limiter.execute(() -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("결제 정보 없음(404), 인증 실패(401) 같은 4xx 오류는 한도를 조정하지 않는다")
+    void keepLimitOnClientError() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(10, Duration.ofSeconds(10));
+
+        // when
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new RuntimeException("PG 결제 정보 없음");
+        })).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new IllegalStateException("PG 인증 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("요청 한도 초과(429)는 혼잡 신호로 보고 한도를 줄인다")
+    void decreaseLimitOnTooManyRequests() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(10, Duration.ofSeconds(10));
+
+        // when
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new PgCongestionException("PG 요청 한도 초과", 429);
+        })).isInstanceOf(PgCongestionException.class);
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("잘못된 요청 오류는 한도를 조정하지 않는다")
+    void keepLimitOnBadRequest() {
+        // given
+        PgConcurrencyLimiter limiter = limiter(10, Duration.ofSeconds(10));
+
+        // when
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new IllegalArgumentException("잘못된 결제 요청");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -78,11 +78,11 @@ public class RankingAggregationJobConfig {
         var range = PeriodUtil.weekRange(targetDate);
         String sql = """
             SELECT pm.product_id AS product_id,
-                   COALESCE(SUM(pm.likes_count),0)  AS likes,
+                   GREATEST(0, COALESCE(SUM(pm.likes_count),0))  AS likes,
                    COALESCE(SUM(pm.sales_count),0)  AS orders,
                    COALESCE(SUM(pm.views_count),0)  AS views,
                    (0.1 * COALESCE(SUM(pm.views_count),0)
-                  + 0.2 * COALESCE(SUM(pm.likes_count),0)
+                  + 0.2 * GREATEST(0, COALESCE(SUM(pm.likes_count),0))
                   + 0.7 * COALESCE(SUM(pm.sales_count),0)) AS score
               FROM product_metrics pm
              WHERE pm.metric_date BETWEEN ? AND ?
@@ -190,11 +190,11 @@ public class RankingAggregationJobConfig {
         var range = PeriodUtil.monthRange(targetDate);
         String sql = """
             SELECT pm.product_id AS product_id,
-                   COALESCE(SUM(pm.likes_count),0)  AS likes,
+                   GREATEST(0, COALESCE(SUM(pm.likes_count),0))  AS likes,
                    COALESCE(SUM(pm.sales_count),0)  AS orders,
                    COALESCE(SUM(pm.views_count),0)  AS views,
                    (0.1 * COALESCE(SUM(pm.views_count),0)
-                  + 0.2 * COALESCE(SUM(pm.likes_count),0)
+                  + 0.2 * GREATEST(0, COALESCE(SUM(pm.likes_count),0))
                   + 0.7 * COALESCE(SUM(pm.sales_count),0)) AS score
               FROM product_metrics pm
              WHERE pm.metric_date BETWEEN ? AND ?
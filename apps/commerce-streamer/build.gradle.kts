@@ -8,6 +8,7 @@ dependencies {
     // 추가 모듈
     implementation(project(":modules:jpa"))
     implementation(project(":modules:kafka"))
+    implementation(project(":modules:event-schema"))
     implementation(project(":supports:jackson"))
     implementation(project(":supports:logging"))
     implementation(project(":supports:monitoring"))
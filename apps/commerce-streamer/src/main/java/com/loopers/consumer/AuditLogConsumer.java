@@ -1,25 +1,26 @@
 package com.loopers.consumer;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.loopers.config.kafka.KafkaConfig;
-import com.loopers.domain.event.EventHandled;
 import com.loopers.domain.event.EventLog;
+import com.loopers.event.schema.BinaryEventCodec;
+import com.loopers.event.schema.EventCodec;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.event.schema.JsonEventCodec;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.pipeline.EventPipelineProperties;
+import com.loopers.pipeline.EventStage;
 import com.loopers.repository.EventLogRepository;
-import com.loopers.service.IdempotentEventService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.annotation.DltHandler;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
@@ -27,136 +28,140 @@ import java.util.List;
  * 규정 준수를 위한 완전한 감사 추적을 제공합니다
  */
 @Component
-public class AuditLogConsumer {
+public class AuditLogConsumer implements EventStage {
     
     private static final Logger log = LoggerFactory.getLogger(AuditLogConsumer.class);
     
     private final EventLogRepository eventLogRepository;
-    private final ObjectMapper objectMapper;
+    private final ChunkedBatchProcessor chunkedBatchProcessor;
 
-    public AuditLogConsumer(EventLogRepository eventLogRepository, ObjectMapper objectMapper) {
+    public AuditLogConsumer(EventLogRepository eventLogRepository, ChunkedBatchProcessor chunkedBatchProcessor) {
         this.eventLogRepository = eventLogRepository;
-        this.objectMapper = objectMapper;
+        this.chunkedBatchProcessor = chunkedBatchProcessor;
     }
     
     /**
-     * 감사 로그는 모든 이벤트를 무조건 기록해야 하므로 멱등성 처리 없이 단순하게 처리
-     * 중복 기록이 발생해도 감사 추적에는 문제없음 (오히려 더 상세한 추적 가능)
+     * 감사 로그는 모든 이벤트를 무조건 기록해야 하므로 처리됨 표시 없이 event_id 유니크 제약으로만 중복을 거른다
+     * 레인 실패나 시간 예산 초과로 이미 기록된 레코드가 다시 전달되어도 INSERT IGNORE 로 건너뛴다
      */
     @KafkaListener(
         topics = {"catalog-events", "order-events"},
-        containerFactory = KafkaConfig.BATCH_LISTENER,
-        groupId = "audit-log-consumer-group"
+        containerFactory = KafkaConfig.BYTES_BATCH_LISTENER,
+        groupId = "audit-log-consumer-group",
+        autoStartup = EventPipelineProperties.SEPARATE_LISTENERS_AUTO_STARTUP
     )
-    @RetryableTopic(
-        attempts = "3",
-        backoff = @Backoff(delay = 1000L, multiplier = 2.0)
-    )
-    @Transactional
-    public void handleEvents(List<ConsumerRecord<String, String>> records, 
+    public void handleEvents(List<ConsumerRecord<String, byte[]>> records, 
                            Acknowledgment acknowledgment) {
         log.info("Processing {} events for audit logging", records.size());
         
         try {
-            // 배치 내 중복 eventId는 한 번만 저장하여 유니크 제약 위반으로 전체 롤백되는 것을 방지
-            java.util.LinkedHashMap<String, EventLog> deduped = new java.util.LinkedHashMap<>();
-            for (ConsumerRecord<String, String> record : records) {
-                EventLog logEntry = createEventLog(record);
-                // 동일 eventId가 배치에 여러 개 있을 경우 최초 한 건만 유지
-                deduped.putIfAbsent(logEntry.getEventId(), logEntry);
-            }
-            List<EventLog> eventLogs = new java.util.ArrayList<>(deduped.values());
-                    
-            eventLogRepository.saveAll(eventLogs);
-            acknowledgment.acknowledge();
-            
-            log.info("Successfully saved {} audit log entries", eventLogs.size());
+            // apply 는 INSERT IGNORE 한 번이므로 청크마다 원자적으로 기록되고, 모든 청크가 기록된 뒤 확인응답한다
+            chunkedBatchProcessor.process(ConsumedEvent.decodeAll(records), acknowledgment, this::claimAndApply);
 
         } catch (Exception e) {
             log.error("Error processing audit log events", e);
-            throw e; // 메시지가 재시도되거나 DLQ로 전송됩니다
+            throw e; // 실패한 레코드만 재시도되거나 DLT로 전송됩니다
         }
     }
+    
+    @Override
+    public String name() {
+        return "audit-log";
+    }
+    
+    /**
+     * 감사 로그는 처리됨 표시 없이 기록하고, 이미 기록된 event_id 는 건너뛴다
+     *
+     * @return 새로 기록한 감사 로그 수
+     */
+    @Override
+    public int claimAndApply(List<ConsumedEvent> events) {
+        return insert(events);
+    }
 
-    @DltHandler
-    public void auditLogDlt(String payload,
-                            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                            @Header(KafkaHeaders.ORIGINAL_TOPIC) String originalTopic,
-                            @Header(KafkaHeaders.ORIGINAL_PARTITION) Integer originalPartition,
-                            @Header(KafkaHeaders.ORIGINAL_OFFSET) Long originalOffset) {
-        log.error("DLT received for audit logging - topic={}, originalTopic={}, partition={}, offset={}, payload={}",
-            topic, originalTopic, originalPartition, originalOffset, payload);
+    @Override
+    public void apply(List<ConsumedEvent> events) {
+        insert(events);
     }
 
-    @DltHandler
-    public void auditLogDltBatch(List<ConsumerRecord<String, String>> records,
-                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
-        log.error("DLT batch received for audit logging - topic={}, size={}", topic, records.size());
-        if (!records.isEmpty()) {
-            ConsumerRecord<String, String> first = records.get(0);
-            log.debug("First record metadata - topic={}, partition={}, offset={}, key={}, valueSnippet={}",
-                first.topic(), first.partition(), first.offset(), first.key(),
-                first.value() != null && first.value().length() > 200 ? first.value().substring(0, 200) + "..." : first.value());
+    private int insert(List<ConsumedEvent> events) {
+        // 배치 내 중복 eventId는 한 번만 기록 (다시 전달된 레코드는 INSERT IGNORE 가 건너뛴다)
+        LinkedHashMap<String, EventLog> deduped = new LinkedHashMap<>();
+        for (ConsumedEvent consumed : events) {
+            EventLog logEntry = createEventLog(consumed);
+            // 동일 eventId가 배치에 여러 개 있을 경우 최초 한 건만 유지
+            deduped.putIfAbsent(logEntry.getEventId(), logEntry);
         }
+
+        int inserted = eventLogRepository.insertIgnore(deduped.values());
+        log.info("Successfully saved {} audit log entries ({} already logged)", inserted, deduped.size() - inserted);
+        return inserted;
     }
+
     
-    private EventLog createEventLog(ConsumerRecord<String, String> record) {
-        try {
-            // JSON에서 기본 정보 추출
-            JsonNode eventData = objectMapper.readTree(record.value());
-            String eventId = extractEventId(eventData);
-            String eventType = extractEventType(eventData);
-            String aggregateId = extractAggregateId(eventData, record.topic());
-            Long version = extractVersion(eventData);
-            
-            return new EventLog(
-                eventId,
-                eventType, 
-                record.topic(),
-                record.key(),
-                aggregateId,
-                record.value(), // 원본 JSON 문자열 보존
-                ZonedDateTime.now(),
-                version
-            );
-            
-        } catch (Exception e) {
-            log.error("Failed to parse event record: {}", record, e);
+    private EventLog createEventLog(ConsumedEvent consumed) {
+        EventEnvelope event = consumed.event();
+        if (event == null) {
             // 파싱 실패해도 로그는 남김 (디버깅용)
-            return createFallbackEventLog(record);
+            return createFallbackEventLog(consumed);
         }
+        
+        return new EventLog(
+            event.getEventId() != null ? event.getEventId() : fallbackEventId("unknown", consumed),
+            event.getEventType() != null ? event.getEventType() : "unknown",
+            consumed.topic(),
+            consumed.baseKey(),
+            extractAggregateId(event, consumed.topic()),
+            toJson(consumed), // JSON 은 원문 그대로, 바이너리는 JSON 으로 변환해 보존
+            ZonedDateTime.now(),
+            event.getVersion()
+        );
     }
     
-    private String extractEventId(JsonNode eventData) {
-        return eventData.has("eventId") ? eventData.get("eventId").asText() : "unknown";
-    }
-    
-    private String extractEventType(JsonNode eventData) {
-        return eventData.has("eventType") ? eventData.get("eventType").asText() : "unknown";
+    private String toJson(ConsumedEvent consumed) {
+        return BinaryEventCodec.isBinary(consumed.payload())
+            ? JsonEventCodec.toJson(consumed.event())
+            : new String(consumed.payload(), StandardCharsets.UTF_8);
     }
     
-    private String extractAggregateId(JsonNode eventData, String topic) {
-        return switch (topic) {
-            case "catalog-events" -> eventData.has("productId") ? eventData.get("productId").asText() : null;
-            case "order-events" -> eventData.has("orderId") ? eventData.get("orderId").asText() : null;
+    private String extractAggregateId(EventEnvelope event, String topic) {
+        Long aggregateId = switch (topic) {
+            case "catalog-events" -> event.getProductId();
+            case "order-events" -> event.getOrderId();
             default -> null;
         };
+        return aggregateId != null ? aggregateId.toString() : null;
     }
     
-    private Long extractVersion(JsonNode eventData) {
-        return eventData.has("version") ? eventData.get("version").asLong() : null;
-    }
-    
-    private EventLog createFallbackEventLog(ConsumerRecord<String, String> record) {
+    private EventLog createFallbackEventLog(ConsumedEvent consumed) {
         return new EventLog(
-            "parse-error-" + System.currentTimeMillis(),
+            fallbackEventId("parse-error", consumed),
             "PARSE_ERROR",
-            record.topic(),
-            record.key(),
+            consumed.topic(),
+            consumed.baseKey(),
             null,
-            record.value(),
+            rawPayload(consumed.payload()),
             ZonedDateTime.now(),
             null
         );
     }
+    
+    /**
+     * eventId 가 없는 레코드는 레코드 위치로 고유한 ID 를 만든다 (INSERT IGNORE 로 서로 덮이지 않고, 재전달 시에는 같은 ID 가 된다)
+     */
+    private static String fallbackEventId(String prefix, ConsumedEvent consumed) {
+        return prefix + "-" + consumed.topic() + "-" + consumed.partition() + "-" + consumed.offset();
+    }
+
+    /**
+     * 해석에 실패한 페이로드: 바이너리는 Base64, 그 외에는 원문 문자열로 남긴다
+     */
+    private String rawPayload(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        return BinaryEventCodec.isBinary(payload)
+            ? Base64.getEncoder().encodeToString(payload)
+            : new String(payload, StandardCharsets.UTF_8);
+    }
 }
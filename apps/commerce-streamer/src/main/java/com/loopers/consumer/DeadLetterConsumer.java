@@ -0,0 +1,72 @@
+package com.loopers.consumer;
+
+import com.loopers.config.kafka.KafkaConfig;
+import com.loopers.event.schema.EventCodec;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 재시도를 모두 소진해 DLT 로 보내진 레코드를 기록하는 컨슈머
+ * 어느 컨슈머 그룹에서 어떤 예외로 실패했는지는 DeadLetterPublishingRecoverer 가 붙인 헤더로 확인한다.
+ */
+@Component
+public class DeadLetterConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterConsumer.class);
+
+    @KafkaListener(
+        topics = {"catalog-events" + KafkaConfig.DLT_SUFFIX, "order-events" + KafkaConfig.DLT_SUFFIX},
+        containerFactory = KafkaConfig.BYTES_BATCH_LISTENER,
+        groupId = "dead-letter-log-consumer-group"
+    )
+    public void handleDeadLetters(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            log.error("DLT received - topic={}, originalGroup={}, originalPartition={}, originalOffset={}, exception={}, payload={}",
+                record.topic(),
+                stringHeader(record, KafkaHeaders.DLT_ORIGINAL_CONSUMER_GROUP),
+                intHeader(record, KafkaHeaders.DLT_ORIGINAL_PARTITION),
+                longHeader(record, KafkaHeaders.DLT_ORIGINAL_OFFSET),
+                stringHeader(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE),
+                payload(record.value()));
+        }
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * DLT 에는 디코딩에 실패한 바이너리 레코드도 들어오므로, JSON 변환에 실패하면 Base64 로 남긴다
+     * (변환 예외로 배치가 실패하면 DLT 로그 컨슈머가 같은 레코드에서 멈춘다)
+     */
+    private String payload(byte[] value) {
+        try {
+            return EventCodec.toJson(value);
+        } catch (RuntimeException e) {
+            return "base64:" + Base64.getEncoder().encodeToString(value);
+        }
+    }
+
+    private String stringHeader(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private Integer intHeader(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value().length == Integer.BYTES ? ByteBuffer.wrap(header.value()).getInt() : null;
+    }
+
+    private Long longHeader(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value().length == Long.BYTES ? ByteBuffer.wrap(header.value()).getLong() : null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.loopers.consumer;
+
+import com.loopers.config.kafka.KafkaConfig;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.pipeline.EventPipelineProperties;
+import com.loopers.pipeline.EventStage;
+import com.loopers.pipeline.RecordFailureIsolation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 통합 파이프라인 컨슈머 (streamer.pipeline.mode=CONSOLIDATED)
+ *
+ * 하나의 컨슈머 그룹이 배치를 한 번만 가져와 디코딩한 뒤 등록된 모든 {@link EventStage} 에 병렬로 분배한다.
+ * 각 단계는 자신의 컨슈머 타입(개별 컨슈머 모드와 같은 값)으로 처리됨 표시와 반영을 한 트랜잭션에서 처리하고
+ * ({@link EventStage#claimAndApply}), 모든 단계가 끝나야(커밋 배리어) 오프셋을 커밋한다.
+ * 배치는 청크 단위로 나누어 분배하고, 모든 청크가 끝난 뒤 확인응답한다 ({@link ChunkedBatchProcessor}).
+ * 오프셋 순서가 필요한 단계({@link EventStage#requiresOffsetOrder}, 예: REDIS_OFFSET 모드의 랭킹)가 있으면 키 병렬 처리 없이 분배한다.
+ *
+ * 실패한 단계는 stageAttempts 만큼 제자리에서 다시 실행하고, 그래도 실패하면 배치를 나누어 실패한 레코드를 찾아
+ * 해당 레코드만 재시도/DLT 로 보낸다 ({@link RecordFailureIsolation}).
+ * 처리됨 표시가 단계별로 남으므로, 실패한 구간을 다시 실행하거나 재전달해도 이미 성공한 단계는 다시 반영하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "streamer.pipeline", name = "mode", havingValue = "CONSOLIDATED")
+public class EventPipelineConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPipelineConsumer.class);
+
+    private final List<EventStage> stages;
+    private final EventPipelineProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ChunkedBatchProcessor chunkedBatchProcessor;
+    private final boolean offsetOrdered;
+    private final ExecutorService stageExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("event-pipeline-stage-", 0).factory()
+    );
+
+    public EventPipelineConsumer(List<EventStage> stages,
+                                 EventPipelineProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 ChunkedBatchProcessor chunkedBatchProcessor) {
+        this.stages = stages;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.chunkedBatchProcessor = chunkedBatchProcessor;
+        this.offsetOrdered = stages.stream().anyMatch(EventStage::requiresOffsetOrder);
+        log.info("Event pipeline enabled with stages: {} (offset ordered: {})",
+            stages.stream().map(EventStage::name).toList(), offsetOrdered);
+    }
+
+    @KafkaListener(
+        topics = {"catalog-events", "order-events"},
+        containerFactory = KafkaConfig.BYTES_BATCH_LISTENER,
+        groupId = "event-pipeline-consumer-group"
+    )
+    public void handleEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        log.info("Processing {} events through {} pipeline stages", records.size(), stages.size());
+
+        List<ConsumedEvent> events = ConsumedEvent.decodeAll(records);
+        int processed = offsetOrdered
+            ? chunkedBatchProcessor.processInOffsetOrder(events, acknowledgment, this::runStages)
+            : chunkedBatchProcessor.process(events, acknowledgment, this::runStages);
+        log.info("Event pipeline completed - processed: {}, skipped: {}", processed, records.size() - processed);
+    }
+
+    /**
+     * 디코딩된 레코드 구간을 모든 단계에 분배 (각 단계가 자체 트랜잭션으로 처리됨 표시와 반영을 함께 커밋)
+     *
+     * @return 단계들이 반영한 이벤트 수 중 최댓값 (모든 단계에서 이미 처리된 구간이면 0)
+     */
+    private int runStages(List<ConsumedEvent> events) {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(stages.size());
+        for (EventStage stage : stages) {
+            List<ConsumedEvent> stageEvents = events.stream()
+                .filter(consumed -> stage.accepts(consumed.topic()))
+                .toList();
+            if (!stageEvents.isEmpty()) {
+                futures.add(CompletableFuture.supplyAsync(() -> runStage(stage, stageEvents), stageExecutor));
+            }
+        }
+
+        // 커밋 배리어: 모든 단계가 끝난 뒤에만 오프셋 커밋
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            log.error("Event pipeline stage failed - records will be isolated and retried", e.getCause());
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        int processed = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            processed = Math.max(processed, future.join());
+        }
+        return processed;
+    }
+
+    private int runStage(EventStage stage, List<ConsumedEvent> events) {
+        Timer timer = meterRegistry.timer("streamer.pipeline.stage", "stage", stage.name());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return timer.record(() -> stage.claimAndApply(events));
+            } catch (RuntimeException e) {
+                meterRegistry.counter("streamer.pipeline.stage.failed", "stage", stage.name()).increment();
+                if (attempt >= properties.stageAttempts()) {
+                    throw e;
+                }
+                log.warn("Pipeline stage {} failed (attempt {}/{}), retrying: {}",
+                    stage.name(), attempt, properties.stageAttempts(), e.getMessage());
+                sleep(properties.stageBackoff().toMillis() * attempt);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("파이프라인 단계 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stageExecutor.close();
+    }
+}
@@ -1,208 +1,139 @@
 package com.loopers.consumer;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.loopers.config.kafka.KafkaConfig;
 import com.loopers.domain.event.EventHandled;
-import com.loopers.domain.metrics.ProductMetrics;
+import com.loopers.domain.metrics.ProductMetricsAccumulator;
+import com.loopers.domain.metrics.ProductMetricsDelta;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.pipeline.EventPipelineProperties;
+import com.loopers.pipeline.EventStage;
 import com.loopers.repository.ProductMetricsRepository;
 import com.loopers.service.IdempotentEventService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loopers.service.ProductMetricsWriteBehind;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.annotation.DltHandler;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 제품의 일일 메트릭 집계를 위한 컨슈머
  * 좋아요, 판매, 조회 이벤트를 처리하여 일일 통계를 업데이트합니다
  */
 @Component
-public class MetricsAggregationConsumer {
+public class MetricsAggregationConsumer implements EventStage {
     
     private static final Logger log = LoggerFactory.getLogger(MetricsAggregationConsumer.class);
     
     private final ProductMetricsRepository productMetricsRepository;
     private final IdempotentEventService idempotentEventService;
-    private final ObjectMapper objectMapper;
+    private final Optional<ProductMetricsWriteBehind> writeBehind;
+    private final TransactionTemplate transactionTemplate;
+    private final ChunkedBatchProcessor chunkedBatchProcessor;
 
     public MetricsAggregationConsumer(ProductMetricsRepository productMetricsRepository,
                                      IdempotentEventService idempotentEventService,
-                                     ObjectMapper objectMapper) {
+                                     Optional<ProductMetricsWriteBehind> writeBehind,
+                                     TransactionTemplate transactionTemplate,
+                                     ChunkedBatchProcessor chunkedBatchProcessor) {
         this.productMetricsRepository = productMetricsRepository;
         this.idempotentEventService = idempotentEventService;
-        this.objectMapper = objectMapper;
+        this.writeBehind = writeBehind;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkedBatchProcessor = chunkedBatchProcessor;
     }
     
     @KafkaListener(
         topics = {"catalog-events", "order-events"},
-        containerFactory = KafkaConfig.BATCH_LISTENER,
-        groupId = "metrics-aggregation-consumer-group"
+        containerFactory = KafkaConfig.BYTES_BATCH_LISTENER,
+        groupId = "metrics-aggregation-consumer-group",
+        autoStartup = EventPipelineProperties.SEPARATE_LISTENERS_AUTO_STARTUP
     )
-    @RetryableTopic(
-        attempts = "3",
-        backoff = @Backoff(delay = 1000L, multiplier = 2.0)
-    )
-    @Transactional
-    public void metricsAggregationListener(List<ConsumerRecord<String, String>> messages,
+    public void metricsAggregationListener(List<ConsumerRecord<String, byte[]>> messages,
                                           Acknowledgment acknowledgment) throws Exception {
         log.info("Processing {} events for metrics aggregation", messages.size());
         
-        int processedCount = 0;
-        int skippedCount = 0;
-        
+        if (writeBehind.isPresent()) {
+            bufferForWriteBehind(messages, acknowledgment);
+            return;
+        }
+
         try {
-            for (ConsumerRecord<String, String> message : messages) {
-                JsonNode eventData = objectMapper.readTree(message.value());
-                String eventId = eventData.has("eventId") ? eventData.get("eventId").asText() : null;
-                String eventType = eventData.has("eventType") ? eventData.get("eventType").asText() : null;
-                Long version = eventData.has("version") ? eventData.get("version").asLong() : null;
-                
-                if (eventId == null || eventType == null) {
-                    log.warn("Skipping invalid event - missing eventId or eventType: {}", eventData);
-                    skippedCount++;
-                    continue;
-                }
-                
-                boolean processed = idempotentEventService.processEventIdempotent(
-                    eventId,
-                    EventHandled.ConsumerType.METRICS_AGGREGATION,
-                    version,
-                    () -> processMetricsEvent(eventData, eventType)
-                );
-                
-                if (processed) {
-                    processedCount++;
-                    log.debug("Processed metrics for event: eventId={}, eventType={}", eventId, eventType);
-                } else {
-                    skippedCount++;
-                    log.debug("Skipped duplicate metrics event: eventId={}, eventType={}", eventId, eventType);
-                }
-            }
-            
-            // 성공적인 처리 후 수동 확인응답
-            acknowledgment.acknowledge();
-            log.info("Metrics aggregation completed - processed: {}, skipped: {}", processedCount, skippedCount);
+            // 청크마다 커밋하고, 모든 청크가 커밋된 뒤에 확인응답
+            int processed = chunkedBatchProcessor.process(ConsumedEvent.decodeAll(messages), acknowledgment,
+                this::claimAndApply);
+            log.info("Metrics aggregation completed - processed: {}, skipped: {}",
+                processed, messages.size() - processed);
             
         } catch (Exception e) {
             log.error("Error processing metrics aggregation events", e);
-            throw e; // 메시지가 재시도되거나 DLQ로 전송됩니다
+            throw e; // 실패한 레코드만 재시도되거나 DLT로 전송됩니다
         }
     }
     
-    private void processMetricsEvent(JsonNode eventData, String eventType) {
-        switch (eventType) {
-            case "PRODUCT_LIKED":
-                Long productIdLiked = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productIdLiked != null) {
-                    updateProductMetrics(productIdLiked, 1L, 0L, 0L);
-                }
-                break;
-                
-            case "PRODUCT_UNLIKED":
-                Long productIdUnliked = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productIdUnliked != null) {
-                    updateProductMetrics(productIdUnliked, -1L, 0L, 0L);
-                }
-                break;
-                
-            case "PRODUCT_VIEWED":
-                Long productIdViewed = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productIdViewed != null) {
-                    updateProductMetrics(productIdViewed, 0L, 0L, 1L);
-                }
-                break;
-                
-            case "ORDER_CREATED":
-                JsonNode orderEventData = eventData.get("eventData");
-                if (orderEventData != null && orderEventData.has("items")) {
-                    JsonNode items = orderEventData.get("items");
-                    if (items.isArray()) {
-                        for (JsonNode item : items) {
-                            Long productId = item.has("productId") ? item.get("productId").asLong() : null;
-                            Long quantity = item.has("quantity") ? item.get("quantity").asLong() : 1L;
-                            if (productId != null) {
-                                updateProductMetrics(productId, 0L, quantity, 0L);
-                            }
-                        }
-                    }
-                }
-                break;
-                
-            default:
-                log.debug("Ignoring event type for metrics: {}", eventType);
-                break;
-        }
+    /**
+     * 처리됨 표시와 메트릭 반영을 한 트랜잭션으로 처리 (청크마다, 레코드 격리 시 구간마다 호출)
+     */
+    @Override
+    public int claimAndApply(List<ConsumedEvent> events) {
+        Integer processed = transactionTemplate.execute(status -> {
+            List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(
+                events,
+                EventHandled.ConsumerType.METRICS_AGGREGATION
+            );
+            apply(claimed);
+            return claimed.size();
+        });
+        return processed != null ? processed : 0;
     }
     
-    private void updateProductMetrics(Long productId, Long likesChange, Long salesChange, Long viewsChange) {
-        LocalDate today = LocalDate.now();
-        
-        try {
-            // 오늘에 대한 기존 메트릭 찾기 시도
-            ProductMetrics existingMetrics = productMetricsRepository.findByProductIdAndMetricDate(productId, today);
-            
-            if (existingMetrics != null) {
-                // 기존 메트릭 업데이트
-                existingMetrics.updateLikes(likesChange);
-                existingMetrics.updateSales(salesChange);
-                existingMetrics.updateViews(viewsChange);
-                productMetricsRepository.save(existingMetrics);
-                
-                log.debug("Updated metrics for productId={}, likesChange={}, salesChange={}, viewsChange={}", 
-                    productId, likesChange, salesChange, viewsChange);
-            } else {
-                // 새로운 메트릭 항목 생성
-                ProductMetrics newMetrics = new ProductMetrics(
-                    productId,
-                    today,
-                    Math.max(0L, likesChange),
-                    likesChange,
-                    Math.max(0L, salesChange),
-                    salesChange,
-                    Math.max(0L, viewsChange),
-                    viewsChange
-                );
-                productMetricsRepository.save(newMetrics);
-                
-                log.debug("Created new metrics for productId={}, likesChange={}, salesChange={}, viewsChange={}", 
-                    productId, likesChange, salesChange, viewsChange);
-            }
-            
-        } catch (Exception e) {
-            log.error("Error updating metrics for productId={}", productId, e);
-            throw e;
-        }
+    /**
+     * 지연 쓰기 모드: 윈도우에 모아 두고, 확인응답은 윈도우가 반영된 뒤에 처리된다
+     * 처리됨 표시도 반영 시점에 하므로 여기서는 이미 처리된 이벤트만 걸러낸다.
+     */
+    private void bufferForWriteBehind(List<ConsumerRecord<String, byte[]>> messages, Acknowledgment acknowledgment) {
+        List<ConsumedEvent> events = idempotentEventService.findUnprocessed(
+            ConsumedEvent.decodeAll(messages),
+            EventHandled.ConsumerType.METRICS_AGGREGATION
+        );
+        writeBehind.get().add(events, acknowledgment);
+        log.info("Metrics buffered for write-behind - buffered: {}, skipped: {}",
+            events.size(), messages.size() - events.size());
     }
 
-    @DltHandler
-    public void metricsAggregationDlt(String payload,
-                                      @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                      @Header(KafkaHeaders.ORIGINAL_TOPIC) String originalTopic,
-                                      @Header(KafkaHeaders.ORIGINAL_PARTITION) Integer originalPartition,
-                                      @Header(KafkaHeaders.ORIGINAL_OFFSET) Long originalOffset) {
-        log.error("DLT received for metrics aggregation - topic={}, originalTopic={}, partition={}, offset={}, payload={}",
-            topic, originalTopic, originalPartition, originalOffset, payload);
+    @Override
+    public String name() {
+        return "metrics";
     }
-
-    @DltHandler
-    public void metricsAggregationDltBatch(List<ConsumerRecord<String, String>> records,
-                                           @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
-        log.error("DLT batch received for metrics aggregation - topic={}, size={}", topic, records.size());
-        if (!records.isEmpty()) {
-            ConsumerRecord<String, String> first = records.get(0);
-            log.debug("First record metadata - topic={}, partition={}, offset={}, key={}, valueSnippet={}",
-                first.topic(), first.partition(), first.offset(), first.key(),
-                first.value() != null && first.value().length() > 200 ? first.value().substring(0, 200) + "..." : first.value());
+    
+    /**
+     * 폴링 단위로 (상품, 일자)별 변화량을 메모리에서 합산한 뒤 다중 행 upsert 로 반영
+     * 이벤트마다 조회 + 저장(2문)을 하던 방식과 달리, 3000건의 조회 이벤트가 상품 50개에 몰리면 50행 upsert 1문이 된다.
+     */
+    @Override
+    @Transactional
+    public void apply(List<ConsumedEvent> events) {
+        LocalDate today = LocalDate.now();
+        ProductMetricsAccumulator accumulator = new ProductMetricsAccumulator();
+        for (ConsumedEvent consumed : events) {
+            if (consumed.isValid() && !accumulator.add(consumed.event(), today)) {
+                log.debug("Ignoring event type for metrics: {}", consumed.event().getEventType());
+            }
         }
+        if (accumulator.isEmpty()) {
+            return;
+        }
+
+        long folded = accumulator.eventCount();
+        List<ProductMetricsDelta> deltas = accumulator.drain();
+        int statements = productMetricsRepository.upsertAll(deltas);
+        log.debug("Upserted product metrics - changes: {}, rows: {}, statements: {}", folded, deltas.size(), statements);
     }
 }
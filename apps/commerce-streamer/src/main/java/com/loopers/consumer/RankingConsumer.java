@@ -1,187 +1,132 @@
 package com.loopers.consumer;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.loopers.config.kafka.KafkaConfig;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.loopers.domain.event.EventHandled;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.pipeline.EventPipelineProperties;
+import com.loopers.pipeline.EventStage;
 import com.loopers.service.IdempotentEventService;
+import com.loopers.service.RankingProperties;
 import com.loopers.service.RankingService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.annotation.DltHandler;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * 실시간 랭킹 시스템을 위한 Kafka Consumer
  * 이벤트를 배치로 처리하여 Redis ZSET에 랭킹 점수를 실시간 반영
  */
 @Component
-public class RankingConsumer {
+public class RankingConsumer implements EventStage {
     
     private static final Logger log = LoggerFactory.getLogger(RankingConsumer.class);
     
+    // REDIS_OFFSET 모드에서 파티션별 마지막 반영 오프셋을 기록하는 HASH
+    // 개별 컨슈머와 통합 파이프라인이 같은 ZSET 에 반영하므로 모드를 바꿔도 같은 키로 이미 반영한 레코드를 건너뛴다
+    static final String OFFSETS_KEY = "ranking:offsets:ranking-consumer-group";
+    
     private final RankingService rankingService;
     private final IdempotentEventService idempotentEventService;
-    private final ObjectMapper objectMapper;
+    private final RankingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ChunkedBatchProcessor chunkedBatchProcessor;
     
     public RankingConsumer(RankingService rankingService, 
                           IdempotentEventService idempotentEventService,
-                          ObjectMapper objectMapper) {
+                          RankingProperties properties,
+                          TransactionTemplate transactionTemplate,
+                          ChunkedBatchProcessor chunkedBatchProcessor) {
         this.rankingService = rankingService;
         this.idempotentEventService = idempotentEventService;
-        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkedBatchProcessor = chunkedBatchProcessor;
     }
     
     @KafkaListener(
         topics = {"catalog-events", "order-events"},
-        containerFactory = KafkaConfig.BATCH_LISTENER,
-        groupId = "ranking-consumer-group"
-    )
-    @RetryableTopic(
-        attempts = "3",
-        backoff = @Backoff(delay = 1000L, multiplier = 2.0)
+        containerFactory = KafkaConfig.BYTES_BATCH_LISTENER,
+        groupId = "ranking-consumer-group",
+        autoStartup = EventPipelineProperties.SEPARATE_LISTENERS_AUTO_STARTUP
     )
-    @Transactional
-    public void handleRankingEvents(List<ConsumerRecord<String, String>> messages,
+    public void handleRankingEvents(List<ConsumerRecord<String, byte[]>> messages,
                                    Acknowledgment acknowledgment) throws Exception {
         log.info("Processing {} events for ranking system", messages.size());
         
-        int processedCount = 0;
-        int skippedCount = 0;
-        List<RankingService.ProductScoreUpdate> batchUpdates = new ArrayList<>();
-        
         try {
-            LocalDate today = LocalDate.now();
-            
-            for (ConsumerRecord<String, String> message : messages) {
-                JsonNode eventData = objectMapper.readTree(message.value());
-                String eventId = eventData.has("eventId") ? eventData.get("eventId").asText() : null;
-                String eventType = eventData.has("eventType") ? eventData.get("eventType").asText() : null;
-                Long version = eventData.has("version") ? eventData.get("version").asLong() : null;
-                
-                if (eventId == null || eventType == null) {
-                    log.warn("Skipping invalid event - missing eventId or eventType: {}", eventData);
-                    skippedCount++;
-                    continue;
-                }
-                
-                boolean processed = idempotentEventService.processEventIdempotent(
-                    eventId,
-                    EventHandled.ConsumerType.RANKING,
-                    version,
-                    () -> {
-                        RankingService.ProductScoreUpdate update = 
-                            processRankingEvent(eventData, eventType, today);
-                        if (update != null) {
-                            batchUpdates.add(update);
-                        }
-                    }
-                );
-                
-                if (processed) {
-                    processedCount++;
-                    log.debug("Processed ranking for event: eventId={}, eventType={}", eventId, eventType);
-                } else {
-                    skippedCount++;
-                    log.debug("Skipped duplicate ranking event: eventId={}, eventType={}", eventId, eventType);
-                }
-            }
-            
-            // 배치로 랭킹 점수 업데이트
-            if (!batchUpdates.isEmpty()) {
-                rankingService.batchUpdateRankingScores(batchUpdates, today);
-            }
-            
-            // 성공적인 처리 후 수동 확인응답
-            acknowledgment.acknowledge();
-            log.info("Ranking processing completed - processed: {}, skipped: {}, batch updates: {}", 
-                processedCount, skippedCount, batchUpdates.size());
+            List<ConsumedEvent> events = ConsumedEvent.decodeAll(messages);
+            // 청크마다 커밋하고, 모든 청크가 커밋된 뒤에 확인응답
+            int processed = requiresOffsetOrder()
+                ? chunkedBatchProcessor.processInOffsetOrder(events, acknowledgment, this::claimAndApply)
+                : chunkedBatchProcessor.process(events, acknowledgment, this::claimAndApply);
+            log.info("Ranking processing completed - processed: {}, skipped: {}", 
+                processed, messages.size() - processed);
             
         } catch (Exception e) {
             log.error("Error processing ranking events", e);
-            throw e; // 메시지가 재시도되거나 DLQ로 전송됩니다
+            throw e; // 실패한 레코드만 재시도되거나 DLT로 전송됩니다
         }
     }
     
-    private RankingService.ProductScoreUpdate processRankingEvent(JsonNode eventData, String eventType, LocalDate eventDate) {
-        return switch (eventType) {
-            case "PRODUCT_LIKED" -> {
-                Long productId = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productId != null) {
-                    yield new RankingService.ProductScoreUpdate(productId, eventType, 1L);
-                }
-                yield null;
-            }
-            
-            case "PRODUCT_UNLIKED" -> {
-                Long productId = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productId != null) {
-                    yield new RankingService.ProductScoreUpdate(productId, eventType, 1L);
-                }
-                yield null;
-            }
-            
-            case "PRODUCT_VIEWED" -> {
-                Long productId = eventData.has("productId") ? eventData.get("productId").asLong() : null;
-                if (productId != null) {
-                    yield new RankingService.ProductScoreUpdate(productId, eventType, 1L);
-                }
-                yield null;
-            }
-            
-            case "ORDER_CREATED" -> {
-                // 주문 이벤트는 특별 처리 (개별적으로 처리)
-                processOrderEvent(eventData, eventDate);
-                yield null; // 배치에서 제외 (이미 개별 처리됨)
-            }
-            
-            default -> {
-                log.debug("Ignoring event type for ranking: {}", eventType);
-                yield null;
-            }
-        };
+    /**
+     * EVENT_HANDLED: Redis 반영이 실패하면 처리됨 표시도 롤백되어 재시도 시 다시 반영된다
+     * REDIS_OFFSET: 점수와 오프셋을 Redis 스크립트로 함께 기록하므로 MySQL 트랜잭션이 필요 없다
+     * (개별 컨슈머와 통합 파이프라인 모두 이 메서드로 처리하므로 두 모드에서 같은 멱등성 방식이 적용된다)
+     */
+    @Override
+    public int claimAndApply(List<ConsumedEvent> events) {
+        if (properties.tracksOffsetsInRedis()) {
+            return rankingService.applyExactlyOnce(events, OFFSETS_KEY, LocalDate.now());
+        }
+        Integer processed = transactionTemplate.execute(status -> {
+            List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(
+                events,
+                EventHandled.ConsumerType.RANKING
+            );
+            apply(claimed);
+            return claimed.size();
+        });
+        return processed != null ? processed : 0;
     }
     
-    private void processOrderEvent(JsonNode eventData, LocalDate eventDate) {
-        JsonNode orderEventData = eventData.get("eventData");
-        if (orderEventData != null && orderEventData.has("items")) {
-            JsonNode items = orderEventData.get("items");
-            if (items.isArray()) {
-                for (JsonNode item : items) {
-                    Long productId = item.has("productId") ? item.get("productId").asLong() : null;
-                    Long quantity = item.has("quantity") ? item.get("quantity").asLong() : 1L;
-                    Double unitPrice = item.has("unitPrice") ? item.get("unitPrice").asDouble() : null;
-                    
-                    if (productId != null && quantity > 0) {
-                        // 주문 이벤트는 금액과 수량을 고려한 특별 점수 계산
-                        rankingService.updateOrderRankingScore(productId, quantity, unitPrice, eventDate);
-                        log.debug("Updated order ranking for productId={}, quantity={}, unitPrice={}", 
-                            productId, quantity, unitPrice);
-                    }
-                }
-            }
-        }
+    @Override
+    public String name() {
+        return "ranking";
     }
 
-    @DltHandler
-    public void handleRankingEventsDlt(String payload,
-                                       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                       @Header(KafkaHeaders.ORIGINAL_TOPIC) String originalTopic,
-                                       @Header(KafkaHeaders.ORIGINAL_PARTITION) Integer originalPartition,
-                                       @Header(KafkaHeaders.ORIGINAL_OFFSET) Long originalOffset) {
-        log.error("DLT received for ranking consumer - topic={}, originalTopic={}, partition={}, offset={}, payload={}",
-            topic, originalTopic, originalPartition, originalOffset, payload);
+    /**
+     * REDIS_OFFSET 모드는 파티션별 오프셋을 단조 증가로 기록하므로 키 병렬 처리 없이 오프셋 순서대로 처리해야 한다
+     */
+    @Override
+    public boolean requiresOffsetOrder() {
+        return properties.tracksOffsetsInRedis();
+    }
+    
+    /**
+     * 한 폴링의 모든 랭킹 변화(조회/좋아요/주문)를 상품별로 합산한 뒤 한 번의 파이프라인으로 반영
+     */
+    @Override
+    public void apply(List<ConsumedEvent> events) {
+        LocalDate today = LocalDate.now();
+        RankingService.ScoreDeltas deltas = new RankingService.ScoreDeltas();
+        
+        for (ConsumedEvent consumed : events) {
+            if (consumed.isValid() && !deltas.add(consumed.event())) {
+                log.debug("Ignoring event type for ranking: {}", consumed.event().getEventType());
+            }
+        }
+        
+        if (!deltas.isEmpty()) {
+            rankingService.applyScoreDeltas(deltas, today);
+        }
+        log.debug("Ranking products updated: {}", deltas.size());
     }
 }
@@ -61,10 +61,11 @@ public class ProductMetrics extends BaseEntity {
 
     /**
      * 좋아요 메트릭 업데이트
+     * 일괄 upsert 와 같이 증감을 그대로 더한다 (반영 순서와 무관하도록 0 미만은 읽는 쪽에서 0 으로 본다)
      */
     public void updateLikes(Long change) {
         this.likesChange += change;
-        this.likesCount = Math.max(0L, this.likesCount + change);
+        this.likesCount = this.likesCount + change;
     }
 
     /**
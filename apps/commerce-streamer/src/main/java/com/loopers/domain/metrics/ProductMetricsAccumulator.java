@@ -0,0 +1,95 @@
+package com.loopers.domain.metrics;
+
+import com.loopers.event.schema.EventEnvelope;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트별 메트릭 변화량을 (상품, 일자) 단위로 메모리에서 합산
+ * 같은 상품에 대한 이벤트 N 건이 한 행의 변화량으로 접힌다.
+ */
+public class ProductMetricsAccumulator {
+
+    private final Map<Key, long[]> deltas = new HashMap<>();
+    private long eventCount;
+
+    /**
+     * 메트릭에 영향을 주는 이벤트를 합산
+     *
+     * @return 메트릭 대상 이벤트가 아니면 false
+     */
+    public boolean add(EventEnvelope event, LocalDate metricDate) {
+        switch (event.getEventType()) {
+            case "PRODUCT_LIKED":
+                if (event.hasProductId()) {
+                    add(event.getProductId(), metricDate, 1L, 0L, 0L);
+                }
+                return true;
+
+            case "PRODUCT_UNLIKED":
+                if (event.hasProductId()) {
+                    add(event.getProductId(), metricDate, -1L, 0L, 0L);
+                }
+                return true;
+
+            case "PRODUCT_VIEWED":
+                if (event.hasProductId()) {
+                    add(event.getProductId(), metricDate, 0L, 0L, 1L);
+                }
+                return true;
+
+            case "ORDER_CREATED":
+                for (int i = 0; i < event.getItemCount(); i++) {
+                    add(event.getItemProductId(i), metricDate, 0L, event.getItemQuantity(i), 0L);
+                }
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    public void add(Long productId, LocalDate metricDate, long likesChange, long salesChange, long viewsChange) {
+        long[] delta = deltas.computeIfAbsent(new Key(productId, metricDate), key -> new long[3]);
+        delta[0] += likesChange;
+        delta[1] += salesChange;
+        delta[2] += viewsChange;
+        eventCount++;
+    }
+
+    /** 누적 상태를 유지한 채 변화량 목록을 만든다 */
+    public List<ProductMetricsDelta> snapshot() {
+        List<ProductMetricsDelta> snapshot = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) ->
+            snapshot.add(new ProductMetricsDelta(key.productId(), key.metricDate(), delta[0], delta[1], delta[2])));
+        return snapshot;
+    }
+
+    public List<ProductMetricsDelta> drain() {
+        List<ProductMetricsDelta> drained = snapshot();
+        deltas.clear();
+        eventCount = 0;
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /** 합산 대상 (상품, 일자) 수 */
+    public int size() {
+        return deltas.size();
+    }
+
+    /** 합산된 변화량 건수 */
+    public long eventCount() {
+        return eventCount;
+    }
+
+    private record Key(Long productId, LocalDate metricDate) {
+    }
+}
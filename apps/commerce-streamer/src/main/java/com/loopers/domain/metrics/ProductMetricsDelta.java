@@ -0,0 +1,15 @@
+package com.loopers.domain.metrics;
+
+import java.time.LocalDate;
+
+/**
+ * (상품, 일자) 단위로 합산된 메트릭 변화량
+ */
+public record ProductMetricsDelta(
+        Long productId,
+        LocalDate metricDate,
+        long likesChange,
+        long salesChange,
+        long viewsChange
+) {
+}
@@ -0,0 +1,27 @@
+package com.loopers.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 폴링 배치를 나누어 커밋하는 설정
+ *
+ * @param chunkSize      한 트랜잭션에서 처리할 레코드 수 (0 이하: 폴링 배치 전체를 한 번에)
+ * @param timeBudget     한 폴링을 처리하는 데 쓸 최대 시간. 넘기면 남은 레코드는 다음 폴링으로 넘긴다
+ *                       (max.poll.interval.ms 2분보다 충분히 작게 잡아 리밸런스를 막는다)
+ * @param keyParallelism 청크를 레코드 키 기준 레인으로 나누어 동시에 처리할 수 (1: 순서대로 처리)
+ *                       같은 키는 같은 레인에서 순서대로 처리된다. 레인마다 DB 커넥션을 하나씩 쓴다.
+ */
+@ConfigurationProperties(prefix = "streamer.batch")
+public record BatchChunkProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("60s") Duration timeBudget,
+        @DefaultValue("1") int keyParallelism
+) {
+
+    public boolean processesKeysInParallel() {
+        return keyParallelism > 1;
+    }
+}
@@ -0,0 +1,172 @@
+package com.loopers.pipeline;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 폴링 배치를 청크 단위 트랜잭션으로 나누어 처리
+ *
+ * 3000건을 한 트랜잭션으로 처리하면 락과 언두 로그를 배치 내내 잡고 있고, DB 가 느려지면 max.poll.interval.ms 를 넘겨
+ * 리밸런스가 연쇄적으로 일어난다. 여기서는 chunkSize 건마다 handler 를 호출(커밋)하고,
+ * - 모든 청크가 커밋된 뒤에만 확인응답한다.
+ * - timeBudget 을 넘기면 커밋된 구간까지만 오프셋을 커밋하고 나머지는 다시 가져오도록 넘긴다 (nack).
+ *   청크 사이뿐 아니라 실패한 레코드를 격리하는 도중에도 확인한다.
+ * - 청크 안에서 실패하면 {@link RecordFailureIsolation} 으로 실패한 레코드를 찾아 전체 배치 기준 인덱스로 알린다.
+ *
+ * keyParallelism 이 1 보다 크면 청크를 레코드 키(productId/orderId) 해시로 레인에 나누어 가상 스레드에서 동시에 처리한다.
+ * 같은 키는 한 레인에서 오프셋 순서대로 처리되므로 키 단위 순서는 유지되고, 처리량은 파티션 수가 아니라 레인 수만큼 늘어난다.
+ * 핫 키 분산으로 salt 가 붙은 하위 키(교환 가능한 이벤트)는 서로 다른 레인으로 나뉠 수 있다.
+ * 레인이 실패하면 모든 레인이 끝난 뒤 실패한 레코드 중 가장 앞선 위치(low-water mark)를 알려 그 앞까지만 오프셋을 커밋한다.
+ * 그 뒤에서 이미 반영된 다른 레인의 레코드는 다시 전달되므로, handler 는 멱등하게(처리됨 표시 등) 처리해야 한다.
+ *
+ * handler 는 호출마다 원자적으로(자체 트랜잭션 등) 처리해야 하며, 처리한 이벤트 수를 돌려준다.
+ */
+@Component
+public class ChunkedBatchProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedBatchProcessor.class);
+
+    private final BatchChunkProperties properties;
+    private final ExecutorService laneExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("batch-key-lane-", 0).factory()
+    );
+
+    public ChunkedBatchProcessor(BatchChunkProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param events         리스너가 받은 레코드와 같은 순서/크기의 이벤트 ({@link ConsumedEvent#decodeAll})
+     * @param acknowledgment 모든 청크가 커밋되면 acknowledge, 시간 예산을 넘기면 남은 위치에서 nack
+     * @return handler 가 처리한 이벤트 수의 합 (시간 예산을 넘긴 경우 끝난 청크까지만 센다)
+     */
+    public int process(List<ConsumedEvent> events, Acknowledgment acknowledgment,
+                       ToIntFunction<List<ConsumedEvent>> handler) {
+        return process(events, acknowledgment, handler, properties.processesKeysInParallel());
+    }
+
+    /**
+     * 키 병렬 처리 없이 파티션 오프셋 순서대로만 처리 (오프셋을 단조 증가로 기록하는 handler 용)
+     */
+    public int processInOffsetOrder(List<ConsumedEvent> events, Acknowledgment acknowledgment,
+                                    ToIntFunction<List<ConsumedEvent>> handler) {
+        return process(events, acknowledgment, handler, false);
+    }
+
+    private int process(List<ConsumedEvent> events, Acknowledgment acknowledgment,
+                        ToIntFunction<List<ConsumedEvent>> handler, boolean keyOrdered) {
+        int chunkSize = properties.chunkSize() > 0 ? properties.chunkSize() : Math.max(events.size(), 1);
+        long deadline = System.nanoTime() + properties.timeBudget().toNanos();
+        BooleanSupplier expired = () -> System.nanoTime() - deadline >= 0;
+        int processed = 0;
+
+        try {
+            for (int from = 0; from < events.size(); from += chunkSize) {
+                if (from > 0 && expired.getAsBoolean()) {
+                    throw new TimeBudgetExceededException(from);
+                }
+                int to = Math.min(from + chunkSize, events.size());
+                processed += keyOrdered
+                    ? processKeyLanes(events, from, to, handler, expired)
+                    : RecordFailureIsolation.process(events, from, to, handler, expired);
+                log.debug("Batch chunk committed - records: {}/{}", to, events.size());
+            }
+        } catch (TimeBudgetExceededException e) {
+            // 커밋된 구간까지만 오프셋을 커밋하고, 남은 레코드는 다음 폴링에서 다시 받는다
+            log.warn("Batch time budget {} exceeded - committed {}/{} records, deferring the rest",
+                properties.timeBudget(), e.getIndex(), events.size());
+            acknowledgment.nack(e.getIndex(), Duration.ZERO);
+            return processed;
+        }
+
+        acknowledgment.acknowledge();
+        return processed;
+    }
+
+    /**
+     * [from, to) 구간을 키 해시 레인으로 나누어 동시에 처리
+     *
+     * @throws BatchListenerFailedException 실패 또는 예산 초과 위치 중 가장 앞선 곳이 실패한 레코드인 경우 그 (전체 배치 기준) 인덱스
+     * @throws TimeBudgetExceededException  가장 앞선 곳이 예산을 넘겨 처리하지 않은 레코드인 경우 그 (전체 배치 기준) 인덱스
+     */
+    private int processKeyLanes(List<ConsumedEvent> events, int from, int to,
+                                ToIntFunction<List<ConsumedEvent>> handler, BooleanSupplier expired) {
+        int laneCount = Math.min(properties.keyParallelism(), to - from);
+        List<List<ConsumedEvent>> laneEvents = new ArrayList<>(laneCount);
+        List<List<Integer>> laneIndexes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            laneEvents.add(new ArrayList<>());
+            laneIndexes.add(new ArrayList<>());
+        }
+        for (int index = from; index < to; index++) {
+            ConsumedEvent consumed = events.get(index);
+            int lane = Math.floorMod(Objects.hashCode(consumed.key()), laneCount);
+            laneEvents.get(lane).add(consumed);
+            laneIndexes.get(lane).add(index);
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(laneCount);
+        for (List<ConsumedEvent> lane : laneEvents) {
+            futures.add(lane.isEmpty()
+                ? CompletableFuture.completedFuture(0)
+                : CompletableFuture.supplyAsync(
+                    () -> RecordFailureIsolation.process(lane, 0, lane.size(), handler, expired), laneExecutor));
+        }
+
+        // 실패한 레인이 있어도 나머지 레인이 끝날 때까지 기다려야 커밋 위치(low-water mark)를 정할 수 있다
+        int processed = 0;
+        int lowWaterMark = Integer.MAX_VALUE;
+        Throwable lowWaterCause = null;
+        for (int lane = 0; lane < laneCount; lane++) {
+            try {
+                processed += futures.get(lane).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                int laneIndex;
+                if (cause instanceof BatchListenerFailedException failed) {
+                    laneIndex = failed.getIndex();
+                    cause = failed.getCause();
+                } else if (cause instanceof TimeBudgetExceededException deferred) {
+                    // 예산 초과 위치는 원인 없이 기록해 nack 으로 넘긴다
+                    laneIndex = deferred.getIndex();
+                    cause = null;
+                } else {
+                    throw cause instanceof RuntimeException runtime ? runtime : e;
+                }
+                int index = laneIndexes.get(lane).get(laneIndex);
+                if (index < lowWaterMark) {
+                    lowWaterMark = index;
+                    lowWaterCause = cause;
+                }
+            }
+        }
+
+        if (lowWaterMark == Integer.MAX_VALUE) {
+            return processed;
+        }
+        if (lowWaterCause == null) {
+            throw new TimeBudgetExceededException(lowWaterMark);
+        }
+        throw new BatchListenerFailedException("Record failed at index " + lowWaterMark, lowWaterCause, lowWaterMark);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        laneExecutor.close();
+    }
+}
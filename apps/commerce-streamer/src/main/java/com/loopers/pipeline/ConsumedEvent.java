@@ -0,0 +1,56 @@
+package com.loopers.pipeline;
+
+import com.loopers.event.schema.EventCodec;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.event.schema.PartitionKeys;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 번 디코딩한 카프카 레코드
+ * 디코딩에 실패한 레코드는 event 가 null 이며, 감사 로그처럼 원문이 필요한 단계를 위해 payload 를 함께 보관한다.
+ */
+public record ConsumedEvent(
+        String topic,
+        int partition,
+        long offset,
+        String key,
+        byte[] payload,
+        EventEnvelope event
+) {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumedEvent.class);
+
+    public static ConsumedEvent decode(ConsumerRecord<String, byte[]> record) {
+        EventEnvelope event = null;
+        try {
+            event = EventCodec.decode(record.value());
+        } catch (Exception e) {
+            log.warn("Failed to decode event - topic={}, partition={}, offset={}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+        }
+        return new ConsumedEvent(record.topic(), record.partition(), record.offset(), record.key(), record.value(), event);
+    }
+
+    public static List<ConsumedEvent> decodeAll(List<ConsumerRecord<String, byte[]>> records) {
+        List<ConsumedEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            events.add(decode(record));
+        }
+        return events;
+    }
+
+    /** 핫 키 분산으로 붙은 salt 를 뗀 원래 키 (productId / orderId) */
+    public String baseKey() {
+        return PartitionKeys.baseKey(key);
+    }
+
+    /** eventId / eventType 이 있는 정상 이벤트인지 */
+    public boolean isValid() {
+        return event != null && event.isValid();
+    }
+}
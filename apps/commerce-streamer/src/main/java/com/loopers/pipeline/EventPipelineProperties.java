@@ -0,0 +1,30 @@
+package com.loopers.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 이벤트 처리 방식 설정
+ *
+ * @param mode          SEPARATE: 단계마다 별도 컨슈머 그룹 / CONSOLIDATED: 하나의 그룹이 디코딩 후 단계들에 분배
+ * @param stageAttempts 통합 모드에서 실패한 단계를 배치 재시도 전에 제자리에서 다시 실행하는 횟수
+ * @param stageBackoff  단계 재실행 간격
+ */
+@ConfigurationProperties(prefix = "streamer.pipeline")
+public record EventPipelineProperties(
+        @DefaultValue("SEPARATE") Mode mode,
+        @DefaultValue("3") int stageAttempts,
+        @DefaultValue("200ms") Duration stageBackoff
+) {
+
+    /** 개별 컨슈머의 @KafkaListener autoStartup (통합 모드에서는 시작하지 않는다) */
+    public static final String SEPARATE_LISTENERS_AUTO_STARTUP =
+            "#{'${streamer.pipeline.mode:SEPARATE}'.equalsIgnoreCase('SEPARATE')}";
+
+    public enum Mode {
+        SEPARATE,
+        CONSOLIDATED
+    }
+}
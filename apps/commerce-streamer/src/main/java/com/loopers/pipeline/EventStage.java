@@ -0,0 +1,42 @@
+package com.loopers.pipeline;
+
+import java.util.List;
+
+/**
+ * 디코딩된 이벤트 배치를 처리하는 단계 (메트릭 집계, 랭킹, 캐시 무효화, 감사 로그)
+ *
+ * 개별 컨슈머 모드에서는 각 컨슈머가 자신의 컨슈머 그룹으로 받은 배치를 {@link #claimAndApply} 로 처리하고,
+ * 통합 파이프라인 모드에서는 {@link com.loopers.consumer.EventPipelineConsumer} 가 한 번 디코딩한 배치를
+ * 모든 단계의 {@link #claimAndApply} 에 병렬로 전달한다.
+ */
+public interface EventStage {
+
+    String name();
+
+    /** 이 단계가 처리하는 토픽인지 */
+    default boolean accepts(String topic) {
+        return true;
+    }
+
+    /**
+     * 파티션 오프셋 순서대로만 처리해야 하는 단계인지 (반영한 오프셋을 단조 증가로 기록하는 단계)
+     * 통합 파이프라인은 이런 단계가 하나라도 있으면 키 병렬 처리 없이 오프셋 순서대로 분배한다.
+     */
+    default boolean requiresOffsetOrder() {
+        return false;
+    }
+
+    /**
+     * 이 단계의 처리됨 표시와 반영을 하나의 트랜잭션으로 처리
+     * 표시가 단계별로 남으므로, 다른 단계가 실패해 같은 레코드가 다시 전달되어도 이미 반영한 단계는 건너뛴다.
+     *
+     * @param events 디코딩된 이벤트 (디코딩에 실패한 레코드가 포함될 수 있다)
+     * @return 이번에 반영한 이벤트 수
+     */
+    int claimAndApply(List<ConsumedEvent> events);
+
+    /**
+     * @param events 중복이 제거된 이벤트 (디코딩에 실패한 레코드가 포함될 수 있다)
+     */
+    void apply(List<ConsumedEvent> events);
+}
@@ -0,0 +1,78 @@
+package com.loopers.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 배치 리스너의 레코드 단위 실패 격리
+ *
+ * 먼저 배치 전체를 한 번에 처리하고, 실패하면 절반씩 나누어 다시 처리하면서 처음 실패한 레코드를 찾는다 (O(log n) 회).
+ * 실패한 레코드 앞부분은 각 구간이 처리(커밋)된 상태로 두고, 실패 위치를 {@link BatchListenerFailedException} 으로 알린다.
+ * 컨테이너의 DefaultErrorHandler 는 그 앞까지 오프셋을 커밋하고, 실패한 레코드부터 다시 가져와
+ * 해당 레코드만 재시도한 뒤 DLT 로 보내고 나머지를 이어서 처리한다.
+ *
+ * handler 는 호출마다 원자적으로(자체 트랜잭션 등) 처리해야 하며, 처리한 이벤트 수를 돌려준다.
+ * 실패한 구간을 나누어 다시 호출하므로, 한 호출에서 여러 단계를 실행하는 handler 는 단계마다 처리됨 표시를 남겨
+ * 이미 성공한 단계가 같은 레코드를 다시 반영하지 않게 해야 한다 ({@link EventStage#claimAndApply}).
+ * 격리하는 동안에도 시간 예산(expired)을 확인해, 넘기면 남은 구간을 처리하지 않고 그 위치를 알린다.
+ * events 는 리스너가 받은 레코드와 같은 순서/크기여야 한다 ({@link ConsumedEvent#decodeAll}).
+ */
+public final class RecordFailureIsolation {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordFailureIsolation.class);
+    private static final BooleanSupplier NO_DEADLINE = () -> false;
+
+    private RecordFailureIsolation() {
+    }
+
+    /**
+     * @return handler 가 처리한 이벤트 수의 합
+     * @throws BatchListenerFailedException 처음 실패한 레코드의 인덱스와 원인
+     */
+    public static int process(List<ConsumedEvent> events, ToIntFunction<List<ConsumedEvent>> handler) {
+        return process(events, 0, events.size(), handler, NO_DEADLINE);
+    }
+
+    /**
+     * 폴링 배치의 [from, to) 구간만 처리 (청크 단위 커밋). 실패한 구간은 절반씩 나누어 재귀적으로 다시 처리하며,
+     * 실패 인덱스는 전체 배치 기준으로 알린다.
+     *
+     * 첫 레코드(from = 0)는 항상 처리하므로, 예산이 지나도 폴링마다 최소 한 구간은 진행한다.
+     *
+     * @param expired 시간 예산을 넘겼는지
+     * @return handler 가 처리한 이벤트 수의 합
+     * @throws BatchListenerFailedException 처음 실패한 레코드의 (전체 배치 기준) 인덱스와 원인
+     * @throws TimeBudgetExceededException  예산을 넘겨 처리하지 않은 첫 레코드의 (전체 배치 기준) 인덱스
+     */
+    public static int process(List<ConsumedEvent> events, int from, int to,
+                              ToIntFunction<List<ConsumedEvent>> handler, BooleanSupplier expired) {
+        if (from >= to) {
+            return 0;
+        }
+        if (from > 0 && expired.getAsBoolean()) {
+            throw new TimeBudgetExceededException(from);
+        }
+        try {
+            return handler.applyAsInt(events.subList(from, to));
+        } catch (RuntimeException e) {
+            if (to - from == 1) {
+                throw failed(events, from, e);
+            }
+            log.warn("Range [{}, {}) failed - isolating the failing record: {}", from, to, e.getMessage());
+        }
+        int middle = (from + to) / 2;
+        return process(events, from, middle, handler, expired) + process(events, middle, to, handler, expired);
+    }
+
+    private static BatchListenerFailedException failed(List<ConsumedEvent> events, int index, RuntimeException cause) {
+        ConsumedEvent failed = events.get(index);
+        log.error("Record failed - topic={}, partition={}, offset={}, index={}",
+            failed.topic(), failed.partition(), failed.offset(), index, cause);
+        return new BatchListenerFailedException("Record failed at index " + index, cause, index);
+    }
+}
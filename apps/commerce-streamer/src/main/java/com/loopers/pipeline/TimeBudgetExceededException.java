@@ -0,0 +1,20 @@
+package com.loopers.pipeline;
+
+/**
+ * 폴링 배치의 시간 예산을 넘겨 남은 레코드를 다음 폴링으로 넘겨야 함을 알린다
+ * index 앞까지는 커밋된 상태이므로, {@link ChunkedBatchProcessor} 는 이 위치에서 nack 한다.
+ */
+public class TimeBudgetExceededException extends RuntimeException {
+
+    private final int index;
+
+    public TimeBudgetExceededException(int index) {
+        // 제어 흐름용 예외이므로 스택 트레이스를 만들지 않는다
+        super("Time budget exceeded at index " + index, null, false, false);
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,21 @@
+package com.loopers.repository;
+
+import com.loopers.domain.event.EventHandled;
+
+import java.util.Collection;
+
+/**
+ * event_handled 다건 처리 (Spring Data 커스텀 프래그먼트)
+ */
+public interface EventHandledBulkRepository {
+
+    /**
+     * 한 번의 다중 행 INSERT IGNORE 로 처리됨 표시 (이미 있는 (event_id, consumer_type) 는 무시)
+     *
+     * @return 실제로 추가된 행 수
+     */
+    int insertIgnore(EventHandled.ConsumerType consumerType, Collection<HandledEvent> events);
+
+    record HandledEvent(String eventId, Long version) {
+    }
+}
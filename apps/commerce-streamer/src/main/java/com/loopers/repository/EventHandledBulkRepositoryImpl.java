@@ -0,0 +1,42 @@
+package com.loopers.repository;
+
+import com.loopers.domain.event.EventHandled;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class EventHandledBulkRepositoryImpl implements EventHandledBulkRepository {
+
+    private static final String INSERT_IGNORE_PREFIX =
+        "INSERT IGNORE INTO event_handled (event_id, consumer_type, handled_at, version, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, NOW(), ?, NOW(), NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventHandledBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnore(EventHandled.ConsumerType consumerType, Collection<HandledEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_IGNORE_PREFIX.length() + events.size() * (ROW_PLACEHOLDER.length() + 2))
+            .append(INSERT_IGNORE_PREFIX);
+        List<Object> args = new ArrayList<>(events.size() * 3);
+        for (HandledEvent event : events) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args.add(event.eventId());
+            args.add(consumerType.name());
+            args.add(event.version());
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
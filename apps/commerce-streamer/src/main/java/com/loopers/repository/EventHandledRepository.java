@@ -2,9 +2,20 @@ package com.loopers.repository;
 
 import com.loopers.domain.event.EventHandled;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EventHandledRepository extends JpaRepository<EventHandled, Long> {
+import java.util.Collection;
+import java.util.List;
+
+public interface EventHandledRepository extends JpaRepository<EventHandled, Long>, EventHandledBulkRepository {
     boolean existsByEventIdAndConsumerType(String eventId, EventHandled.ConsumerType consumerType);
     
     EventHandled findByEventIdAndConsumerType(String eventId, EventHandled.ConsumerType consumerType);
-}
\ No newline at end of file
+
+    @Query("SELECT e.eventId FROM EventHandled e WHERE e.consumerType = :consumerType AND e.eventId IN :eventIds")
+    List<String> findHandledEventIds(
+        @Param("eventIds") Collection<String> eventIds,
+        @Param("consumerType") EventHandled.ConsumerType consumerType
+    );
+}
@@ -0,0 +1,18 @@
+package com.loopers.repository;
+
+import com.loopers.domain.event.EventLog;
+
+import java.util.Collection;
+
+/**
+ * event_log 다건 처리 (Spring Data 커스텀 프래그먼트)
+ */
+public interface EventLogBulkRepository {
+
+    /**
+     * 한 번의 다중 행 INSERT IGNORE 로 감사 로그 기록 (이미 있는 event_id 는 무시)
+     *
+     * @return 실제로 추가된 행 수
+     */
+    int insertIgnore(Collection<EventLog> eventLogs);
+}
@@ -0,0 +1,49 @@
+package com.loopers.repository;
+
+import com.loopers.domain.event.EventLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class EventLogBulkRepositoryImpl implements EventLogBulkRepository {
+
+    private static final String INSERT_IGNORE_PREFIX = """
+        INSERT IGNORE INTO event_log (event_id, event_type, topic, partition_key, aggregate_id, event_data, processed_at, version, created_at, updated_at)
+        VALUES\s""";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventLogBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnore(Collection<EventLog> eventLogs) {
+        if (eventLogs.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_IGNORE_PREFIX.length() + eventLogs.size() * (ROW_PLACEHOLDER.length() + 2))
+            .append(INSERT_IGNORE_PREFIX);
+        List<Object> args = new ArrayList<>(eventLogs.size() * 8);
+        for (EventLog eventLog : eventLogs) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args.add(eventLog.getEventId());
+            args.add(eventLog.getEventType());
+            args.add(eventLog.getTopic());
+            args.add(eventLog.getPartitionKey());
+            args.add(eventLog.getAggregateId());
+            args.add(eventLog.getEventData());
+            args.add(Timestamp.from(eventLog.getProcessedAt().toInstant()));
+            args.add(eventLog.getVersion());
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
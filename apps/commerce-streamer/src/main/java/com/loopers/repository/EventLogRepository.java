@@ -5,7 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.time.ZonedDateTime;
 import java.util.List;
 
-public interface EventLogRepository extends JpaRepository<EventLog, Long> {
+public interface EventLogRepository extends JpaRepository<EventLog, Long>, EventLogBulkRepository {
     boolean existsByEventId(String eventId);
     
     EventLog findByEventIdAndEventType(String eventId, String eventType);
@@ -0,0 +1,18 @@
+package com.loopers.repository;
+
+import com.loopers.domain.metrics.ProductMetricsDelta;
+
+import java.util.Collection;
+
+/**
+ * product_metrics 다건 처리 (Spring Data 커스텀 프래그먼트)
+ */
+public interface ProductMetricsBulkRepository {
+
+    /**
+     * 변화량들을 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 로 한 번에 반영
+     *
+     * @return 실행한 SQL 문 수
+     */
+    int upsertAll(Collection<ProductMetricsDelta> deltas);
+}
@@ -0,0 +1,80 @@
+package com.loopers.repository;
+
+import com.loopers.domain.metrics.ProductMetricsDelta;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class ProductMetricsBulkRepositoryImpl implements ProductMetricsBulkRepository {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    // 여러 트랜잭션이 동시에 같은 행을 upsert 해도 데드락이 나지 않도록 항상 같은 순서로 행 락을 잡는다
+    private static final Comparator<ProductMetricsDelta> LOCK_ORDER = Comparator
+        .comparing(ProductMetricsDelta::productId)
+        .thenComparing(ProductMetricsDelta::metricDate);
+
+    private static final String INSERT_PREFIX = """
+        INSERT INTO product_metrics (product_id, metric_date, likes_count, likes_change, sales_count, sales_change, views_count, views_change, created_at, updated_at)
+        VALUES\s""";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+    // 좋아요 수는 0 에서 멈추지 않고 증감을 그대로 더한다. 반영 순서와 무관해야 핫 상품의 좋아요 이벤트를
+    // 여러 파티션에 나누어 처리해도 결과가 같다 (0 미만은 읽는 쪽에서 0 으로 본다)
+    private static final String ON_DUPLICATE_KEY_UPDATE = """
+         ON DUPLICATE KEY UPDATE
+        likes_count = likes_count + VALUES(likes_change),
+        likes_change = likes_change + VALUES(likes_change),
+        sales_count = sales_count + VALUES(sales_change),
+        sales_change = sales_change + VALUES(sales_change),
+        views_count = views_count + VALUES(views_change),
+        views_change = views_change + VALUES(views_change),
+        updated_at = NOW()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductMetricsBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertAll(Collection<ProductMetricsDelta> deltas) {
+        int statements = 0;
+        List<ProductMetricsDelta> chunk = new ArrayList<>(Math.min(deltas.size(), MAX_ROWS_PER_STATEMENT));
+        for (ProductMetricsDelta delta : deltas.stream().sorted(LOCK_ORDER).toList()) {
+            chunk.add(delta);
+            if (chunk.size() == MAX_ROWS_PER_STATEMENT) {
+                upsertChunk(chunk);
+                statements++;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            upsertChunk(chunk);
+            statements++;
+        }
+        return statements;
+    }
+
+    private void upsertChunk(List<ProductMetricsDelta> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(chunk.size() * 8);
+        for (int i = 0; i < chunk.size(); i++) {
+            ProductMetricsDelta delta = chunk.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDER);
+            args.add(delta.productId());
+            args.add(Date.valueOf(delta.metricDate()));
+            args.add(delta.likesChange());
+            args.add(delta.likesChange());
+            args.add(Math.max(0L, delta.salesChange()));
+            args.add(delta.salesChange());
+            args.add(Math.max(0L, delta.viewsChange()));
+            args.add(delta.viewsChange());
+        }
+        sql.append(ON_DUPLICATE_KEY_UPDATE);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
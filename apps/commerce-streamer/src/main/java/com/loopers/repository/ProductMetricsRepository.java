@@ -8,7 +8,7 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface ProductMetricsRepository extends JpaRepository<ProductMetrics, Long> {
+public interface ProductMetricsRepository extends JpaRepository<ProductMetrics, Long>, ProductMetricsBulkRepository {
     ProductMetrics findByProductIdAndMetricDate(Long productId, LocalDate metricDate);
     
     @Modifying
@@ -0,0 +1,28 @@
+package com.loopers.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 컨슈머 랙 기반 리스너 동시성 조정 설정
+ *
+ * @param enabled       true 이면 컨슈머 그룹별 랙과 처리량을 주기적으로 보고 리스너 컨테이너 동시성을 조정한다
+ * @param min           인스턴스당 최소 리스너 스레드 수
+ * @param max           인스턴스당 최대 리스너 스레드 수 (파티션 수를 넘는 스레드는 놀기 때문에 파티션 수로도 제한된다.
+ *                      리스너 그룹 수 × max × key-parallelism 이 DB 커넥션 풀을 넘지 않도록 잡는다)
+ * @param targetCatchUp 현재 랙을 이 시간 안에 따라잡을 수 있도록 필요한 처리량을 잡는다
+ * @param checkInterval 랙 확인 주기
+ * @param cooldown      동시성을 바꾼 뒤(리밸런스 발생) 다시 바꾸기까지 기다리는 시간
+ */
+@ConfigurationProperties(prefix = "streamer.concurrency")
+public record ConsumerConcurrencyProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1") int min,
+        @DefaultValue("4") int max,
+        @DefaultValue("5m") Duration targetCatchUp,
+        @DefaultValue("30s") Duration checkInterval,
+        @DefaultValue("2m") Duration cooldown
+) {
+}
@@ -0,0 +1,253 @@
+package com.loopers.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨슈머 랙 기반 리스너 동시성 조정
+ *
+ * checkInterval 마다 실행 중인 리스너 컨테이너의 컨슈머 그룹별 랙, 유입량(로그 끝 오프셋 증가), 처리량(커밋 오프셋 증가)을 보고
+ * targetCatchUp 안에 랙을 따라잡는 데 필요한 스레드 수로 컨테이너 동시성을 [min, max] 안에서 바꾼다.
+ * 늘릴 때는 필요한 만큼 한 번에, 줄일 때는 한 단계씩 줄이고, 바꾼 뒤에는 cooldown 동안 다시 바꾸지 않는다
+ * (컨테이너를 재시작하므로 리밸런스가 일어난다).
+ *
+ * 인스턴스 하나로 부족하면 외부 오토스케일러가 읽을 수 있도록 필요한 인스턴스 수를
+ * {@code streamer.consumer.desired.instances} 게이지로 내보낸다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "streamer.concurrency", name = "enabled", havingValue = "true")
+public class ConsumerConcurrencyScaler {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerConcurrencyScaler.class);
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ConsumerConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdminClient adminClient;
+    private final Map<String, GroupState> groups = new ConcurrentHashMap<>();
+
+    public ConsumerConcurrencyScaler(KafkaListenerEndpointRegistry listenerRegistry,
+                                     KafkaAdmin kafkaAdmin,
+                                     ConsumerConcurrencyProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        log.info("Consumer concurrency scaling enabled - min: {}, max: {}, targetCatchUp: {}",
+            properties.min(), properties.max(), properties.targetCatchUp());
+    }
+
+    @Scheduled(
+        fixedDelayString = "${streamer.concurrency.check-interval:30s}",
+        initialDelayString = "${streamer.concurrency.check-interval:30s}"
+    )
+    public void adjustAll() {
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent && container.isRunning()) {
+                try {
+                    adjust(concurrent);
+                } catch (Exception e) {
+                    log.warn("Failed to check consumer lag - group: {}", container.getGroupId(), e);
+                }
+            }
+        }
+    }
+
+    private void adjust(ConcurrentMessageListenerContainer<?, ?> container) throws Exception {
+        String groupId = container.getGroupId();
+        GroupState state = groups.computeIfAbsent(groupId, id -> new GroupState(id, container));
+        if (state.resizing.get()) {
+            return;
+        }
+
+        LagSample sample = sample(groupId);
+        LagSample previous = state.previous;
+        state.previous = sample;
+        if (sample == null) {
+            return; // 아직 커밋된 오프셋이 없는 그룹
+        }
+        state.lag.set(sample.lag());
+        if (previous == null) {
+            return; // 유입량/처리량은 두 번째 확인부터 계산할 수 있다
+        }
+
+        double seconds = Math.max((sample.sampledAtNanos() - previous.sampledAtNanos()) / 1e9, 1e-3);
+        double produceRate = Math.max(0, sample.endOffsets() - previous.endOffsets()) / seconds;
+        double consumeRate = Math.max(0, sample.committedOffsets() - previous.committedOffsets()) / seconds;
+        int current = container.getConcurrency();
+
+        Decision decision = decide(sample.lag(), produceRate, consumeRate, current, sample.members(),
+            sample.partitions(), properties);
+        state.desiredInstances.set(decision.desiredInstances());
+        log.debug("Consumer lag - group: {}, lag: {}, produceRate: {}/s, consumeRate: {}/s, concurrency: {} -> {}, desiredInstances: {}",
+            groupId, sample.lag(), Math.round(produceRate), Math.round(consumeRate), current,
+            decision.concurrency(), decision.desiredInstances());
+
+        if (decision.concurrency() != current && System.nanoTime() - state.changedAtNanos >= properties.cooldown().toNanos()) {
+            state.changedAtNanos = System.nanoTime();
+            state.previous = null; // 재시작 직후의 처리량은 리밸런스 때문에 왜곡된다
+            resize(state, container, decision.concurrency());
+        }
+    }
+
+    /**
+     * 컨테이너는 진행 중인 폴링 처리를 마친 뒤에 멈추므로, 스케줄러 스레드를 막지 않도록 별도 스레드에서 재시작한다
+     */
+    private void resize(GroupState state, ConcurrentMessageListenerContainer<?, ?> container, int concurrency) {
+        if (!state.resizing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("consumer-resize-" + state.groupId).start(() -> {
+            try {
+                log.info("Resizing listener container - group: {}, concurrency: {} -> {}",
+                    state.groupId, container.getConcurrency(), concurrency);
+                container.stop();
+                container.setConcurrency(concurrency);
+                container.start();
+            } catch (Exception e) {
+                log.error("Failed to resize listener container - group: {}", state.groupId, e);
+            } finally {
+                state.resizing.set(false);
+            }
+        });
+    }
+
+    private LagSample sample(String groupId) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(groupId)
+            .partitionsToOffsetAndMetadata()
+            .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.forEach((partition, offset) -> {
+            if (offset != null) {
+                latest.put(partition, OffsetSpec.latest());
+            }
+        });
+        if (latest.isEmpty()) {
+            return null;
+        }
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = adminClient.listOffsets(latest)
+            .all()
+            .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        int members = adminClient.describeConsumerGroups(List.of(groupId))
+            .describedGroups()
+            .get(groupId)
+            .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .members()
+            .size();
+
+        long committedOffsets = 0;
+        long endOffsetSum = 0;
+        long lag = 0;
+        for (TopicPartition partition : latest.keySet()) {
+            long position = committed.get(partition).offset();
+            long end = endOffsets.get(partition).offset();
+            committedOffsets += position;
+            endOffsetSum += end;
+            lag += Math.max(0, end - position);
+        }
+        return new LagSample(latest.size(), members, lag, committedOffsets, endOffsetSum, System.nanoTime());
+    }
+
+    /**
+     * 필요한 리스너 스레드 수 계산
+     *
+     * @param lag         그룹 전체 랙
+     * @param produceRate 초당 유입 레코드 수
+     * @param consumeRate 초당 처리(커밋) 레코드 수
+     * @param current     이 인스턴스의 현재 동시성
+     * @param members     그룹 전체 컨슈머 수 (모든 인스턴스의 리스너 스레드 합)
+     * @param partitions  그룹이 구독하는 파티션 수
+     */
+    static Decision decide(long lag, double produceRate, double consumeRate, int current, int members,
+                           int partitions, ConsumerConcurrencyProperties properties) {
+        int ceiling = Math.max(properties.min(), Math.min(properties.max(), partitions));
+        int threads = Math.max(members, current);
+
+        int needed;
+        if (lag == 0 && produceRate == 0) {
+            needed = properties.min(); // 유휴
+        } else if (consumeRate <= 0) {
+            needed = threads; // 처리 실적이 없으면 (멈춤 등) 스레드를 늘려도 판단할 근거가 없다
+        } else {
+            double perThread = consumeRate / threads;
+            double required = produceRate + lag / (double) Math.max(1, properties.targetCatchUp().toSeconds());
+            needed = (int) Math.ceil(required / perThread);
+        }
+
+        // 그룹 전체 필요 스레드 중 이 인스턴스 몫 (인스턴스가 하나면 needed 그대로)
+        int share = (int) Math.ceil((double) needed * current / threads);
+        int concurrency = Math.clamp(share, properties.min(), ceiling);
+        if (concurrency < current) {
+            concurrency = current - 1; // 줄일 때는 한 단계씩
+        }
+        int desiredInstances = Math.max(1, Math.ceilDiv(Math.min(needed, partitions), ceiling));
+        return new Decision(concurrency, desiredInstances);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        adminClient.close();
+    }
+
+    record Decision(int concurrency, int desiredInstances) {
+    }
+
+    private record LagSample(int partitions, int members, long lag, long committedOffsets, long endOffsets,
+                             long sampledAtNanos) {
+    }
+
+    private final class GroupState {
+
+        private final String groupId;
+        private final AtomicLong lag = new AtomicLong();
+        private final AtomicInteger desiredInstances = new AtomicInteger(1);
+        private final AtomicBoolean resizing = new AtomicBoolean();
+        private volatile LagSample previous;
+        private volatile long changedAtNanos;
+
+        private GroupState(String groupId, ConcurrentMessageListenerContainer<?, ?> container) {
+            this.groupId = groupId;
+            this.changedAtNanos = System.nanoTime() - properties.cooldown().toNanos();
+            Gauge.builder("streamer.consumer.lag", lag, AtomicLong::get)
+                .description("컨슈머 그룹 전체 랙 (레코드 수)")
+                .tag("group", groupId)
+                .register(meterRegistry);
+            Gauge.builder("streamer.consumer.desired.instances", desiredInstances, AtomicInteger::get)
+                .description("targetCatchUp 안에 랙을 따라잡는 데 필요한 인스턴스 수")
+                .tag("group", groupId)
+                .register(meterRegistry);
+            Gauge.builder("streamer.consumer.concurrency", container, listener -> listener.getConcurrency())
+                .description("이 인스턴스의 리스너 스레드 수")
+                .tag("group", groupId)
+                .register(meterRegistry);
+        }
+    }
+}
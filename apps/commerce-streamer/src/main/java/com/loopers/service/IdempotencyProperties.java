@@ -0,0 +1,15 @@
+package com.loopers.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 멱등성 처리 설정
+ *
+ * @param recentCacheSize 컨슈머 타입별로 기억하는 최근 처리 eventId 수 (0 이면 DB 만 사용)
+ */
+@ConfigurationProperties(prefix = "streamer.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") int recentCacheSize
+) {
+}
@@ -1,12 +1,21 @@
 package com.loopers.service;
 
 import com.loopers.domain.event.EventHandled;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.EventHandledBulkRepository;
 import com.loopers.repository.EventHandledRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 멱등성 이벤트 처리를 담당하는 서비스
@@ -17,9 +26,12 @@ public class IdempotentEventService {
     private static final Logger log = LoggerFactory.getLogger(IdempotentEventService.class);
     
     private final EventHandledRepository eventHandledRepository;
+    private final RecentEventIds recentEventIds;
 
-    public IdempotentEventService(EventHandledRepository eventHandledRepository) {
+    public IdempotentEventService(EventHandledRepository eventHandledRepository,
+                                  IdempotencyProperties properties) {
         this.eventHandledRepository = eventHandledRepository;
+        this.recentEventIds = new RecentEventIds(properties.recentCacheSize());
     }
 
     /**
@@ -78,4 +90,80 @@ public class IdempotentEventService {
             throw e;
         }
     }
+
+    /**
+     * 배치에서 처음 처리되는 정상 이벤트만 골라 처리됨으로 표시
+     * 최근 처리 캐시 → IN 조회 1회 → 다중 행 INSERT IGNORE 1회 순으로, 배치 크기와 무관하게 DB 왕복은 최대 2회다.
+     * 호출한 트랜잭션 안에서 표시되므로, 이후 처리가 실패하면 표시도 함께 롤백된다.
+     *
+     * @throws IllegalStateException 다른 트랜잭션이 같은 이벤트를 먼저 표시해 일부 행이 추가되지 않은 경우.
+     *                               어느 행이 빠졌는지 알 수 없으므로 호출한 트랜잭션을 롤백시키고,
+     *                               재시도 시 조회 단계에서 이미 처리된 이벤트가 제외된다.
+     */
+    @Transactional
+    public List<ConsumedEvent> claimUnprocessed(List<ConsumedEvent> events, EventHandled.ConsumerType consumerType) {
+        Map<String, ConsumedEvent> unprocessed = selectUnprocessed(events, consumerType);
+        if (unprocessed.isEmpty()) {
+            return List.of();
+        }
+
+        int inserted = eventHandledRepository.insertIgnore(consumerType, toHandledEvents(unprocessed.values()));
+        if (inserted != unprocessed.size()) {
+            // 파티션은 한 컨슈머에만 할당되므로, 같은 eventId 가 다른 파티션으로 동시에 들어온 경우에만 발생
+            throw new IllegalStateException("Concurrent handling detected for consumer " + consumerType
+                + " - expected " + unprocessed.size() + ", inserted " + inserted);
+        }
+        rememberAfterCommit(consumerType, unprocessed.keySet());
+        return new ArrayList<>(unprocessed.values());
+    }
+
+    /**
+     * 아직 처리되지 않은 정상 이벤트 조회 (표시는 하지 않는다. 배치 안의 중복 eventId 는 최초 한 건만 남긴다)
+     */
+    @Transactional(readOnly = true)
+    public List<ConsumedEvent> findUnprocessed(List<ConsumedEvent> events, EventHandled.ConsumerType consumerType) {
+        return new ArrayList<>(selectUnprocessed(events, consumerType).values());
+    }
+
+    private Map<String, ConsumedEvent> selectUnprocessed(List<ConsumedEvent> events, EventHandled.ConsumerType consumerType) {
+        Map<String, ConsumedEvent> candidates = new LinkedHashMap<>();
+        for (ConsumedEvent consumed : events) {
+            if (!consumed.isValid()) {
+                continue;
+            }
+            String eventId = consumed.event().getEventId();
+            if (!recentEventIds.contains(consumerType, eventId)) {
+                candidates.putIfAbsent(eventId, consumed);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            candidates.keySet().removeAll(eventHandledRepository.findHandledEventIds(candidates.keySet(), consumerType));
+        }
+        return candidates;
+    }
+
+    private List<EventHandledBulkRepository.HandledEvent> toHandledEvents(Collection<ConsumedEvent> events) {
+        List<EventHandledBulkRepository.HandledEvent> handled = new ArrayList<>(events.size());
+        for (ConsumedEvent consumed : events) {
+            handled.add(new EventHandledBulkRepository.HandledEvent(consumed.event().getEventId(), consumed.event().getVersion()));
+        }
+        return handled;
+    }
+
+    /**
+     * 롤백된 표시가 캐시에 남으면 재처리가 누락되므로, 커밋이 끝난 뒤에만 기록한다
+     */
+    private void rememberAfterCommit(EventHandled.ConsumerType consumerType, Collection<String> eventIds) {
+        List<String> ids = List.copyOf(eventIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentEventIds.addAll(consumerType, ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentEventIds.addAll(consumerType, ids);
+            }
+        });
+    }
 }
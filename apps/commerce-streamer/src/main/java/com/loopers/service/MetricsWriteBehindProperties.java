@@ -0,0 +1,21 @@
+package com.loopers.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * product_metrics 지연 쓰기(write-behind) 설정
+ *
+ * @param enabled          true 이면 메트릭 컨슈머가 윈도우 단위로 모아서 쓴다 (개별 컨슈머 모드에서만 적용)
+ * @param window           윈도우 길이. 윈도우마다 합산된 변화량을 한 번에 반영하고 그 뒤에 오프셋을 커밋한다
+ * @param maxPendingEvents 윈도우가 끝나기 전이라도 즉시 반영하는 보류 이벤트 수
+ */
+@ConfigurationProperties(prefix = "streamer.metrics.write-behind")
+public record MetricsWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration window,
+        @DefaultValue("50000") int maxPendingEvents
+) {
+}
@@ -0,0 +1,102 @@
+package com.loopers.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 키 레지스트리 기반 상품 캐시 무효화
+ *
+ * commerce-api 의 ProductCacheService 가 캐시를 쓸 때 함께 등록하는 레지스트리(SET)를 읽어 삭제할 키를 찾는다.
+ * - {@code product:registry:{productId}}: 해당 상품을 담고 있는 캐시 키 (상세, 상품이 포함된 목록 페이지)
+ * - {@code product:registry:list}: 현재 살아 있는 상품 목록 캐시 키
+ *
+ * KEYS 패턴 조회 없이 레지스트리 조회 파이프라인 1회 + UNLINK 파이프라인 1회로 끝난다.
+ */
+@Service
+public class ProductCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidator.class);
+
+    // commerce-api ProductCacheService 와 같은 키 규칙
+    private static final String PRODUCT_DETAIL_PREFIX = "product:detail:";
+    private static final String PRODUCT_REGISTRY_PREFIX = "product:registry:";
+    private static final String PRODUCT_LIST_REGISTRY_KEY = "product:registry:list";
+    private static final String POPULAR_PRODUCTS_KEY = "product:popular";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public ProductCacheInvalidator(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 상품별 캐시와 (필요하면) 상품 목록 캐시를 한 번에 무효화
+     *
+     * @param productIds   캐시를 비울 상품 (폴링 단위로 중복 제거된 집합)
+     * @param productLists 상품 목록/인기 상품 캐시도 비울지 여부
+     * @return UNLINK 한 키 수
+     */
+    public int invalidate(Set<Long> productIds, boolean productLists) {
+        if (productIds.isEmpty() && !productLists) {
+            return 0;
+        }
+
+        List<String> registries = new ArrayList<>(productIds.size() + 1);
+        productIds.forEach(productId -> registries.add(PRODUCT_REGISTRY_PREFIX + productId));
+        if (productLists) {
+            registries.add(PRODUCT_LIST_REGISTRY_KEY);
+        }
+
+        List<Object> members = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                registries.forEach(registry -> ops.opsForSet().members(registry));
+                return null;
+            }
+        });
+
+        Set<String> keys = new LinkedHashSet<>();
+        Map<String, Object[]> registered = new LinkedHashMap<>();
+        for (int i = 0; i < registries.size(); i++) {
+            if (members.get(i) instanceof Collection<?> registryMembers && !registryMembers.isEmpty()) {
+                registryMembers.forEach(member -> keys.add(String.valueOf(member)));
+                registered.put(registries.get(i), registryMembers.toArray());
+            }
+        }
+        // 레지스트리 도입 전에 캐시된 항목도 지워지도록 고정 키는 항상 포함
+        productIds.forEach(productId -> keys.add(PRODUCT_DETAIL_PREFIX + productId));
+        if (productLists) {
+            keys.add(POPULAR_PRODUCTS_KEY);
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.unlink(keys);
+                // 레지스트리 자체를 지우면 그 사이 새로 등록된 키가 빠지므로, 읽은 멤버만 제거
+                registered.forEach((registry, registryMembers) -> ops.opsForSet().remove(registry, registryMembers));
+                return null;
+            }
+        });
+
+        log.info("Invalidated {} cache keys - products: {}, productLists: {}", keys.size(), productIds.size(), productLists);
+        return keys.size();
+    }
+}
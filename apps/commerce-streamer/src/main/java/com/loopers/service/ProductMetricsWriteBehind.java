@@ -0,0 +1,255 @@
+package com.loopers.service;
+
+import com.loopers.domain.event.EventHandled;
+import com.loopers.domain.metrics.ProductMetricsAccumulator;
+import com.loopers.domain.metrics.ProductMetricsDelta;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.ProductMetricsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.event.ConsumerStoppingEvent;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * product_metrics 지연 쓰기(write-behind) 윈도우
+ *
+ * 컨슈머가 넘긴 이벤트를 (상품, 일자) 단위로 합산해 두었다가 윈도우(기본 5초)마다 한 번의 다중 행 upsert 로 반영한다.
+ * 조회 폭주 시 같은 상품에 대한 쓰기가 폴링마다가 아니라 윈도우마다 한 번으로 줄어든다.
+ *
+ * 오프셋은 해당 윈도우가 반영된 뒤에만 커밋(acknowledge)하므로, 반영 전에 프로세스가 죽으면 미커밋 레코드가 다시 전달된다.
+ * 처리됨 표시는 반영과 같은 트랜잭션에서 하므로, 반영 후 커밋 전에 죽거나 리밸런싱으로 다른 인스턴스가 같은 레코드를
+ * 먼저 반영한 경우에도 중복 집계되지 않는다.
+ * 리스너 컨테이너가 멈출 때(동시성 조정, 종료)는 컨슈머가 닫히기 전에 윈도우를 반영해 보류 중인 확인응답이 커밋되게 한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "streamer.metrics.write-behind", name = "enabled", havingValue = "true")
+public class ProductMetricsWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductMetricsWriteBehind.class);
+
+    private final ProductMetricsRepository productMetricsRepository;
+    private final IdempotentEventService idempotentEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsWriteBehindProperties properties;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicInteger pendingKeys = new AtomicInteger();
+    private Window current = new Window();
+
+    private final DistributionSummary flushRows;
+    private final DistributionSummary flushEvents;
+    private final Timer windowLag;
+    private final Counter flushFailed;
+
+    public ProductMetricsWriteBehind(ProductMetricsRepository productMetricsRepository,
+                                     IdempotentEventService idempotentEventService,
+                                     PlatformTransactionManager transactionManager,
+                                     MetricsWriteBehindProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.productMetricsRepository = productMetricsRepository;
+        this.idempotentEventService = idempotentEventService;
+        // 상한 초과로 리스너 트랜잭션 안에서 반영될 때도, 확인응답 전에 반영이 커밋되도록 별도 트랜잭션으로 실행
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.flushRows = DistributionSummary.builder("streamer.metrics.write-behind.flush.rows")
+            .description("윈도우 반영 시 upsert 한 행 수")
+            .register(meterRegistry);
+        this.flushEvents = DistributionSummary.builder("streamer.metrics.write-behind.flush.events")
+            .description("윈도우 반영 시 합산된 이벤트 수")
+            .register(meterRegistry);
+        this.windowLag = Timer.builder("streamer.metrics.write-behind.window.lag")
+            .description("윈도우의 첫 이벤트 수신부터 반영 완료까지 걸린 시간")
+            .register(meterRegistry);
+        this.flushFailed = Counter.builder("streamer.metrics.write-behind.flush.failed")
+            .register(meterRegistry);
+        Gauge.builder("streamer.metrics.write-behind.pending.keys", pendingKeys, AtomicInteger::get)
+            .description("반영 대기 중인 (상품, 일자) 수")
+            .register(meterRegistry);
+        log.info("Product metrics write-behind enabled - window: {}, maxPendingEvents: {}",
+            properties.window(), properties.maxPendingEvents());
+    }
+
+    /**
+     * 한 폴링의 미처리 이벤트와 확인응답을 현재 윈도우에 추가
+     * 보류 이벤트가 상한을 넘으면 추가하기 전에 호출한 스레드에서 바로 반영한다 (실패 시 예외를 던져 배치를 재시도하게 한다).
+     */
+    public void add(List<ConsumedEvent> events, Acknowledgment acknowledgment) {
+        if (pendingEvents() >= properties.maxPendingEvents()) {
+            flush();
+        }
+
+        // 집계 일자는 받은 시점에 정한다 (자정을 넘겨 반영하거나 다시 합산해도 같은 일자로 들어간다)
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            Window window = current;
+            for (ConsumedEvent consumed : events) {
+                if (consumed.isValid()
+                    && window.events.putIfAbsent(consumed.event().getEventId(), new Buffered(consumed, today)) == null) {
+                    window.accumulator.add(consumed.event(), today);
+                }
+            }
+            window.acknowledgments.add(acknowledgment);
+            if (window.openedAtNanos == 0L) {
+                window.openedAtNanos = System.nanoTime();
+            }
+            pendingKeys.set(window.accumulator.size());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${streamer.metrics.write-behind.window:5s}")
+    public void flushWindow() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Product metrics window flush failed - will retry with the next window", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushWindow();
+    }
+
+    /**
+     * 컨슈머가 닫히기 전(컨슈머 스레드에서 발행)에 윈도우를 반영해, 보류 중인 확인응답이 닫히기 전에 커밋되게 한다
+     * 반영에 실패하면 보류 중인 확인응답을 버린다. 멈춘 컨슈머의 확인응답은 커밋되지 않고 레코드는 다시 전달되며,
+     * 윈도우에 남은 변화량은 다음 윈도우에서 처리됨 표시와 함께 반영되므로 중복 집계되지 않는다.
+     */
+    @EventListener
+    public void onConsumerStopping(ConsumerStoppingEvent event) {
+        try {
+            flush();
+        } catch (Exception e) {
+            int dropped;
+            synchronized (this) {
+                dropped = current.acknowledgments.size();
+                current.acknowledgments.clear();
+            }
+            log.warn("Product metrics window flush failed while a consumer was stopping - dropped {} held acknowledgments",
+                dropped, e);
+        }
+    }
+
+    /**
+     * 현재 윈도우를 반영하고, 성공하면 윈도우에 담긴 확인응답을 순서대로 처리
+     * 실패하면 윈도우를 다음 윈도우와 합쳐 두고 예외를 던진다.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Window window;
+            synchronized (this) {
+                if (current.acknowledgments.isEmpty() && current.events.isEmpty()) {
+                    return;
+                }
+                window = current;
+                current = new Window();
+                pendingKeys.set(0);
+            }
+
+            int rows;
+            try {
+                rows = write(window);
+            } catch (RuntimeException e) {
+                flushFailed.increment();
+                synchronized (this) {
+                    window.absorb(current);
+                    current = window;
+                    pendingKeys.set(window.accumulator.size());
+                }
+                throw e;
+            }
+
+            window.acknowledgments.forEach(Acknowledgment::acknowledge);
+            flushRows.record(rows);
+            flushEvents.record(window.events.size());
+            windowLag.record(System.nanoTime() - window.openedAtNanos, TimeUnit.NANOSECONDS);
+            log.debug("Flushed product metrics window - events: {}, rows: {}, polls: {}",
+                window.events.size(), rows, window.acknowledgments.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int write(Window window) {
+        if (window.events.isEmpty()) {
+            return 0;
+        }
+        List<ConsumedEvent> events = window.events.values().stream()
+            .map(Buffered::consumed)
+            .toList();
+        Integer rows = transactionTemplate.execute(status -> {
+            List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(
+                events, EventHandled.ConsumerType.METRICS_AGGREGATION);
+            List<ProductMetricsDelta> deltas = claimed.size() == events.size()
+                ? window.accumulator.snapshot()
+                : refold(claimed, window);
+            if (!deltas.isEmpty()) {
+                productMetricsRepository.upsertAll(deltas);
+            }
+            return deltas.size();
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * 다른 인스턴스가 일부 이벤트를 먼저 반영한 경우(리밸런싱), 이번에 처리됨으로 표시한 이벤트만 다시 합산
+     */
+    private List<ProductMetricsDelta> refold(List<ConsumedEvent> claimed, Window window) {
+        log.warn("Some buffered metrics events were already handled elsewhere - re-folding {} events", claimed.size());
+        ProductMetricsAccumulator accumulator = new ProductMetricsAccumulator();
+        for (ConsumedEvent consumed : claimed) {
+            accumulator.add(consumed.event(), window.events.get(consumed.event().getEventId()).metricDate());
+        }
+        return accumulator.drain();
+    }
+
+    private synchronized int pendingEvents() {
+        return current.events.size();
+    }
+
+    /** 윈도우에 담긴 이벤트와 받은 시점에 정한 집계 일자 */
+    private record Buffered(ConsumedEvent consumed, LocalDate metricDate) {
+    }
+
+    private static class Window {
+        private final ProductMetricsAccumulator accumulator = new ProductMetricsAccumulator();
+        private final Map<String, Buffered> events = new LinkedHashMap<>();
+        private final List<Acknowledgment> acknowledgments = new ArrayList<>();
+        private long openedAtNanos;
+
+        /** 뒤따르는 윈도우의 내용을 합친다 (확인응답 순서 유지) */
+        private void absorb(Window later) {
+            for (Map.Entry<String, Buffered> entry : later.events.entrySet()) {
+                Buffered buffered = entry.getValue();
+                if (events.putIfAbsent(entry.getKey(), buffered) == null) {
+                    accumulator.add(buffered.consumed().event(), buffered.metricDate());
+                }
+            }
+            acknowledgments.addAll(later.acknowledgments);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.loopers.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 랭킹 컨슈머 설정
+ *
+ * @param idempotency EVENT_HANDLED: MySQL event_handled 로 중복 제거 /
+ *                    REDIS_OFFSET: 점수와 파티션별 마지막 반영 오프셋을 Redis 스크립트로 함께 기록 (MySQL 미사용).
+ *                    개별 컨슈머와 통합 파이프라인 모드 모두에 적용되며, 오프셋 순서대로 처리해야 하므로 키 병렬 처리를 쓰지 않는다
+ */
+@ConfigurationProperties(prefix = "streamer.ranking")
+public record RankingProperties(
+        @DefaultValue("EVENT_HANDLED") Idempotency idempotency
+) {
+
+    public boolean tracksOffsetsInRedis() {
+        return idempotency == Idempotency.REDIS_OFFSET;
+    }
+
+    public enum Idempotency {
+        EVENT_HANDLED,
+        REDIS_OFFSET
+    }
+}
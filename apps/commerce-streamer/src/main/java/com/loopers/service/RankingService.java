@@ -1,19 +1,29 @@
 package com.loopers.service;
 
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ConsumedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Redis ZSET을 활용한 실시간 랭킹 집계 서비스 (Streamer용)
@@ -21,7 +31,7 @@ import java.util.List;
  *
  * ZSET Key 전략
  * - Key: {@code ranking:all:yyyyMMdd}
- * - TTL: 2 days (172800s) — 최초 생성 시 1회만 설정
+ * - TTL: 2 days (172800s) — EXPIRE ... NX 로 TTL 이 없을 때만 설정 (점수 반영과 같은 파이프라인)
  */
 @Service
 public class RankingService {
@@ -32,6 +42,8 @@ public class RankingService {
     private static final String RANKING_PREFIX = "ranking:all"; // final key = ranking:all:yyyyMMdd
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final Duration TTL = Duration.ofDays(2);
+    private static final byte[] TTL_SECONDS = String.valueOf(TTL.getSeconds()).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXPIRE_NX = "NX".getBytes(StandardCharsets.UTF_8);
     
     // 가중치 설정
     private static final double VIEW_WEIGHT = 0.1;
@@ -39,35 +51,67 @@ public class RankingService {
     private static final double ORDER_WEIGHT = 0.7;
     private static final double CARRY_OVER_WEIGHT = 0.1;
     
+    // 오프셋 추적 모드 설정
+    private static final String UNKNOWN_OFFSET = "?";
+    private static final int OFFSET_CONFLICT_ATTEMPTS = 3;
+    
+    /**
+     * 폴링의 점수 변화와 파티션별 마지막 반영 오프셋을 원자적으로 기록
+     * KEYS[1]: 랭킹 ZSET, KEYS[2]: 오프셋 HASH (field = topic:partition)
+     * ARGV: ttl, 파티션 수 n, n × (field, 기대 오프셋, 새 오프셋), 이후 (member, score) 쌍
+     * 저장된 오프셋이 기대값과 다르면 아무것도 쓰지 않고 {field, 저장된 오프셋, ...} 을 돌려준다.
+     */
+    private static final RedisScript<List> APPLY_WITH_OFFSETS_SCRIPT = new DefaultRedisScript<>("""
+            local n = tonumber(ARGV[2])
+            local conflicts = {}
+            for i = 0, n - 1 do
+                local field = ARGV[3 + i * 3]
+                local stored = redis.call('HGET', KEYS[2], field) or '-1'
+                if stored ~= ARGV[4 + i * 3] then
+                    conflicts[#conflicts + 1] = field
+                    conflicts[#conflicts + 1] = stored
+                end
+            end
+            if #conflicts > 0 then
+                return conflicts
+            end
+            for i = 0, n - 1 do
+                redis.call('HSET', KEYS[2], ARGV[3 + i * 3], ARGV[5 + i * 3])
+            end
+            for j = 3 + n * 3, #ARGV, 2 do
+                redis.call('ZINCRBY', KEYS[1], ARGV[j + 1], ARGV[j])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1], 'NX')
+            return {}
+            """, List.class);
+    
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    // 이 인스턴스가 마지막으로 반영한 오프셋 ("오프셋 키|topic:partition" → offset). 다르면 스크립트가 거절하고 실제 값을 알려준다
+    private final Map<String, Long> appliedOffsets = new ConcurrentHashMap<>();
     
-    public RankingService(RedisTemplate<String, Object> redisTemplate) {
+    public RankingService(RedisTemplate<String, Object> redisTemplate,
+                          StringRedisTemplate stringRedisTemplate) {
         this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
     }
     
     /**
      * 이벤트 타입에 따른 랭킹 점수 업데이트
      */
     public void updateRankingScore(String eventType, Long productId, Long baseScore, LocalDate eventDate) {
-        double score = calculateEventScore(eventType, baseScore);
-        if (score == 0.0) {
-            return; // 점수가 0이면 업데이트하지 않음
-        }
-        
-        String rankingKey = generateRankingKey(eventDate);
-        incrementScore(rankingKey, productId, score);
+        ScoreDeltas deltas = new ScoreDeltas();
+        deltas.addEvent(productId, eventType, baseScore);
+        applyScoreDeltas(deltas, eventDate);
     }
     
     /**
      * 주문 이벤트의 특별 처리 (금액과 수량 고려)
      */
     public void updateOrderRankingScore(Long productId, Long quantity, Double unitPrice, LocalDate eventDate) {
-        // 로그 스케일 적용으로 큰 주문의 영향력 조절
-        double rawValue = quantity * (unitPrice != null ? unitPrice : 1.0);
-        double score = Math.log1p(rawValue) * ORDER_WEIGHT;
-        
-        String rankingKey = generateRankingKey(eventDate);
-        incrementScore(rankingKey, productId, score);
+        ScoreDeltas deltas = new ScoreDeltas();
+        deltas.addOrderLine(productId, quantity, unitPrice);
+        applyScoreDeltas(deltas, eventDate);
     }
     
     /**
@@ -78,29 +122,43 @@ public class RankingService {
             return;
         }
         
+        ScoreDeltas deltas = new ScoreDeltas();
+        for (ProductScoreUpdate update : updates) {
+            if (update != null) {
+                deltas.addEvent(update.productId(), update.eventType(), update.baseScore());
+            }
+        }
+        applyScoreDeltas(deltas, eventDate);
+    }
+    
+    /**
+     * 상품별로 합산된 점수를 한 번의 파이프라인(1 왕복)으로 반영
+     * 상품마다 ZINCRBY 한 번, 마지막에 EXPIRE ... NX 로 TTL 이 없을 때만 설정한다 (Redis 7.0+).
+     *
+     * @return 점수가 반영된 상품 수
+     */
+    public int applyScoreDeltas(ScoreDeltas deltas, LocalDate eventDate) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        
         String rankingKey = generateRankingKey(eventDate);
         
         try {
-            // Redis Pipeline을 사용하여 배치 처리 성능 향상
-            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
                 byte[] keyBytes = rankingKey.getBytes(StandardCharsets.UTF_8);
                 
-                for (ProductScoreUpdate update : updates) {
-                    if (update == null) continue;
-                    Long pid = update.productId();
-                    if (pid == null) continue;
-                    double score = calculateEventScore(update.eventType(), update.baseScore());
-                    if (Double.isNaN(score) || Double.isInfinite(score) || score == 0.0) continue;
-                    byte[] memberBytes = pid.toString().getBytes(StandardCharsets.UTF_8);
-                    connection.zIncrBy(keyBytes, score, memberBytes);
-                }
+                deltas.scores.forEach((productId, score) -> {
+                    byte[] memberBytes = productId.toString().getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zIncrBy(keyBytes, score, memberBytes);
+                });
+                connection.execute("EXPIRE", keyBytes, TTL_SECONDS, EXPIRE_NX);
                 return null;
             });
             
-            // TTL 설정
-            ensureTTL(rankingKey);
-            
-            log.info("Batch updated {} ranking scores for key={}", updates.size(), generateRankingKey(eventDate));
+            log.info("Batch updated ranking scores - events: {}, products: {}, key={}",
+                deltas.eventCount, deltas.size(), rankingKey);
+            return deltas.size();
             
         } catch (Exception e) {
             log.error("Failed to batch update ranking scores for date={}", eventDate, e);
@@ -108,6 +166,72 @@ public class RankingService {
         }
     }
     
+    /**
+     * 정확히 한 번(exactly-once) 반영: 파티션별 마지막 반영 오프셋을 Redis 에 함께 기록
+     * 이미 반영된 오프셋 이하의 레코드는 건너뛰고, 나머지를 상품별로 합산해 스크립트 한 번으로 반영한다.
+     * 리밸런싱 등으로 이 인스턴스가 아는 오프셋이 실제와 다르면, 스크립트가 돌려준 값으로 다시 걸러서 재시도한다.
+     * MySQL 멱등성 테이블을 사용하지 않는다.
+     *
+     * @param offsetsKey 컨슈머 그룹별 오프셋 HASH 키
+     * @return 이번에 반영된 레코드 수 (재전달된 레코드 제외)
+     */
+    public int applyExactlyOnce(List<ConsumedEvent> events, String offsetsKey, LocalDate eventDate) {
+        String rankingKey = generateRankingKey(eventDate);
+        
+        for (int attempt = 1; attempt <= OFFSET_CONFLICT_ATTEMPTS; attempt++) {
+            ScoreDeltas deltas = new ScoreDeltas();
+            Map<String, Long> nextOffsets = new LinkedHashMap<>();
+            int records = 0;
+            for (ConsumedEvent consumed : events) {
+                String field = consumed.topic() + ":" + consumed.partition();
+                Long applied = appliedOffsets.get(offsetCacheKey(offsetsKey, field));
+                if (applied != null && consumed.offset() <= applied) {
+                    continue; // 재전달된 레코드
+                }
+                nextOffsets.merge(field, consumed.offset(), Math::max);
+                records++;
+                if (consumed.isValid()) {
+                    deltas.add(consumed.event());
+                }
+            }
+            if (nextOffsets.isEmpty()) {
+                log.info("Skipped redelivered ranking batch - records: {}", events.size());
+                return 0;
+            }
+            
+            List<String> args = new ArrayList<>(2 + nextOffsets.size() * 3 + deltas.size() * 2);
+            args.add(String.valueOf(TTL.getSeconds()));
+            args.add(String.valueOf(nextOffsets.size()));
+            nextOffsets.forEach((field, offset) -> {
+                Long applied = appliedOffsets.get(offsetCacheKey(offsetsKey, field));
+                args.add(field);
+                args.add(applied != null ? applied.toString() : UNKNOWN_OFFSET);
+                args.add(offset.toString());
+            });
+            deltas.scores.forEach((productId, score) -> {
+                args.add(productId.toString());
+                args.add(Double.toString(score));
+            });
+            
+            List<?> conflicts = stringRedisTemplate.execute(
+                APPLY_WITH_OFFSETS_SCRIPT, List.of(rankingKey, offsetsKey), args.toArray());
+            if (conflicts == null || conflicts.isEmpty()) {
+                nextOffsets.forEach((field, offset) -> appliedOffsets.put(offsetCacheKey(offsetsKey, field), offset));
+                log.info("Applied ranking batch exactly-once - records: {}, products: {}, partitions: {}",
+                    records, deltas.size(), nextOffsets.size());
+                return records;
+            }
+            
+            for (int i = 0; i + 1 < conflicts.size(); i += 2) {
+                appliedOffsets.put(offsetCacheKey(offsetsKey, String.valueOf(conflicts.get(i))),
+                    Long.parseLong(String.valueOf(conflicts.get(i + 1))));
+            }
+            log.info("Ranking offsets changed outside this instance - refreshed {} partitions (attempt {}/{})",
+                conflicts.size() / 2, attempt, OFFSET_CONFLICT_ATTEMPTS);
+        }
+        throw new IllegalStateException("Ranking offsets kept changing for key=" + offsetsKey);
+    }
+    
     /**
      * 콜드 스타트 문제 해결을 위한 전날 점수 이월 (ZUNIONSTORE 최적화)
      */
@@ -158,7 +282,11 @@ public class RankingService {
         }
     }
     
-    private double calculateEventScore(String eventType, Long baseScore) {
+    private static String offsetCacheKey(String offsetsKey, String field) {
+        return offsetsKey + "|" + field;
+    }
+    
+    private static double calculateEventScore(String eventType, Long baseScore) {
         return switch (eventType.toUpperCase()) {
             case "PRODUCT_VIEWED" -> VIEW_WEIGHT * baseScore;
             case "PRODUCT_LIKED" -> LIKE_WEIGHT * baseScore;
@@ -168,45 +296,6 @@ public class RankingService {
         };
     }
     
-    private void incrementScore(String rankingKey, Long productId, double score) {
-        try {
-            String member = productId.toString();
-            
-            Double newScore = redisTemplate.execute((RedisCallback<Double>) connection -> {
-                byte[] keyBytes = rankingKey.getBytes(StandardCharsets.UTF_8);
-                byte[] memberBytes = member.getBytes(StandardCharsets.UTF_8);
-                
-                // ZINCRBY key increment member
-                return connection.zIncrBy(keyBytes, score, memberBytes);
-            });
-            
-            ensureTTL(rankingKey);
-            
-            log.debug("Incremented score for productId={} in key={}, newScore={}", 
-                productId, rankingKey, newScore);
-                
-        } catch (Exception e) {
-            log.error("Failed to increment score for productId={} in key={}", 
-                productId, rankingKey, e);
-            throw e;
-        }
-    }
-    
-    private void ensureTTL(String key) {
-        try {
-            // TTL이 -1인 경우에만 설정 (이미 설정된 키는 스킵)
-            Long ttl = redisTemplate.getExpire(key);
-            if (ttl == -1) { // TTL이 설정되지 않은 경우만
-                redisTemplate.expire(key, TTL);
-                log.debug("Set TTL for ranking key: {}", key);
-            } else if (ttl > 0) {
-                log.trace("TTL already set for key: {}, remaining: {}s", key, ttl);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to set TTL for key: {}", key, e);
-        }
-    }
-    
     /**
      * 일자별 랭킹 키 계산: ranking:all:yyyyMMdd
      */
@@ -225,4 +314,80 @@ public class RankingService {
      * 상품 점수 업데이트 정보를 담는 레코드
      */
     public record ProductScoreUpdate(Long productId, String eventType, Long baseScore) {}
+    
+    /**
+     * 한 폴링의 랭킹 점수 변화를 상품별로 합산
+     * 같은 상품에 대한 조회/좋아요/주문이 ZINCRBY 한 번으로 접힌다.
+     */
+    public static class ScoreDeltas {
+        
+        private final Map<Long, Double> scores = new LinkedHashMap<>();
+        private int eventCount;
+        
+        /**
+         * 랭킹에 영향을 주는 이벤트를 합산
+         *
+         * @return 랭킹 대상 이벤트가 아니면 false
+         */
+        public boolean add(EventEnvelope event) {
+            String eventType = event.getEventType();
+            switch (eventType) {
+                case "PRODUCT_LIKED", "PRODUCT_UNLIKED", "PRODUCT_VIEWED" -> {
+                    if (event.hasProductId()) {
+                        addEvent(event.getProductId(), eventType, 1L);
+                    }
+                    return true;
+                }
+                case "ORDER_CREATED" -> {
+                    // 주문 이벤트는 금액과 수량을 고려한 점수로 합산
+                    for (int i = 0; i < event.getItemCount(); i++) {
+                        BigDecimal price = event.getItemPrice(i);
+                        addOrderLine(event.getItemProductId(i), event.getItemQuantity(i), price != null ? price.doubleValue() : null);
+                    }
+                    return true;
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+        
+        public void addEvent(Long productId, String eventType, Long baseScore) {
+            if (productId != null && baseScore != null) {
+                add(productId, calculateEventScore(eventType, baseScore));
+            }
+        }
+        
+        /**
+         * 주문 항목 점수: 로그 스케일 적용으로 큰 주문의 영향력 조절
+         */
+        public void addOrderLine(Long productId, Long quantity, Double unitPrice) {
+            if (productId == null || quantity == null || quantity <= 0) {
+                return;
+            }
+            double rawValue = quantity * (unitPrice != null ? unitPrice : 1.0);
+            add(productId, Math.log1p(rawValue) * ORDER_WEIGHT);
+        }
+        
+        private void add(Long productId, double score) {
+            if (Double.isNaN(score) || Double.isInfinite(score) || score == 0.0) {
+                return;
+            }
+            scores.merge(productId, score, Double::sum);
+            eventCount++;
+        }
+        
+        public boolean isEmpty() {
+            return scores.isEmpty();
+        }
+        
+        /** 점수가 바뀌는 상품 수 */
+        public int size() {
+            return scores.size();
+        }
+        
+        public Map<Long, Double> asMap() {
+            return Collections.unmodifiableMap(scores);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.loopers.service;
+
+import com.loopers.domain.event.EventHandled;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 컨슈머 타입별 최근 처리된 eventId (용량을 넘으면 가장 오래된 것부터 제거)
+ *
+ * 커밋된 eventId 만 기록하므로 여기에 있으면 확실히 처리된 이벤트다 (거짓 양성 없음).
+ * 없다고 해서 처리되지 않은 것은 아니므로 나머지는 DB 로 확인한다.
+ */
+class RecentEventIds {
+
+    private final int capacity;
+    private final Map<EventHandled.ConsumerType, Set<String>> idsByType = new EnumMap<>(EventHandled.ConsumerType.class);
+
+    RecentEventIds(int capacity) {
+        this.capacity = capacity;
+        for (EventHandled.ConsumerType type : EventHandled.ConsumerType.values()) {
+            idsByType.put(type, Collections.newSetFromMap(Collections.synchronizedMap(new LruMap(capacity))));
+        }
+    }
+
+    boolean contains(EventHandled.ConsumerType consumerType, String eventId) {
+        return capacity > 0 && idsByType.get(consumerType).contains(eventId);
+    }
+
+    void addAll(EventHandled.ConsumerType consumerType, Collection<String> eventIds) {
+        if (capacity > 0) {
+            idsByType.get(consumerType).addAll(eventIds);
+        }
+    }
+
+    private static class LruMap extends LinkedHashMap<String, Boolean> {
+
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, false);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > capacity;
+        }
+    }
+}
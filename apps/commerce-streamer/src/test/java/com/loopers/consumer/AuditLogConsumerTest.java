@@ -0,0 +1,78 @@
+package com.loopers.consumer;
+
+import com.loopers.domain.event.EventLog;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.EventLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogConsumerTest {
+
+    private EventLogRepository eventLogRepository;
+    private AuditLogConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        eventLogRepository = mock(EventLogRepository.class);
+        consumer = new AuditLogConsumer(eventLogRepository, mock(ChunkedBatchProcessor.class));
+    }
+
+    @Test
+    @DisplayName("배치 내 중복 eventId 는 한 건으로 기록하고, 이미 기록된 이벤트는 새로 기록한 수에서 제외한다")
+    @SuppressWarnings("unchecked")
+    void insertsEachEventIdOnce() {
+        // given
+        when(eventLogRepository.insertIgnore(anyCollection())).thenReturn(1);
+        List<ConsumedEvent> events = List.of(event(0, "e-1"), event(1, "e-2"), event(2, "e-1"));
+
+        // when
+        int inserted = consumer.claimAndApply(events);
+
+        // then
+        ArgumentCaptor<Collection<EventLog>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(eventLogRepository).insertIgnore(captor.capture());
+        assertThat(captor.getValue()).extracting(EventLog::getEventId).containsExactly("e-1", "e-2");
+        assertThat(inserted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("eventId 가 없는 이벤트는 레코드 위치로 만든 ID 로 각각 기록한다")
+    @SuppressWarnings("unchecked")
+    void insertsEventsWithoutEventIdSeparately() {
+        // given
+        when(eventLogRepository.insertIgnore(anyCollection())).thenReturn(2);
+        List<ConsumedEvent> events = List.of(event(10, null), event(11, null));
+
+        // when
+        int inserted = consumer.claimAndApply(events);
+
+        // then
+        ArgumentCaptor<Collection<EventLog>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(eventLogRepository).insertIgnore(captor.capture());
+        assertThat(captor.getValue()).extracting(EventLog::getEventId)
+            .containsExactly("unknown-catalog-events-0-10", "unknown-catalog-events-0-11");
+        assertThat(inserted).isEqualTo(2);
+    }
+
+    private ConsumedEvent event(long offset, String eventId) {
+        EventEnvelope envelope = new EventEnvelope().setEventId(eventId).setEventType("PRODUCT_VIEWED").setProductId(1L);
+        String json = eventId != null
+            ? "{\"eventId\":\"" + eventId + "\",\"eventType\":\"PRODUCT_VIEWED\",\"productId\":1}"
+            : "{\"eventType\":\"PRODUCT_VIEWED\",\"productId\":1}";
+        return new ConsumedEvent("catalog-events", 0, offset, "1", json.getBytes(StandardCharsets.UTF_8), envelope);
+    }
+}
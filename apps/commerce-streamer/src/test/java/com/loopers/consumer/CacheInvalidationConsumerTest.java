@@ -0,0 +1,87 @@
+package com.loopers.consumer;
+
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.service.IdempotentEventService;
+import com.loopers.service.ProductCacheInvalidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CacheInvalidationConsumerTest {
+
+    private ProductCacheInvalidator productCacheInvalidator;
+    private CacheInvalidationConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        productCacheInvalidator = mock(ProductCacheInvalidator.class);
+        consumer = new CacheInvalidationConsumer(mock(IdempotentEventService.class), productCacheInvalidator,
+            mock(TransactionTemplate.class), mock(ChunkedBatchProcessor.class));
+    }
+
+    @Test
+    @DisplayName("한 상품에 대한 좋아요 500건은 한 번의 무효화로 처리되고 목록 캐시는 건드리지 않는다")
+    void deduplicatesInvalidationsPerPoll() {
+        // given
+        List<ConsumedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            events.add(event(new EventEnvelope().setEventId("e-" + i).setEventType("PRODUCT_LIKED").setProductId(1L)));
+        }
+
+        // when
+        consumer.apply(events);
+
+        // then
+        verify(productCacheInvalidator, times(1)).invalidate(Set.of(1L), false);
+    }
+
+    @Test
+    @DisplayName("재고 변경이 섞이면 상품 목록 캐시도 함께 무효화한다")
+    void invalidatesListsOnStockChange() {
+        // given
+        List<ConsumedEvent> events = List.of(
+            event(new EventEnvelope().setEventId("e-1").setEventType("PRODUCT_LIKED").setProductId(1L)),
+            event(new EventEnvelope().setEventId("e-2").setEventType("STOCK_ADJUSTED").setProductId(2L).setQuantityChanged(-3)),
+            event(new EventEnvelope().setEventId("e-3").setEventType("PRODUCT_UNLIKED").setProductId(1L))
+        );
+
+        // when
+        consumer.apply(events);
+
+        // then
+        verify(productCacheInvalidator, times(1)).invalidate(Set.of(1L, 2L), true);
+    }
+
+    @Test
+    @DisplayName("조회 이벤트만 있으면 Redis 를 호출하지 않는다")
+    void ignoresViews() {
+        // given
+        List<ConsumedEvent> events = List.of(
+            event(new EventEnvelope().setEventId("e-1").setEventType("PRODUCT_VIEWED").setProductId(1L))
+        );
+
+        // when
+        consumer.apply(events);
+
+        // then
+        verify(productCacheInvalidator, never()).invalidate(anySet(), anyBoolean());
+    }
+
+    private ConsumedEvent event(EventEnvelope envelope) {
+        return new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], envelope);
+    }
+}
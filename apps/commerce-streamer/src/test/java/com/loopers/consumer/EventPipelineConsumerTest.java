@@ -0,0 +1,177 @@
+package com.loopers.consumer;
+
+import com.loopers.pipeline.BatchChunkProperties;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.pipeline.EventPipelineProperties;
+import com.loopers.pipeline.EventStage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class EventPipelineConsumerTest {
+
+    @Test
+    @DisplayName("한 단계가 실패해 구간을 나누어 다시 실행해도, 이미 성공한 단계는 이벤트마다 한 번만 반영한다")
+    void healthyStageAppliesOncePerEventWhileFailingRecordIsIsolated() {
+        // given
+        ClaimingStage metrics = new ClaimingStage("metrics", -1L);
+        ClaimingStage ranking = new ClaimingStage("ranking", 37L);
+        EventPipelineConsumer consumer = consumer(List.of(metrics, ranking));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when & then
+        assertThatThrownBy(() -> consumer.handleEvents(records(100), acknowledgment))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(37));
+
+        assertThat(metrics.applied).hasSize(100).allSatisfy((eventId, count) -> assertThat(count).isEqualTo(1));
+        assertThat(ranking.applied).hasSize(37);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재전달된 배치는 단계별 처리 기록으로 건너뛰고 확인응답한다")
+    void skipsRedeliveredEventsPerStage() {
+        // given
+        ClaimingStage metrics = new ClaimingStage("metrics", -1L);
+        ClaimingStage ranking = new ClaimingStage("ranking", -1L);
+        EventPipelineConsumer consumer = consumer(List.of(metrics, ranking));
+        consumer.handleEvents(records(10), mock(Acknowledgment.class));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when
+        consumer.handleEvents(records(10), acknowledgment);
+
+        // then
+        assertThat(metrics.applied.values()).containsOnly(1);
+        assertThat(ranking.applied.values()).containsOnly(1);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("오프셋 순서가 필요한 단계가 있으면 키 병렬 처리 없이 청크를 오프셋 순서대로 분배한다")
+    void dispatchesInOffsetOrderWhenAStageRequiresIt() {
+        // given
+        OffsetOrderedStage ranking = new OffsetOrderedStage();
+        EventPipelineConsumer consumer = new EventPipelineConsumer(List.of(ranking),
+            new EventPipelineProperties(EventPipelineProperties.Mode.CONSOLIDATED, 1, Duration.ZERO),
+            new SimpleMeterRegistry(),
+            new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 4)));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when
+        consumer.handleEvents(records(100, 10), acknowledgment);
+
+        // then
+        assertThat(ranking.batches).hasSize(1);
+        assertThat(ranking.batches.get(0)).isSortedAccordingTo(Long::compare).hasSize(100);
+        verify(acknowledgment).acknowledge();
+    }
+
+    private EventPipelineConsumer consumer(List<EventStage> stages) {
+        return new EventPipelineConsumer(stages,
+            new EventPipelineProperties(EventPipelineProperties.Mode.CONSOLIDATED, 1, Duration.ZERO),
+            new SimpleMeterRegistry(),
+            new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 1)));
+    }
+
+    private List<ConsumerRecord<String, byte[]>> records(int count) {
+        return records(count, 1);
+    }
+
+    private List<ConsumerRecord<String, byte[]>> records(int count, int products) {
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset++) {
+            long productId = offset % products + 1;
+            String json = "{\"eventId\":\"e-" + offset + "\",\"eventType\":\"PRODUCT_VIEWED\",\"productId\":" + productId + "}";
+            records.add(new ConsumerRecord<>("catalog-events", 0, offset, String.valueOf(productId),
+                json.getBytes(StandardCharsets.UTF_8)));
+        }
+        return records;
+    }
+
+    /**
+     * 파티션 오프셋을 단조 증가로 기록하는 단계 (받은 구간의 오프셋을 그대로 남긴다)
+     */
+    private static class OffsetOrderedStage implements EventStage {
+
+        private final List<List<Long>> batches = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "ranking";
+        }
+
+        @Override
+        public boolean requiresOffsetOrder() {
+            return true;
+        }
+
+        @Override
+        public synchronized int claimAndApply(List<ConsumedEvent> events) {
+            batches.add(events.stream().map(ConsumedEvent::offset).toList());
+            return events.size();
+        }
+
+        @Override
+        public void apply(List<ConsumedEvent> events) {
+        }
+    }
+
+    /**
+     * 처리됨 표시와 반영을 함께 커밋하는 단계 (failingOffset 이 포함된 호출은 표시 없이 실패한다)
+     */
+    private static class ClaimingStage implements EventStage {
+
+        private final String name;
+        private final long failingOffset;
+        private final Set<String> handled = ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> applied = new HashMap<>();
+
+        ClaimingStage(String name, long failingOffset) {
+            this.name = name;
+            this.failingOffset = failingOffset;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public synchronized int claimAndApply(List<ConsumedEvent> events) {
+            if (events.stream().anyMatch(consumed -> consumed.offset() == failingOffset)) {
+                throw new IllegalStateException(name + " failed");
+            }
+            List<ConsumedEvent> claimed = events.stream()
+                .filter(consumed -> handled.add(consumed.event().getEventId()))
+                .toList();
+            apply(claimed);
+            return claimed.size();
+        }
+
+        @Override
+        public void apply(List<ConsumedEvent> events) {
+            events.forEach(consumed -> applied.merge(consumed.event().getEventId(), 1, Integer::sum));
+        }
+    }
+}
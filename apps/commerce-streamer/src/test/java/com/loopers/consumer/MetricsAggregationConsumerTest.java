@@ -0,0 +1,96 @@
+package com.loopers.consumer;
+
+import com.loopers.domain.metrics.ProductMetricsDelta;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.ProductMetricsRepository;
+import com.loopers.service.IdempotentEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricsAggregationConsumerTest {
+
+    private ProductMetricsRepository productMetricsRepository;
+    private MetricsAggregationConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        productMetricsRepository = mock(ProductMetricsRepository.class);
+        consumer = new MetricsAggregationConsumer(productMetricsRepository, mock(IdempotentEventService.class),
+            Optional.empty(), mock(TransactionTemplate.class), mock(ChunkedBatchProcessor.class));
+        when(productMetricsRepository.upsertAll(anyCollection())).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("상품 50개에 대한 조회 이벤트 3000건은 50행 upsert 한 번으로 반영된다")
+    @SuppressWarnings("unchecked")
+    void foldsPollIntoSingleUpsert() {
+        // given
+        List<ConsumedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            events.add(event(new EventEnvelope().setEventId("e-" + i).setEventType("PRODUCT_VIEWED").setProductId((long) (i % 50))));
+        }
+
+        // when
+        consumer.apply(events);
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository, times(1)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(50)
+            .allSatisfy(delta -> assertThat(delta.viewsChange()).isEqualTo(60L));
+        verify(productMetricsRepository, never()).findByProductIdAndMetricDate(any(), any());
+        verify(productMetricsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("좋아요/취소와 주문 수량은 상품별 변화량으로 합산된다")
+    @SuppressWarnings("unchecked")
+    void foldsMixedEventsPerProduct() {
+        // given
+        List<ConsumedEvent> events = List.of(
+            event(new EventEnvelope().setEventId("e-1").setEventType("PRODUCT_LIKED").setProductId(1L)),
+            event(new EventEnvelope().setEventId("e-2").setEventType("PRODUCT_LIKED").setProductId(1L)),
+            event(new EventEnvelope().setEventId("e-3").setEventType("PRODUCT_UNLIKED").setProductId(1L)),
+            event(new EventEnvelope().setEventId("e-4").setEventType("ORDER_CREATED")
+                .addItem(1L, 2L, null).addItem(2L, 3L, null)),
+            new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], null)
+        );
+
+        // when
+        consumer.apply(events);
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository).upsertAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(ProductMetricsDelta::productId, ProductMetricsDelta::likesChange, ProductMetricsDelta::salesChange)
+            .containsExactlyInAnyOrder(
+                tuple(1L, 1L, 2L),
+                tuple(2L, 0L, 3L)
+            );
+    }
+
+    private ConsumedEvent event(EventEnvelope envelope) {
+        return new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], envelope);
+    }
+}
@@ -0,0 +1,137 @@
+package com.loopers.consumer;
+
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.BatchChunkProperties;
+import com.loopers.pipeline.ChunkedBatchProcessor;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.service.IdempotentEventService;
+import com.loopers.service.RankingProperties;
+import com.loopers.service.RankingService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RankingConsumerTest {
+
+    private RankingService rankingService;
+    private IdempotentEventService idempotentEventService;
+    private RankingConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = mock(RankingService.class);
+        idempotentEventService = mock(IdempotentEventService.class);
+        consumer = new RankingConsumer(rankingService, idempotentEventService,
+            new RankingProperties(RankingProperties.Idempotency.REDIS_OFFSET), mock(TransactionTemplate.class),
+            new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 4)));
+    }
+
+    @Test
+    @DisplayName("한 폴링의 조회/좋아요/주문 이벤트를 상품별로 합산해 한 번에 반영한다")
+    void collapsesPollPerProduct() {
+        // given
+        List<ConsumedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            events.add(event(new EventEnvelope().setEventId("v-" + i).setEventType("PRODUCT_VIEWED").setProductId((long) (i % 50))));
+        }
+        events.add(event(new EventEnvelope().setEventId("o-1").setEventType("ORDER_CREATED")
+            .addItem(1L, 2L, new BigDecimal("1000")).addItem(2L, 1L, null)));
+
+        // when
+        consumer.apply(events);
+
+        // then
+        ArgumentCaptor<RankingService.ScoreDeltas> captor = ArgumentCaptor.forClass(RankingService.ScoreDeltas.class);
+        verify(rankingService, times(1)).applyScoreDeltas(captor.capture(), any(LocalDate.class));
+        RankingService.ScoreDeltas deltas = captor.getValue();
+        assertThat(deltas.size()).isEqualTo(50);
+        assertThat(deltas.asMap().get(0L)).isCloseTo(60 * 0.1, within(1e-9));
+        assertThat(deltas.asMap().get(1L)).isCloseTo(60 * 0.1 + Math.log1p(2000.0) * 0.7, within(1e-9));
+        assertThat(deltas.asMap().get(2L)).isCloseTo(60 * 0.1 + Math.log1p(1.0) * 0.7, within(1e-9));
+        verify(rankingService, never()).updateOrderRankingScore(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("좋아요와 좋아요 취소가 상쇄되면 해당 상품 점수는 0 으로 합산된다")
+    void likesAndUnlikesCancelOut() {
+        // given
+        List<ConsumedEvent> events = List.of(
+            event(new EventEnvelope().setEventId("e-1").setEventType("PRODUCT_LIKED").setProductId(7L)),
+            event(new EventEnvelope().setEventId("e-2").setEventType("PRODUCT_UNLIKED").setProductId(7L))
+        );
+
+        // when
+        consumer.apply(events);
+
+        // then
+        ArgumentCaptor<RankingService.ScoreDeltas> captor = ArgumentCaptor.forClass(RankingService.ScoreDeltas.class);
+        verify(rankingService).applyScoreDeltas(captor.capture(), any(LocalDate.class));
+        assertThat(captor.getValue().asMap().get(7L)).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("REDIS_OFFSET 모드에서는 MySQL 멱등성 테이블 없이 오프셋 기록과 함께 반영하고 확인응답한다")
+    void appliesWithRedisOffsetsWithoutMysql() throws Exception {
+        // given
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+            new ConsumerRecord<>("catalog-events", 0, 10L, "1",
+                "{\"eventId\":\"e-1\",\"eventType\":\"PRODUCT_VIEWED\",\"productId\":1}".getBytes(StandardCharsets.UTF_8))
+        );
+        when(rankingService.applyExactlyOnce(anyList(), eq(RankingConsumer.OFFSETS_KEY), any(LocalDate.class))).thenReturn(1);
+
+        // when
+        consumer.handleRankingEvents(records, acknowledgment);
+
+        // then
+        verify(rankingService).applyExactlyOnce(anyList(), eq(RankingConsumer.OFFSETS_KEY), any(LocalDate.class));
+        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(idempotentEventService);
+    }
+
+    @Test
+    @DisplayName("REDIS_OFFSET 모드에서는 통합 파이프라인 단계로 호출되어도 오프셋 기록과 함께 반영하고 오프셋 순서를 요구한다")
+    void claimAndApplyUsesRedisOffsetsInPipeline() {
+        // given
+        List<ConsumedEvent> events = List.of(
+            event(new EventEnvelope().setEventId("e-1").setEventType("PRODUCT_LIKED").setProductId(7L)));
+        when(rankingService.applyExactlyOnce(eq(events), eq(RankingConsumer.OFFSETS_KEY), any(LocalDate.class))).thenReturn(1);
+
+        // when
+        int processed = consumer.claimAndApply(events);
+
+        // then
+        assertThat(processed).isEqualTo(1);
+        assertThat(consumer.requiresOffsetOrder()).isTrue();
+        verify(rankingService).applyExactlyOnce(eq(events), eq(RankingConsumer.OFFSETS_KEY), any(LocalDate.class));
+        verifyNoInteractions(idempotentEventService);
+    }
+
+    private ConsumedEvent event(EventEnvelope envelope) {
+        return new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], envelope);
+    }
+}
@@ -0,0 +1,188 @@
+package com.loopers.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ChunkedBatchProcessorTest {
+
+    @Test
+    @DisplayName("폴링 배치를 청크 크기만큼 나누어 처리하고, 모든 청크가 끝난 뒤 한 번 확인응답한다")
+    void processesInChunksAndAcknowledgesOnce() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        List<Integer> chunks = new ArrayList<>();
+
+        // when
+        int processed = processor.process(events(3000), acknowledgment, chunk -> {
+            chunks.add(chunk.size());
+            return chunk.size();
+        });
+
+        // then
+        assertThat(processed).isEqualTo(3000);
+        assertThat(chunks).containsExactly(500, 500, 500, 500, 500, 500);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("청크 안에서 실패하면 앞선 청크는 커밋된 채로 두고, 전체 배치 기준 인덱스를 알린다")
+    void reportsBatchIndexWhenChunkFails() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        List<Long> committed = new ArrayList<>();
+
+        // when & then
+        assertThatThrownBy(() -> processor.process(events(3000), acknowledgment, chunk -> {
+            if (chunk.stream().anyMatch(consumed -> consumed.offset() == 1234L)) {
+                throw new IllegalStateException("poison record");
+            }
+            chunk.forEach(consumed -> committed.add(consumed.offset()));
+            return chunk.size();
+        }))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1234));
+
+        assertThat(committed).hasSize(1234).allMatch(offset -> offset < 1234L);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("시간 예산을 넘기면 커밋된 청크까지만 확인하고 나머지는 다음 폴링으로 넘긴다")
+    void defersRemainingRecordsWhenBudgetExceeded() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ZERO, 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when
+        int processed = processor.process(events(3000), acknowledgment, List::size);
+
+        // then
+        assertThat(processed).isEqualTo(500);
+        verify(acknowledgment).nack(500, Duration.ZERO);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("실패한 레코드를 격리하는 도중 시간 예산을 넘기면 커밋된 구간 다음 위치에서 nack 한다")
+    void defersDuringIsolationWhenBudgetExceeded() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(0, Duration.ZERO, 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        List<Long> committed = new ArrayList<>();
+
+        // when
+        processor.process(events(100), acknowledgment, batch -> {
+            if (batch.stream().anyMatch(consumed -> consumed.offset() == 70L)) {
+                throw new IllegalStateException("poison record");
+            }
+            batch.forEach(consumed -> committed.add(consumed.offset()));
+            return batch.size();
+        });
+
+        // then
+        assertThat(committed).hasSize(50).allMatch(offset -> offset < 50L);
+        verify(acknowledgment).nack(50, Duration.ZERO);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("청크 크기가 0 이하면 폴링 배치 전체를 한 번에 처리한다")
+    void processesWholeBatchWhenChunkingDisabled() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(0, Duration.ZERO, 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        List<Integer> chunks = new ArrayList<>();
+
+        // when
+        processor.process(events(3000), acknowledgment, chunk -> {
+            chunks.add(chunk.size());
+            return chunk.size();
+        });
+
+        // then
+        assertThat(chunks).containsExactly(3000);
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("키 병렬 처리 시 같은 키의 레코드는 한 레인에서 오프셋 순서대로 처리된다")
+    void keepsKeyOrderAcrossLanes() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(500, Duration.ofSeconds(60), 4));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        Map<String, List<Long>> offsetsByKey = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        int processed = processor.process(keyedEvents(3000, 50), acknowledgment, lane -> {
+            threads.add(Thread.currentThread().getName());
+            // 같은 키가 두 레인에 나뉘면 한 리스트에 동시에 추가되어 순서가 깨진다
+            lane.forEach(consumed ->
+                offsetsByKey.computeIfAbsent(consumed.key(), key -> new ArrayList<>()).add(consumed.offset()));
+            return lane.size();
+        });
+
+        // then
+        assertThat(processed).isEqualTo(3000);
+        assertThat(offsetsByKey).hasSize(50);
+        offsetsByKey.values().forEach(offsets -> assertThat(offsets).hasSize(60).isSorted());
+        assertThat(threads).hasSizeGreaterThan(1).allMatch(name -> name.startsWith("batch-key-lane-"));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("여러 레인이 실패하면 가장 앞선 실패 레코드(low-water mark)의 인덱스를 알린다")
+    void reportsLowWaterMarkAcrossLanes() {
+        // given
+        ChunkedBatchProcessor processor = new ChunkedBatchProcessor(new BatchChunkProperties(3000, Duration.ofSeconds(60), 4));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when & then
+        assertThatThrownBy(() -> processor.process(keyedEvents(3000, 50), acknowledgment, lane -> {
+            if (lane.stream().anyMatch(consumed -> consumed.offset() == 2000L || consumed.offset() == 1234L)) {
+                throw new IllegalStateException("poison record");
+            }
+            return lane.size();
+        }))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1234));
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private List<ConsumedEvent> events(int count) {
+        List<ConsumedEvent> events = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset++) {
+            events.add(new ConsumedEvent("catalog-events", 0, offset, "1", new byte[0], null));
+        }
+        return events;
+    }
+
+    private List<ConsumedEvent> keyedEvents(int count, int keys) {
+        List<ConsumedEvent> events = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset++) {
+            events.add(new ConsumedEvent("catalog-events", 0, offset, String.valueOf(offset % keys), new byte[0], null));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,64 @@
+package com.loopers.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordFailureIsolationTest {
+
+    @Test
+    @DisplayName("배치가 성공하면 한 번만 처리한다")
+    void processesBatchOnceWhenHealthy() {
+        // given
+        List<Integer> calls = new ArrayList<>();
+
+        // when
+        int processed = RecordFailureIsolation.process(events(3000), batch -> {
+            calls.add(batch.size());
+            return batch.size();
+        });
+
+        // then
+        assertThat(processed).isEqualTo(3000);
+        assertThat(calls).containsExactly(3000);
+    }
+
+    @Test
+    @DisplayName("실패한 레코드 앞부분만 반영하고, 그 인덱스를 BatchListenerFailedException 으로 알린다")
+    void reportsFirstFailingIndexAfterCommittingPrefix() {
+        // given
+        List<Long> committed = new ArrayList<>();
+        List<Integer> calls = new ArrayList<>();
+
+        // when & then
+        assertThatThrownBy(() -> RecordFailureIsolation.process(events(3000), batch -> {
+            calls.add(batch.size());
+            if (batch.stream().anyMatch(consumed -> consumed.offset() == 1234L)) {
+                throw new IllegalStateException("poison record");
+            }
+            batch.forEach(consumed -> committed.add(consumed.offset()));
+            return batch.size();
+        }))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1234))
+            .hasRootCauseMessage("poison record");
+
+        assertThat(committed).hasSize(1234).allMatch(offset -> offset < 1234L);
+        // 배치 크기만큼이 아니라 로그 단위로만 다시 처리한다
+        assertThat(calls.size()).isLessThan(30);
+    }
+
+    private List<ConsumedEvent> events(int count) {
+        List<ConsumedEvent> events = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset++) {
+            events.add(new ConsumedEvent("catalog-events", 0, offset, "1", new byte[0], null));
+        }
+        return events;
+    }
+}
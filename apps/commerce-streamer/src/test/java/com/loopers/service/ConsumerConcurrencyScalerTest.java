@@ -0,0 +1,76 @@
+package com.loopers.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumerConcurrencyScalerTest {
+
+    private final ConsumerConcurrencyProperties properties = new ConsumerConcurrencyProperties(
+        true, 1, 6, Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofMinutes(2));
+
+    @Test
+    @DisplayName("랙이 크게 쌓이면 최대 동시성까지 늘리고, 파티션을 다 쓰도록 필요한 인스턴스 수를 알린다")
+    void scalesUpToCatchUpBacklog() {
+        // given
+        long lag = 10_000_000L;
+
+        // when
+        ConsumerConcurrencyScaler.Decision decision =
+            ConsumerConcurrencyScaler.decide(lag, 2000, 3000, 3, 3, 12, properties);
+
+        // then
+        assertThat(decision.concurrency()).isEqualTo(6);
+        assertThat(decision.desiredInstances()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("유휴 상태에서는 한 단계씩 최소 동시성으로 줄인다")
+    void scalesDownStepwiseWhenIdle() {
+        // when
+        ConsumerConcurrencyScaler.Decision decision =
+            ConsumerConcurrencyScaler.decide(0, 0, 0, 3, 3, 12, properties);
+
+        // then
+        assertThat(decision.concurrency()).isEqualTo(2);
+        assertThat(decision.desiredInstances()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처리량이 유입량을 따라가면 현재 동시성을 유지한다")
+    void keepsConcurrencyWhenKeepingUp() {
+        // when
+        ConsumerConcurrencyScaler.Decision decision =
+            ConsumerConcurrencyScaler.decide(100, 1000, 1500, 3, 3, 12, properties);
+
+        // then
+        assertThat(decision.concurrency()).isEqualTo(3);
+        assertThat(decision.desiredInstances()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("동시성은 파티션 수를 넘지 않는다")
+    void neverExceedsPartitionCount() {
+        // when
+        ConsumerConcurrencyScaler.Decision decision =
+            ConsumerConcurrencyScaler.decide(1_000_000L, 1000, 1000, 1, 1, 2, properties);
+
+        // then
+        assertThat(decision.concurrency()).isEqualTo(2);
+        assertThat(decision.desiredInstances()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처리 실적이 없으면 랙이 있어도 동시성을 바꾸지 않는다")
+    void keepsConcurrencyWithoutThroughputSample() {
+        // when
+        ConsumerConcurrencyScaler.Decision decision =
+            ConsumerConcurrencyScaler.decide(5000, 100, 0, 3, 3, 12, properties);
+
+        // then
+        assertThat(decision.concurrency()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,115 @@
+package com.loopers.service;
+
+import com.loopers.domain.event.EventHandled;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.EventHandledRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotentEventServiceTest {
+
+    private static final EventHandled.ConsumerType TYPE = EventHandled.ConsumerType.METRICS_AGGREGATION;
+
+    private EventHandledRepository eventHandledRepository;
+    private IdempotentEventService idempotentEventService;
+
+    @BeforeEach
+    void setUp() {
+        eventHandledRepository = mock(EventHandledRepository.class);
+        idempotentEventService = new IdempotentEventService(eventHandledRepository, new IdempotencyProperties(1000));
+    }
+
+    @Test
+    @DisplayName("배치 전체를 IN 조회 1회와 INSERT IGNORE 1회로 처리하고, 이미 처리된 이벤트와 배치 내 중복을 제외한다")
+    void claimsBatchWithConstantQueries() {
+        // given
+        List<ConsumedEvent> events = List.of(event("e-1"), event("e-2"), event("e-2"), event("e-3"), invalidEvent());
+        when(eventHandledRepository.findHandledEventIds(anyCollection(), eq(TYPE))).thenReturn(List.of("e-3"));
+        when(eventHandledRepository.insertIgnore(eq(TYPE), anyCollection())).thenReturn(2);
+
+        // when
+        List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(events, TYPE);
+
+        // then
+        assertThat(claimed).extracting(consumed -> consumed.event().getEventId()).containsExactly("e-1", "e-2");
+        verify(eventHandledRepository, times(1)).findHandledEventIds(anyCollection(), eq(TYPE));
+        verify(eventHandledRepository, times(1)).insertIgnore(eq(TYPE), anyCollection());
+    }
+
+    @Test
+    @DisplayName("최근에 처리한 eventId 는 DB 를 조회하지 않고 건너뛴다")
+    void skipsRecentlyHandledEventsWithoutDatabase() {
+        // given
+        when(eventHandledRepository.findHandledEventIds(anyCollection(), eq(TYPE))).thenReturn(List.of());
+        when(eventHandledRepository.insertIgnore(eq(TYPE), anyCollection())).thenReturn(2);
+        idempotentEventService.claimUnprocessed(List.of(event("e-1"), event("e-2")), TYPE);
+
+        // when
+        List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(List.of(event("e-1"), event("e-2")), TYPE);
+
+        // then
+        assertThat(claimed).isEmpty();
+        verify(eventHandledRepository, times(1)).findHandledEventIds(anyCollection(), any());
+        verify(eventHandledRepository, times(1)).insertIgnore(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("다른 컨슈머 타입의 처리 기록은 영향을 주지 않는다")
+    void recentCacheIsPerConsumerType() {
+        // given
+        when(eventHandledRepository.findHandledEventIds(anyCollection(), any())).thenReturn(List.of());
+        when(eventHandledRepository.insertIgnore(any(), anyCollection()))
+            .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+        idempotentEventService.claimUnprocessed(List.of(event("e-1")), TYPE);
+
+        // when
+        List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(
+            List.of(event("e-1")), EventHandled.ConsumerType.RANKING);
+
+        // then
+        assertThat(claimed).hasSize(1);
+        verify(eventHandledRepository, never()).existsByEventIdAndConsumerType(any(), any());
+    }
+
+    @Test
+    @DisplayName("다른 트랜잭션이 먼저 표시해 일부만 추가되면 예외로 롤백시키고 최근 처리 캐시에 남기지 않는다")
+    void failsClaimWhenConcurrentlyHandled() {
+        // given
+        when(eventHandledRepository.findHandledEventIds(anyCollection(), eq(TYPE))).thenReturn(List.of());
+        when(eventHandledRepository.insertIgnore(eq(TYPE), anyCollection())).thenReturn(1);
+
+        // when & then
+        assertThatThrownBy(() -> idempotentEventService.claimUnprocessed(List.of(event("e-1"), event("e-2")), TYPE))
+            .isInstanceOf(IllegalStateException.class);
+
+        when(eventHandledRepository.findHandledEventIds(anyCollection(), eq(TYPE))).thenReturn(List.of("e-2"));
+        when(eventHandledRepository.insertIgnore(eq(TYPE), anyCollection())).thenReturn(1);
+        List<ConsumedEvent> claimed = idempotentEventService.claimUnprocessed(List.of(event("e-1"), event("e-2")), TYPE);
+        assertThat(claimed).extracting(consumed -> consumed.event().getEventId()).containsExactly("e-1");
+    }
+
+    private ConsumedEvent event(String eventId) {
+        EventEnvelope envelope = new EventEnvelope().setEventId(eventId).setEventType("PRODUCT_VIEWED").setProductId(1L);
+        return new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], envelope);
+    }
+
+    private ConsumedEvent invalidEvent() {
+        return new ConsumedEvent("catalog-events", 0, 0L, "1", new byte[0], null);
+    }
+}
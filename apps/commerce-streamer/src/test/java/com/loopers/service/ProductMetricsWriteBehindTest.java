@@ -0,0 +1,175 @@
+package com.loopers.service;
+
+import com.loopers.domain.event.EventHandled;
+import com.loopers.domain.metrics.ProductMetricsDelta;
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ConsumedEvent;
+import com.loopers.repository.ProductMetricsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.event.ConsumerStoppingEvent;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductMetricsWriteBehindTest {
+
+    private static final EventHandled.ConsumerType TYPE = EventHandled.ConsumerType.METRICS_AGGREGATION;
+
+    private ProductMetricsRepository productMetricsRepository;
+    private IdempotentEventService idempotentEventService;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductMetricsWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        productMetricsRepository = mock(ProductMetricsRepository.class);
+        idempotentEventService = mock(IdempotentEventService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writeBehind = new ProductMetricsWriteBehind(
+            productMetricsRepository,
+            idempotentEventService,
+            mock(PlatformTransactionManager.class),
+            new MetricsWriteBehindProperties(true, Duration.ofSeconds(5), 50000),
+            meterRegistry
+        );
+        when(idempotentEventService.claimUnprocessed(anyList(), eq(TYPE)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("여러 폴링의 이벤트를 윈도우 한 번의 upsert 로 반영하고, 반영 후에만 확인응답한다")
+    @SuppressWarnings("unchecked")
+    void flushesWindowOnceAndAcknowledgesAfterWrite() {
+        // given
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+        writeBehind.add(views(0, 3000), first);
+        writeBehind.add(views(3000, 3000), second);
+        verify(first, never()).acknowledge();
+
+        // when
+        writeBehind.flush();
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository, times(1)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(50)
+            .allSatisfy(delta -> assertThat(delta.viewsChange()).isEqualTo(120L));
+        verify(first).acknowledge();
+        verify(second).acknowledge();
+        assertThat(meterRegistry.get("streamer.metrics.write-behind.flush.rows").summary().totalAmount()).isEqualTo(50);
+        assertThat(meterRegistry.get("streamer.metrics.write-behind.pending.keys").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 확인응답하지 않고 다음 윈도우와 합쳐서 다시 반영한다")
+    @SuppressWarnings("unchecked")
+    void keepsWindowWhenFlushFails() {
+        // given
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+        when(productMetricsRepository.upsertAll(anyCollection()))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(1);
+        writeBehind.add(views(0, 100), first);
+        assertThatThrownBy(() -> writeBehind.flush()).isInstanceOf(IllegalStateException.class);
+        writeBehind.add(views(100, 100), second);
+
+        // when
+        writeBehind.flush();
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository, times(2)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(50)
+            .allSatisfy(delta -> assertThat(delta.viewsChange()).isEqualTo(4L));
+        verify(first, times(1)).acknowledge();
+        verify(second, times(1)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("다른 곳에서 이미 처리된 이벤트는 반영 시점에 제외하고 다시 합산한다")
+    @SuppressWarnings("unchecked")
+    void refoldsWhenSomeEventsWereHandledElsewhere() {
+        // given
+        when(idempotentEventService.claimUnprocessed(anyList(), eq(TYPE)))
+            .thenAnswer(invocation -> invocation.<List<ConsumedEvent>>getArgument(0).subList(0, 10));
+        writeBehind.add(views(0, 100), mock(Acknowledgment.class));
+
+        // when
+        writeBehind.flush();
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository).upsertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(ProductMetricsDelta::viewsChange).containsOnly(1L).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("컨슈머가 멈출 때 윈도우를 반영하고 보류 중인 확인응답을 처리한다")
+    void flushesWhenConsumerStops() {
+        // given
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        writeBehind.add(views(0, 100), acknowledgment);
+
+        // when
+        writeBehind.onConsumerStopping(new ConsumerStoppingEvent(this, null, null, List.of()));
+
+        // then
+        verify(productMetricsRepository).upsertAll(anyCollection());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("컨슈머가 멈출 때 반영에 실패하면 확인응답은 버리고 변화량은 다음 윈도우에서 반영한다")
+    @SuppressWarnings("unchecked")
+    void dropsHeldAcknowledgmentsWhenStopFlushFails() {
+        // given
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        when(productMetricsRepository.upsertAll(anyCollection()))
+            .thenThrow(new IllegalStateException("db down"))
+            .thenReturn(1);
+        writeBehind.add(views(0, 100), acknowledgment);
+        writeBehind.onConsumerStopping(new ConsumerStoppingEvent(this, null, null, List.of()));
+
+        // when
+        writeBehind.flush();
+
+        // then
+        ArgumentCaptor<Collection<ProductMetricsDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productMetricsRepository, times(2)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(50);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private List<ConsumedEvent> views(int from, int count) {
+        List<ConsumedEvent> events = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            EventEnvelope envelope = new EventEnvelope()
+                .setEventId("e-" + i)
+                .setEventType("PRODUCT_VIEWED")
+                .setProductId((long) (i % 50));
+            events.add(new ConsumedEvent("catalog-events", 0, i, String.valueOf(i % 50), new byte[0], envelope));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,83 @@
+package com.loopers.service;
+
+import com.loopers.event.schema.EventEnvelope;
+import com.loopers.pipeline.ConsumedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RankingServiceTest {
+
+    private static final String OFFSETS_KEY = "ranking:offsets:test-group";
+
+    private StringRedisTemplate stringRedisTemplate;
+    private RankingService rankingService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        rankingService = new RankingService(mock(RedisTemplate.class), stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Redis 에 기록된 오프셋이 다르면 그 값으로 다시 걸러서 이후 레코드만 반영한다")
+    @SuppressWarnings("unchecked")
+    void refiltersWithStoredOffsetOnConflict() {
+        // given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenReturn(List.of("catalog-events:0", "10"))
+            .thenReturn(List.of());
+
+        // when
+        int applied = rankingService.applyExactlyOnce(views(5, 10), OFFSETS_KEY, LocalDate.now());
+
+        // then
+        assertThat(applied).isEqualTo(4);
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("이미 반영한 오프셋 이하로 재전달된 배치는 Redis 를 호출하지 않는다")
+    @SuppressWarnings("unchecked")
+    void skipsRedeliveredBatch() {
+        // given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenReturn(List.of());
+        rankingService.applyExactlyOnce(views(0, 100), OFFSETS_KEY, LocalDate.now());
+
+        // when
+        int applied = rankingService.applyExactlyOnce(views(50, 50), OFFSETS_KEY, LocalDate.now());
+
+        // then
+        assertThat(applied).isZero();
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    private List<ConsumedEvent> views(int fromOffset, int count) {
+        List<ConsumedEvent> events = new ArrayList<>(count);
+        for (int offset = fromOffset; offset < fromOffset + count; offset++) {
+            EventEnvelope envelope = new EventEnvelope()
+                .setEventId("e-" + offset)
+                .setEventType("PRODUCT_VIEWED")
+                .setProductId((long) (offset % 5));
+            events.add(new ConsumedEvent("catalog-events", 0, offset, "1", new byte[0], envelope));
+        }
+        return events;
+    }
+}
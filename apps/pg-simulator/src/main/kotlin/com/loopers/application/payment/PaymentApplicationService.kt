@@ -6,6 +6,8 @@ import com.loopers.domain.payment.PaymentEventPublisher
 import com.loopers.domain.payment.PaymentRelay
 import com.loopers.domain.payment.PaymentRepository
 import com.loopers.domain.payment.TransactionKeyGenerator
+import com.loopers.domain.simulation.PaymentSimulator
+import com.loopers.domain.simulation.ProcessingResult
 import com.loopers.domain.user.UserInfo
 import com.loopers.support.error.CoreException
 import com.loopers.support.error.ErrorType
@@ -18,12 +20,8 @@ class PaymentApplicationService(
     private val paymentEventPublisher: PaymentEventPublisher,
     private val paymentRelay: PaymentRelay,
     private val transactionKeyGenerator: TransactionKeyGenerator,
+    private val paymentSimulator: PaymentSimulator,
 ) {
-    companion object {
-        private val RATE_LIMIT_EXCEEDED = (1..20)
-        private val RATE_INVALID_CARD = (21..30)
-    }
-
     @Transactional
     fun createTransaction(command: PaymentCommand.CreateTransaction): TransactionInfo {
         command.validate()
@@ -66,16 +64,40 @@ class PaymentApplicationService(
         )
     }
 
+    /**
+     * 다건 결제 조회
+     *
+     * 주문 ID 목록과 트랜잭션 KEY 목록으로 한 번에 조회하여 주문별로 묶어 반환합니다.
+     * 존재하지 않는 주문은 결과에서 제외되므로, 호출 측은 누락된 주문을 "결제건 없음"으로 판단합니다.
+     */
+    @Transactional(readOnly = true)
+    fun findTransactions(userInfo: UserInfo, criteria: PaymentCommand.FindTransactions): List<OrderInfo> {
+        criteria.validate()
+
+        val byOrderId = paymentRepository.findByOrderIds(userId = userInfo.userId, orderIds = criteria.orderIds)
+        val byTransactionKey = paymentRepository.findByTransactionKeys(userId = userInfo.userId, transactionKeys = criteria.transactionKeys)
+
+        return (byOrderId + byTransactionKey)
+            .distinctBy { it.transactionKey }
+            .sortedByDescending { it.updatedAt }
+            .groupBy { it.orderId }
+            .map { (orderId, payments) ->
+                OrderInfo(
+                    orderId = orderId,
+                    transactions = payments.map { TransactionInfo.from(it) },
+                )
+            }
+    }
+
     @Transactional
     fun handle(transactionKey: String) {
         val payment = paymentRepository.findByTransactionKey(transactionKey)
             ?: throw CoreException(ErrorType.NOT_FOUND, "(transactionKey: $transactionKey) 결제건이 존재하지 않습니다.")
 
-        val rate = (1..100).random()
-        when (rate) {
-            in RATE_LIMIT_EXCEEDED -> payment.limitExceeded()
-            in RATE_INVALID_CARD -> payment.invalidCard()
-            else -> payment.approve()
+        when (paymentSimulator.nextProcessingResult(transactionKey)) {
+            ProcessingResult.LIMIT_EXCEEDED -> payment.limitExceeded()
+            ProcessingResult.INVALID_CARD -> payment.invalidCard()
+            ProcessingResult.APPROVED -> payment.approve()
         }
         paymentEventPublisher.publish(event = PaymentEvent.PaymentHandled.from(payment))
     }
@@ -19,4 +19,22 @@ object PaymentCommand {
             }
         }
     }
+
+    data class FindTransactions(
+        val orderIds: Set<String>,
+        val transactionKeys: Set<String>,
+    ) {
+        companion object {
+            const val MAX_LOOKUP_SIZE = 500
+        }
+
+        fun validate() {
+            if (orderIds.isEmpty() && transactionKeys.isEmpty()) {
+                throw CoreException(ErrorType.BAD_REQUEST, "조회할 주문 ID 또는 트랜잭션 KEY가 필요합니다.")
+            }
+            if (orderIds.size + transactionKeys.size > MAX_LOOKUP_SIZE) {
+                throw CoreException(ErrorType.BAD_REQUEST, "한 번에 최대 ${MAX_LOOKUP_SIZE}건까지 조회할 수 있습니다.")
+            }
+        }
+    }
 }
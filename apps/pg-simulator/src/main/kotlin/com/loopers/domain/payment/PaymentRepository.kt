@@ -5,4 +5,9 @@ interface PaymentRepository {
     fun findByTransactionKey(transactionKey: String): Payment?
     fun findByTransactionKey(userId: String, transactionKey: String): Payment?
     fun findByOrderId(userId: String, orderId: String): List<Payment>
+    fun findByOrderIds(userId: String, orderIds: Collection<String>): List<Payment>
+    fun findByTransactionKeys(userId: String, transactionKeys: Collection<String>): List<Payment>
+
+    /** prefix 로 시작하는 트랜잭션 KEY 중 사전순으로 가장 큰 값 (KEY 생성기의 재기동 시 시퀀스 복원용) */
+    fun findLastTransactionKeyStartingWith(prefix: String): String?
 }
@@ -1,20 +1,84 @@
 package com.loopers.domain.payment
 
+import com.loopers.support.error.CoreException
+import com.loopers.support.error.ErrorType
 import org.springframework.stereotype.Component
-import java.time.LocalDateTime
+import java.time.Clock
+import java.time.LocalDate
+import java.time.ZoneId
 import java.time.format.DateTimeFormatter
-import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 
+/**
+ * 트랜잭션 KEY 생성기
+ *
+ * `yyyyMMdd:TR:xxxxxx` 형식을 유지하되, 뒤 6자리를 36진수 [노드 ID 1자리 + 일별 시퀀스 5자리]로 구성한다.
+ * 날짜와 시퀀스를 하나의 AtomicLong 에 담아 CAS 로 갱신하므로 락 없이 단조 증가하며,
+ * 같은 노드 안에서는 하루 약 6천만 건까지 중복이 발생하지 않는다.
+ * 시계가 뒤로 가더라도 마지막으로 발급한 날짜를 유지해 이미 발급한 KEY 를 재사용하지 않는다.
+ * 같은 날 재기동하면 저장소에 남은 이 노드의 마지막 KEY(high-water mark) 다음 시퀀스부터 이어서 발급한다.
+ * 36진수 0-9a-z 는 문자 코드 순서와 숫자 크기 순서가 같으므로, 같은 접두어 안에서는 사전순 최댓값이 최대 시퀀스다.
+ */
 @Component
-class TransactionKeyGenerator {
+class TransactionKeyGenerator(
+    properties: TransactionKeyProperties,
+    paymentRepository: PaymentRepository,
+    private val clock: Clock = Clock.system(ZoneId.of("Asia/Seoul")),
+) {
     companion object {
         private const val KEY_TRANSACTION = "TR"
+        private const val RADIX = 36
+        private const val SEQUENCE_LENGTH = 5
         private val DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd")
+
+        /** 36^5 : 노드당 하루 최대 발급 수 */
+        const val MAX_SEQUENCE_PER_DAY = 60_466_176L
+        private const val SEQUENCE_BITS = 32
+        private const val SEQUENCE_MASK = (1L shl SEQUENCE_BITS) - 1
+    }
+
+    private val nodeChar: Char
+    private val formattedDates = ConcurrentHashMap<Long, String>()
+
+    /** 상위 32비트: epoch day, 하위 32비트: 해당 일자에 다음으로 발급할 시퀀스 */
+    private val state = AtomicLong()
+
+    init {
+        require(properties.nodeId in 0 until RADIX) { "노드 ID 는 0 ~ ${RADIX - 1} 사이여야 합니다." }
+        nodeChar = Character.forDigit(properties.nodeId, RADIX)
+
+        val today = LocalDate.now(clock).toEpochDay()
+        val nextSequence = paymentRepository.findLastTransactionKeyStartingWith(prefix(today))
+            ?.let { java.lang.Long.parseLong(it.substring(it.length - SEQUENCE_LENGTH), RADIX) + 1 }
+            ?: 0L
+        state.set((today shl SEQUENCE_BITS) or nextSequence)
     }
 
     fun generate(): String {
-        val now = LocalDateTime.now()
-        val uuid = UUID.randomUUID().toString().replace("-", "").substring(0, 6)
-        return "${DATETIME_FORMATTER.format(now)}:$KEY_TRANSACTION:$uuid"
+        val today = LocalDate.now(clock).toEpochDay()
+        while (true) {
+            val current = state.get()
+            val currentDay = current ushr SEQUENCE_BITS
+            val (day, sequence) = if (today > currentDay) today to 0L else currentDay to (current and SEQUENCE_MASK)
+
+            if (sequence >= MAX_SEQUENCE_PER_DAY) {
+                throw CoreException(ErrorType.SERVICE_UNAVAILABLE, "금일 발급 가능한 트랜잭션 KEY 를 모두 사용했습니다.")
+            }
+            if (state.compareAndSet(current, (day shl SEQUENCE_BITS) or (sequence + 1))) {
+                return format(day, sequence)
+            }
+        }
+    }
+
+    private fun format(epochDay: Long, sequence: Long): String {
+        val encoded = java.lang.Long.toString(sequence, RADIX).padStart(SEQUENCE_LENGTH, '0')
+        return prefix(epochDay) + encoded
+    }
+
+    /** `yyyyMMdd:TR:{노드 ID}` */
+    private fun prefix(epochDay: Long): String {
+        val date = formattedDates.computeIfAbsent(epochDay) { DATETIME_FORMATTER.format(LocalDate.ofEpochDay(it)) }
+        return "$date:$KEY_TRANSACTION:$nodeChar"
     }
 }
@@ -0,0 +1,14 @@
+package com.loopers.domain.payment
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.boot.context.properties.bind.DefaultValue
+
+/**
+ * 트랜잭션 KEY 생성 설정
+ *
+ * @param nodeId 시뮬레이터 인스턴스 식별자 (0 ~ 35). 인스턴스마다 다르게 지정해야 KEY 가 겹치지 않는다.
+ */
+@ConfigurationProperties(prefix = "pg.transaction-key")
+data class TransactionKeyProperties(
+    @DefaultValue("0") val nodeId: Int,
+)
@@ -0,0 +1,77 @@
+package com.loopers.domain.simulation
+
+import com.fasterxml.jackson.annotation.JsonSubTypes
+import com.fasterxml.jackson.annotation.JsonTypeInfo
+import java.util.random.RandomGenerator
+import kotlin.math.exp
+
+/**
+ * 지연 시간 분포
+ * 관리자 API 에서 `type` 필드로 분포 종류를 지정한다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes(
+    JsonSubTypes.Type(value = LatencyDistribution.Fixed::class, name = "FIXED"),
+    JsonSubTypes.Type(value = LatencyDistribution.Uniform::class, name = "UNIFORM"),
+    JsonSubTypes.Type(value = LatencyDistribution.LogNormal::class, name = "LOG_NORMAL"),
+    JsonSubTypes.Type(value = LatencyDistribution.Bimodal::class, name = "BIMODAL"),
+)
+sealed interface LatencyDistribution {
+    companion object {
+        /** 분포 꼬리가 비정상적으로 길어지지 않도록 하는 상한 */
+        const val MAX_LATENCY_MILLIS = 120_000L
+    }
+
+    fun sample(random: RandomGenerator): Long
+
+    fun validate()
+
+    data class Fixed(val millis: Long) : LatencyDistribution {
+        override fun sample(random: RandomGenerator): Long = millis
+
+        override fun validate() {
+            require(millis >= 0) { "지연 시간은 0 이상이어야 합니다." }
+        }
+    }
+
+    data class Uniform(val minMillis: Long, val maxMillis: Long) : LatencyDistribution {
+        override fun sample(random: RandomGenerator): Long =
+            if (minMillis == maxMillis) minMillis else random.nextLong(minMillis, maxMillis + 1)
+
+        override fun validate() {
+            require(minMillis in 0..maxMillis) { "최소 지연 시간은 0 이상, 최대 지연 시간 이하여야 합니다." }
+        }
+    }
+
+    /**
+     * 중앙값과 표준편차(sigma)로 정의되는 로그 정규 분포
+     * 대부분의 요청은 중앙값 근처에서 끝나지만 소수의 요청이 긴 꼬리를 만든다.
+     */
+    data class LogNormal(val medianMillis: Long, val sigma: Double) : LatencyDistribution {
+        override fun sample(random: RandomGenerator): Long =
+            (medianMillis * exp(sigma * random.nextGaussian())).toLong().coerceIn(0, MAX_LATENCY_MILLIS)
+
+        override fun validate() {
+            require(medianMillis > 0) { "중앙값은 0보다 커야 합니다." }
+            require(sigma >= 0) { "sigma 는 0 이상이어야 합니다." }
+        }
+    }
+
+    /**
+     * 빠른 경로와 느린 경로가 섞인 분포 (예: 캐시 적중/미적중, 일부 노드 장애)
+     */
+    data class Bimodal(
+        val fast: LatencyDistribution,
+        val slow: LatencyDistribution,
+        val slowRatio: Double,
+    ) : LatencyDistribution {
+        override fun sample(random: RandomGenerator): Long =
+            if (random.nextDouble() < slowRatio) slow.sample(random) else fast.sample(random)
+
+        override fun validate() {
+            require(slowRatio in 0.0..1.0) { "느린 경로 비율은 0 ~ 1 사이여야 합니다." }
+            fast.validate()
+            slow.validate()
+        }
+    }
+}
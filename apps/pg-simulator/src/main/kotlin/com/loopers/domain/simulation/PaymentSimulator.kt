@@ -0,0 +1,109 @@
+package com.loopers.domain.simulation
+
+import com.loopers.support.error.CoreException
+import com.loopers.support.error.ErrorType
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.SplittableRandom
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * 현재 시뮬레이션 프로파일에 따라 지연 시간과 장애 여부를 결정한다.
+ *
+ * 난수 생성기를 요청 간에 공유하지 않고, 시드에서 파생한 [SplittableRandom] 을 요청마다 새로 만든다.
+ * - 요청 단계: 프로파일 적용 후 n 번째 요청의 결과는 (시드, n) 으로 정해진다.
+ * - 처리 단계: 결과가 (시드, 트랜잭션 KEY) 로 정해지므로 처리 순서가 뒤섞여도 같은 결제는 같은 지연과 결과를 얻는다.
+ * 프로파일과 요청 순번은 한 쌍으로 교체되므로, 교체 직후부터는 새 시드 기준으로 결과가 재현된다.
+ */
+@Component
+class PaymentSimulator(
+    properties: SimulationProperties,
+) {
+    companion object {
+        private val logger = LoggerFactory.getLogger(PaymentSimulator::class.java)
+
+        /** SplittableRandom 의 시드 증분(황금비) - 인접한 순번/해시를 서로 멀리 떨어진 시드로 퍼뜨린다 */
+        private const val GOLDEN_GAMMA = -0x61c8864680b583ebL
+    }
+
+    private class ActiveProfile(
+        val profile: SimulationProfile,
+        val seed: Long,
+        val requestSequence: AtomicLong = AtomicLong(),
+    )
+
+    private val active: AtomicReference<ActiveProfile>
+
+    init {
+        val profile = SimulationProfile.PRESETS[properties.profile]
+            ?: throw IllegalArgumentException("존재하지 않는 시뮬레이션 프로파일입니다: ${properties.profile}")
+        active = AtomicReference(ActiveProfile(profile, properties.seed))
+    }
+
+    val currentProfile: SimulationProfile
+        get() = active.get().profile
+
+    val currentSeed: Long
+        get() = active.get().seed
+
+    fun switch(profile: SimulationProfile, seed: Long) {
+        runCatching { profile.validate() }
+            .onFailure { throw CoreException(ErrorType.BAD_REQUEST, it.message) }
+        active.set(ActiveProfile(profile, seed))
+        logger.info("시뮬레이션 프로파일 변경: profile={}, seed={}", profile.name, seed)
+    }
+
+    fun switch(presetName: String, seed: Long) {
+        val profile = SimulationProfile.PRESETS[presetName]
+            ?: throw CoreException(ErrorType.NOT_FOUND, "존재하지 않는 시뮬레이션 프로파일입니다: $presetName")
+        switch(profile, seed)
+    }
+
+    /** 결제 요청 1건의 응답 지연과 장애 */
+    fun nextRequest(): RequestSimulation {
+        val current = active.get()
+        val random = SplittableRandom(current.seed + current.requestSequence.getAndIncrement() * GOLDEN_GAMMA)
+        val latency = Duration.ofMillis(current.profile.requestLatency.sample(random))
+        return RequestSimulation(latency = latency, fault = requestFault(current.profile, random.nextDouble()))
+    }
+
+    fun timeout(): Duration = Duration.ofMillis(currentProfile.timeoutMillis)
+
+    fun nextProcessingLatency(transactionKey: String): Duration {
+        val current = active.get()
+        val (latencyRandom, _) = processingRandoms(current.seed, transactionKey)
+        return Duration.ofMillis(current.profile.processingLatency.sample(latencyRandom))
+    }
+
+    fun nextProcessingResult(transactionKey: String): ProcessingResult {
+        val current = active.get()
+        val (_, resultRandom) = processingRandoms(current.seed, transactionKey)
+        val roll = resultRandom.nextDouble()
+        return when {
+            roll < current.profile.limitExceededRate -> ProcessingResult.LIMIT_EXCEEDED
+            roll < current.profile.limitExceededRate + current.profile.invalidCardRate -> ProcessingResult.INVALID_CARD
+            else -> ProcessingResult.APPROVED
+        }
+    }
+
+    private fun requestFault(profile: SimulationProfile, roll: Double): RequestFault {
+        var remaining = roll
+        remaining -= profile.internalErrorRate
+        if (remaining < 0) return RequestFault.INTERNAL_ERROR
+        remaining -= profile.tooManyRequestsRate
+        if (remaining < 0) return RequestFault.TOO_MANY_REQUESTS
+        remaining -= profile.serviceUnavailableRate
+        if (remaining < 0) return RequestFault.SERVICE_UNAVAILABLE
+        remaining -= profile.timeoutRate
+        if (remaining < 0) return RequestFault.TIMEOUT
+        return RequestFault.NONE
+    }
+
+    /** 트랜잭션 KEY 에서 파생한 (처리 지연용, 처리 결과용) 난수 생성기 - 지연 분포가 소비하는 난수 수와 무관하게 결과가 정해진다 */
+    private fun processingRandoms(seed: Long, transactionKey: String): Pair<SplittableRandom, SplittableRandom> {
+        val root = SplittableRandom(seed + transactionKey.hashCode() * GOLDEN_GAMMA)
+        return root.split() to root.split()
+    }
+}
@@ -0,0 +1,25 @@
+package com.loopers.domain.simulation
+
+import java.time.Duration
+
+/** 결제 요청 1건에 주입할 응답 지연과 장애 */
+data class RequestSimulation(
+    val latency: Duration,
+    val fault: RequestFault,
+)
+
+/** 결제 요청 단계에서 주입되는 장애 */
+enum class RequestFault {
+    NONE,
+    INTERNAL_ERROR,
+    TOO_MANY_REQUESTS,
+    SERVICE_UNAVAILABLE,
+    TIMEOUT,
+}
+
+/** 결제 처리 단계의 결과 */
+enum class ProcessingResult {
+    APPROVED,
+    LIMIT_EXCEEDED,
+    INVALID_CARD,
+}
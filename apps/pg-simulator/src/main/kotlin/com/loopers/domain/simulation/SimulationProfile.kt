@@ -0,0 +1,82 @@
+package com.loopers.domain.simulation
+
+/**
+ * PG 동작 프로파일
+ *
+ * 요청 단계(결제 요청 API)와 처리 단계(결제 결과 결정)의 지연 분포 및 장애 비율을 정의한다.
+ * 비율은 모두 0 ~ 1 사이 값이며, 같은 단계의 비율 합은 1을 넘을 수 없다.
+ *
+ * @param timeoutRate 요청이 [timeoutMillis] 만큼 지연된 뒤 처리되는 비율. 클라이언트는 타임아웃으로 포기했지만
+ *   결제건은 생성되는 상황을 재현한다.
+ */
+data class SimulationProfile(
+    val name: String,
+    val requestLatency: LatencyDistribution,
+    val internalErrorRate: Double = 0.0,
+    val tooManyRequestsRate: Double = 0.0,
+    val serviceUnavailableRate: Double = 0.0,
+    val timeoutRate: Double = 0.0,
+    val timeoutMillis: Long = 10_000,
+    val processingLatency: LatencyDistribution,
+    val limitExceededRate: Double = 0.0,
+    val invalidCardRate: Double = 0.0,
+) {
+    companion object {
+        /** 기존 시뮬레이터 동작: 요청 100~500ms, 요청 실패 40%, 처리 1~5초, 한도초과 20%, 잘못된 카드 10% */
+        val NORMAL = SimulationProfile(
+            name = "normal",
+            requestLatency = LatencyDistribution.Uniform(100, 500),
+            internalErrorRate = 0.4,
+            processingLatency = LatencyDistribution.Uniform(1000, 5000),
+            limitExceededRate = 0.2,
+            invalidCardRate = 0.1,
+        )
+
+        /** 장애 없이 빠르게 응답 (부하 테스트에서 PG를 병목에서 제외할 때) */
+        val STABLE = SimulationProfile(
+            name = "stable",
+            requestLatency = LatencyDistribution.Fixed(50),
+            processingLatency = LatencyDistribution.Fixed(500),
+        )
+
+        /** 부분 장애: 긴 꼬리 지연, 429/503, 타임아웃이 섞여 발생 */
+        val BROWNOUT = SimulationProfile(
+            name = "brownout",
+            requestLatency = LatencyDistribution.LogNormal(medianMillis = 800, sigma = 0.8),
+            internalErrorRate = 0.1,
+            tooManyRequestsRate = 0.2,
+            serviceUnavailableRate = 0.2,
+            timeoutRate = 0.1,
+            processingLatency = LatencyDistribution.Bimodal(
+                fast = LatencyDistribution.Uniform(1000, 3000),
+                slow = LatencyDistribution.LogNormal(medianMillis = 15_000, sigma = 0.5),
+                slowRatio = 0.3,
+            ),
+            limitExceededRate = 0.2,
+            invalidCardRate = 0.1,
+        )
+
+        /** 전면 장애: 모든 요청이 503 */
+        val OUTAGE = SimulationProfile(
+            name = "outage",
+            requestLatency = LatencyDistribution.Fixed(0),
+            serviceUnavailableRate = 1.0,
+            processingLatency = LatencyDistribution.Fixed(0),
+        )
+
+        val PRESETS: Map<String, SimulationProfile> = listOf(NORMAL, STABLE, BROWNOUT, OUTAGE).associateBy { it.name }
+    }
+
+    fun validate() {
+        require(name.isNotBlank()) { "프로파일 이름은 필수입니다." }
+        listOf(internalErrorRate, tooManyRequestsRate, serviceUnavailableRate, timeoutRate, limitExceededRate, invalidCardRate)
+            .forEach { require(it in 0.0..1.0) { "비율은 0 ~ 1 사이여야 합니다." } }
+        require(internalErrorRate + tooManyRequestsRate + serviceUnavailableRate + timeoutRate <= 1.0) {
+            "요청 단계 장애 비율의 합은 1을 넘을 수 없습니다."
+        }
+        require(limitExceededRate + invalidCardRate <= 1.0) { "처리 단계 실패 비율의 합은 1을 넘을 수 없습니다." }
+        require(timeoutMillis >= 0) { "타임아웃 지연 시간은 0 이상이어야 합니다." }
+        requestLatency.validate()
+        processingLatency.validate()
+    }
+}
@@ -0,0 +1,16 @@
+package com.loopers.domain.simulation
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.boot.context.properties.bind.DefaultValue
+
+/**
+ * 기동 시 적용할 시뮬레이션 프로파일
+ *
+ * @param profile 프리셋 이름 (normal, stable, brownout, outage)
+ * @param seed 난수 시드. 같은 시드라면 n 번째 요청과 같은 트랜잭션 KEY 의 처리 결과가 재현된다.
+ */
+@ConfigurationProperties(prefix = "pg.simulation")
+data class SimulationProperties(
+    @DefaultValue("normal") val profile: String,
+    @DefaultValue("42") val seed: Long,
+)
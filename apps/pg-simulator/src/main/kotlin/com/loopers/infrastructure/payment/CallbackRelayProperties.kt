@@ -0,0 +1,22 @@
+package com.loopers.infrastructure.payment
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.boot.context.properties.bind.DefaultValue
+import java.time.Duration
+
+/**
+ * 결제 결과 콜백 전송 설정
+ *
+ * @param maxConcurrency 동시에 전송 중인 콜백 수 상한
+ * @param maxAttempts 최초 시도를 포함한 최대 전송 횟수
+ * @param initialBackoff 첫 재시도 대기 시간 (이후 [backoffMultiplier] 배씩 증가)
+ */
+@ConfigurationProperties(prefix = "pg.callback")
+data class CallbackRelayProperties(
+    @DefaultValue("200") val maxConcurrency: Int,
+    @DefaultValue("1s") val connectTimeout: Duration,
+    @DefaultValue("3s") val readTimeout: Duration,
+    @DefaultValue("3") val maxAttempts: Int,
+    @DefaultValue("200ms") val initialBackoff: Duration,
+    @DefaultValue("2.0") val backoffMultiplier: Double,
+)
@@ -0,0 +1,49 @@
+package com.loopers.infrastructure.payment
+
+import com.loopers.domain.payment.Payment
+import com.loopers.domain.payment.PaymentRepository
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Component
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 부하 테스트용 인메모리 결제 저장소 (`pg.storage.mode=memory`)
+ *
+ * 트랜잭션 KEY 기준 맵과 (유저, 주문) 기준 보조 인덱스로 조회한다.
+ * 결제 엔티티는 참조로 보관되므로 상태 변경은 별도 저장 없이 바로 반영되며, 재기동 시 모두 사라진다.
+ */
+@Component
+@ConditionalOnProperty(name = ["pg.storage.mode"], havingValue = "memory")
+class InMemoryPaymentRepository : PaymentRepository {
+    private data class UserOrderKey(val userId: String, val orderId: String)
+
+    private val byTransactionKey = ConcurrentHashMap<String, Payment>()
+    private val byUserOrder = ConcurrentHashMap<UserOrderKey, MutableSet<String>>()
+
+    override fun save(payment: Payment): Payment {
+        byTransactionKey[payment.transactionKey] = payment
+        byUserOrder.computeIfAbsent(UserOrderKey(payment.userId, payment.orderId)) { ConcurrentHashMap.newKeySet() }
+            .add(payment.transactionKey)
+        return payment
+    }
+
+    override fun findByTransactionKey(transactionKey: String): Payment? = byTransactionKey[transactionKey]
+
+    override fun findByTransactionKey(userId: String, transactionKey: String): Payment? =
+        byTransactionKey[transactionKey]?.takeIf { it.userId == userId }
+
+    override fun findByOrderId(userId: String, orderId: String): List<Payment> =
+        findByUserOrder(UserOrderKey(userId, orderId)).sortedByDescending { it.updatedAt }
+
+    override fun findByOrderIds(userId: String, orderIds: Collection<String>): List<Payment> =
+        orderIds.flatMap { findByUserOrder(UserOrderKey(userId, it)) }
+
+    override fun findByTransactionKeys(userId: String, transactionKeys: Collection<String>): List<Payment> =
+        transactionKeys.mapNotNull { findByTransactionKey(userId, it) }
+
+    override fun findLastTransactionKeyStartingWith(prefix: String): String? =
+        byTransactionKey.keys.filter { it.startsWith(prefix) }.maxOrNull()
+
+    private fun findByUserOrder(key: UserOrderKey): List<Payment> =
+        byUserOrder[key].orEmpty().mapNotNull { byTransactionKey[it] }
+}
@@ -2,20 +2,112 @@ package com.loopers.infrastructure.payment
 
 import com.loopers.application.payment.TransactionInfo
 import com.loopers.domain.payment.PaymentRelay
+import com.loopers.support.scheduling.DelayedTaskScheduler
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import jakarta.annotation.PreDestroy
 import org.slf4j.LoggerFactory
+import org.springframework.http.MediaType
+import org.springframework.http.client.JdkClientHttpRequestFactory
 import org.springframework.stereotype.Component
-import org.springframework.web.client.RestTemplate
+import org.springframework.web.client.HttpClientErrorException
+import org.springframework.web.client.RestClient
+import java.net.http.HttpClient
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.math.pow
 
+/**
+ * 결제 결과 콜백 전송기
+ *
+ * JDK HttpClient 의 keep-alive 커넥션 풀을 공유하고, 전송은 가상 스레드에서 비동기로 수행한다.
+ * 동시 전송 수는 [CallbackRelayProperties.maxConcurrency] 로 제한하며,
+ * 네트워크 오류/5xx 는 지수 백오프로 재시도한다. 4xx 는 재시도해도 결과가 같으므로 바로 포기한다.
+ */
 @Component
-class PaymentCoreRelay : PaymentRelay {
+class PaymentCoreRelay(
+    private val properties: CallbackRelayProperties,
+    private val delayedTaskScheduler: DelayedTaskScheduler,
+    meterRegistry: MeterRegistry,
+) : PaymentRelay {
     companion object {
         private val logger = LoggerFactory.getLogger(PaymentCoreRelay::class.java)
-        private val restTemplate = RestTemplate()
+    }
+
+    private val executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pg-callback-", 0).factory())
+    private val restClient: RestClient = RestClient.builder()
+        .requestFactory(
+            JdkClientHttpRequestFactory(
+                HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.connectTimeout)
+                    .executor(executor)
+                    .build(),
+            ).apply { setReadTimeout(properties.readTimeout) },
+        )
+        .build()
+    private val permits = Semaphore(properties.maxConcurrency)
+    private val inFlight = AtomicInteger()
+
+    private val deliveredCounter = Counter.builder("pg.callback.delivered").register(meterRegistry)
+    private val failedCounter = Counter.builder("pg.callback.failed").register(meterRegistry)
+    private val retriedCounter = Counter.builder("pg.callback.retried").register(meterRegistry)
+    private val latencyTimer = Timer.builder("pg.callback.latency").register(meterRegistry)
+
+    init {
+        Gauge.builder("pg.callback.inflight", inFlight) { it.get().toDouble() }.register(meterRegistry)
     }
 
     override fun notify(callbackUrl: String, transactionInfo: TransactionInfo) {
-        runCatching {
-            restTemplate.postForEntity(callbackUrl, transactionInfo, Any::class.java)
-        }.onFailure { e -> logger.error("콜백 호출을 실패했습니다. {}", e.message, e) }
+        executor.execute { deliver(callbackUrl, transactionInfo, attempt = 1) }
+    }
+
+    private fun deliver(callbackUrl: String, transactionInfo: TransactionInfo, attempt: Int) {
+        permits.acquire()
+        inFlight.incrementAndGet()
+        val result = try {
+            runCatching {
+                latencyTimer.recordCallable {
+                    restClient.post()
+                        .uri(callbackUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(transactionInfo)
+                        .retrieve()
+                        .toBodilessEntity()
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet()
+            permits.release()
+        }
+
+        result
+            .onSuccess { deliveredCounter.increment() }
+            .onFailure { e ->
+                if (e is HttpClientErrorException || attempt >= properties.maxAttempts) {
+                    failedCounter.increment()
+                    logger.error("콜백 호출을 실패했습니다. (transactionKey: {}, 시도: {}) {}",
+                        transactionInfo.transactionKey, attempt, e.message, e)
+                    return
+                }
+                retriedCounter.increment()
+                delayedTaskScheduler.schedule(backoff(attempt)) {
+                    executor.execute { deliver(callbackUrl, transactionInfo, attempt + 1) }
+                }
+            }
+    }
+
+    private fun backoff(attempt: Int): Duration =
+        Duration.ofMillis((properties.initialBackoff.toMillis() * properties.backoffMultiplier.pow(attempt - 1)).toLong())
+
+    @PreDestroy
+    fun shutdown() {
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
     }
 }
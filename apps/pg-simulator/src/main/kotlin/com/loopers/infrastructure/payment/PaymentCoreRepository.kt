@@ -2,11 +2,13 @@ package com.loopers.infrastructure.payment
 
 import com.loopers.domain.payment.Payment
 import com.loopers.domain.payment.PaymentRepository
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.stereotype.Component
 import org.springframework.transaction.annotation.Transactional
 import kotlin.jvm.optionals.getOrNull
 
 @Component
+@ConditionalOnProperty(name = ["pg.storage.mode"], havingValue = "jpa", matchIfMissing = true)
 class PaymentCoreRepository(
     private val paymentJpaRepository: PaymentJpaRepository,
 ) : PaymentRepository {
@@ -25,8 +27,25 @@ class PaymentCoreRepository(
         return paymentJpaRepository.findByUserIdAndTransactionKey(userId, transactionKey)
     }
 
+    @Transactional(readOnly = true)
     override fun findByOrderId(userId: String, orderId: String): List<Payment> {
-        return paymentJpaRepository.findByUserIdAndOrderId(userId, orderId)
-            .sortedByDescending { it.updatedAt }
+        return paymentJpaRepository.findByUserIdAndOrderIdOrderByUpdatedAtDesc(userId, orderId)
+    }
+
+    @Transactional(readOnly = true)
+    override fun findByOrderIds(userId: String, orderIds: Collection<String>): List<Payment> {
+        if (orderIds.isEmpty()) return emptyList()
+        return paymentJpaRepository.findByUserIdAndOrderIdIn(userId, orderIds)
+    }
+
+    @Transactional(readOnly = true)
+    override fun findByTransactionKeys(userId: String, transactionKeys: Collection<String>): List<Payment> {
+        if (transactionKeys.isEmpty()) return emptyList()
+        return paymentJpaRepository.findByUserIdAndTransactionKeyIn(userId, transactionKeys)
+    }
+
+    @Transactional(readOnly = true)
+    override fun findLastTransactionKeyStartingWith(prefix: String): String? {
+        return paymentJpaRepository.findFirstByTransactionKeyStartingWithOrderByTransactionKeyDesc(prefix)?.transactionKey
     }
 }
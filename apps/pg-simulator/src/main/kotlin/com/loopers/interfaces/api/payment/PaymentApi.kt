@@ -2,6 +2,8 @@ package com.loopers.interfaces.api.payment
 
 import com.loopers.application.payment.PaymentApplicationService
 import com.loopers.interfaces.api.ApiResponse
+import com.loopers.domain.simulation.PaymentSimulator
+import com.loopers.domain.simulation.RequestFault
 import com.loopers.domain.user.UserInfo
 import com.loopers.support.error.CoreException
 import com.loopers.support.error.ErrorType
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController
 @RequestMapping("/api/v1/payments")
 class PaymentApi(
     private val paymentApplicationService: PaymentApplicationService,
+    private val paymentSimulator: PaymentSimulator,
 ) {
     @PostMapping
     fun request(
@@ -25,12 +28,19 @@ class PaymentApi(
     ): ApiResponse<PaymentDto.TransactionResponse> {
         request.validate()
 
-        // 100ms ~ 500ms 지연
-        Thread.sleep((100..500L).random())
-
-        // 40% 확률로 요청 실패
-        if ((1..100).random() <= 40) {
-            throw CoreException(ErrorType.INTERNAL_ERROR, "현재 서버가 불안정합니다. 잠시 후 다시 시도해주세요.")
+        // 현재 시뮬레이션 프로파일에 따른 응답 지연 및 장애 주입
+        val simulation = paymentSimulator.nextRequest()
+        Thread.sleep(simulation.latency.toMillis())
+        when (simulation.fault) {
+            RequestFault.INTERNAL_ERROR ->
+                throw CoreException(ErrorType.INTERNAL_ERROR, "현재 서버가 불안정합니다. 잠시 후 다시 시도해주세요.")
+            RequestFault.TOO_MANY_REQUESTS ->
+                throw CoreException(ErrorType.TOO_MANY_REQUESTS, "요청량이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")
+            RequestFault.SERVICE_UNAVAILABLE ->
+                throw CoreException(ErrorType.SERVICE_UNAVAILABLE, "PG 점검 중입니다. 잠시 후 다시 시도해주세요.")
+            // 클라이언트는 타임아웃으로 포기하지만 결제건은 생성된다
+            RequestFault.TIMEOUT -> Thread.sleep(paymentSimulator.timeout().toMillis())
+            RequestFault.NONE -> Unit
         }
 
         return paymentApplicationService.createTransaction(request.toCommand(userInfo.userId))
@@ -57,4 +67,14 @@ class PaymentApi(
             .let { PaymentDto.OrderResponse.from(it) }
             .let { ApiResponse.success(it) }
     }
+
+    @PostMapping("/search")
+    fun searchTransactions(
+        userInfo: UserInfo,
+        @RequestBody request: PaymentDto.TransactionSearchRequest,
+    ): ApiResponse<PaymentDto.OrdersResponse> {
+        return paymentApplicationService.findTransactions(userInfo, request.toCommand())
+            .let { PaymentDto.OrdersResponse.from(it) }
+            .let { ApiResponse.success(it) }
+    }
 }
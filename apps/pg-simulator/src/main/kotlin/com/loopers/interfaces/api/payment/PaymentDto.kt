@@ -47,6 +47,17 @@ object PaymentDto {
             )
     }
 
+    data class TransactionSearchRequest(
+        val orderIds: List<String> = emptyList(),
+        val transactionKeys: List<String> = emptyList(),
+    ) {
+        fun toCommand(): PaymentCommand.FindTransactions =
+            PaymentCommand.FindTransactions(
+                orderIds = orderIds.toSet(),
+                transactionKeys = transactionKeys.toSet(),
+            )
+    }
+
     data class TransactionDetailResponse(
         val transactionKey: String,
         val orderId: String,
@@ -98,6 +109,15 @@ object PaymentDto {
         }
     }
 
+    data class OrdersResponse(
+        val orders: List<OrderResponse>,
+    ) {
+        companion object {
+            fun from(orderInfos: List<OrderInfo>): OrdersResponse =
+                OrdersResponse(orders = orderInfos.map { OrderResponse.from(it) })
+        }
+    }
+
     enum class CardTypeDto {
         SAMSUNG,
         KB,
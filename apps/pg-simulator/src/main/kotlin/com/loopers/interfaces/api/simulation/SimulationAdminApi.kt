@@ -0,0 +1,49 @@
+package com.loopers.interfaces.api.simulation
+
+import com.loopers.domain.simulation.PaymentSimulator
+import com.loopers.domain.simulation.SimulationProfile
+import com.loopers.interfaces.api.ApiResponse
+import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.PathVariable
+import org.springframework.web.bind.annotation.PutMapping
+import org.springframework.web.bind.annotation.RequestBody
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestParam
+import org.springframework.web.bind.annotation.RestController
+
+/**
+ * 시뮬레이션 프로파일 관리 API
+ * 재기동 없이 지연/장애 프로파일을 교체해 PG 부분 장애 상황을 재현한다.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/simulation")
+class SimulationAdminApi(
+    private val paymentSimulator: PaymentSimulator,
+) {
+    @GetMapping
+    fun getProfile(): ApiResponse<SimulationDto.ProfileResponse> = ApiResponse.success(currentProfile())
+
+    @PutMapping("/presets/{name}")
+    fun switchPreset(
+        @PathVariable("name") name: String,
+        @RequestParam("seed", required = false) seed: Long?,
+    ): ApiResponse<SimulationDto.ProfileResponse> {
+        paymentSimulator.switch(presetName = name, seed = seed ?: paymentSimulator.currentSeed)
+        return ApiResponse.success(currentProfile())
+    }
+
+    @PutMapping
+    fun switchProfile(
+        @RequestBody request: SimulationDto.ProfileRequest,
+    ): ApiResponse<SimulationDto.ProfileResponse> {
+        paymentSimulator.switch(profile = request.profile, seed = request.seed)
+        return ApiResponse.success(currentProfile())
+    }
+
+    private fun currentProfile(): SimulationDto.ProfileResponse =
+        SimulationDto.ProfileResponse(
+            profile = paymentSimulator.currentProfile,
+            seed = paymentSimulator.currentSeed,
+            presets = SimulationProfile.PRESETS.keys,
+        )
+}
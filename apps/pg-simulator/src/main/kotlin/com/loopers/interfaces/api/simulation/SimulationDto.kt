@@ -0,0 +1,16 @@
+package com.loopers.interfaces.api.simulation
+
+import com.loopers.domain.simulation.SimulationProfile
+
+object SimulationDto {
+    data class ProfileRequest(
+        val profile: SimulationProfile,
+        val seed: Long,
+    )
+
+    data class ProfileResponse(
+        val profile: SimulationProfile,
+        val seed: Long,
+        val presets: Set<String>,
+    )
+}
@@ -2,6 +2,8 @@ package com.loopers.interfaces.event.payment
 
 import com.loopers.application.payment.PaymentApplicationService
 import com.loopers.domain.payment.PaymentEvent
+import com.loopers.domain.simulation.PaymentSimulator
+import com.loopers.support.scheduling.DelayedTaskScheduler
 import org.springframework.scheduling.annotation.Async
 import org.springframework.stereotype.Component
 import org.springframework.transaction.event.TransactionPhase
@@ -10,14 +12,18 @@ import org.springframework.transaction.event.TransactionalEventListener
 @Component
 class PaymentEventListener(
     private val paymentApplicationService: PaymentApplicationService,
+    private val delayedTaskScheduler: DelayedTaskScheduler,
+    private val paymentSimulator: PaymentSimulator,
 ) {
-    @Async
+    /**
+     * PG 처리 지연을 흉내내기 위해 결제 처리를 타이머에 등록한다.
+     * 스레드를 재우지 않으므로 커밋 스레드에서 바로 등록하고 반환한다.
+     */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     fun handle(event: PaymentEvent.PaymentCreated) {
-        val thresholdMillis = (1000L..5000L).random()
-        Thread.sleep(thresholdMillis)
-
-        paymentApplicationService.handle(event.transactionKey)
+        delayedTaskScheduler.schedule(paymentSimulator.nextProcessingLatency(event.transactionKey)) {
+            paymentApplicationService.handle(event.transactionKey)
+        }
     }
 
     @Async
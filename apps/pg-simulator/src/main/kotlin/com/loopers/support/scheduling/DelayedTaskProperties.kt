@@ -0,0 +1,16 @@
+package com.loopers.support.scheduling
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.boot.context.properties.bind.DefaultValue
+
+/**
+ * 지연 작업 스케줄러 설정
+ *
+ * @param timerThreads 타이머 만료만 감시하는 스레드 수 (실제 작업은 가상 스레드에서 실행)
+ * @param maxConcurrentTasks 동시에 실행되는 만료 작업 수 상한 (DB 커넥션 풀 보호)
+ */
+@ConfigurationProperties(prefix = "pg.scheduler")
+data class DelayedTaskProperties(
+    @DefaultValue("2") val timerThreads: Int,
+    @DefaultValue("64") val maxConcurrentTasks: Int,
+)
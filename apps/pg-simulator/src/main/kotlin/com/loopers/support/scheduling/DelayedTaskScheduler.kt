@@ -0,0 +1,78 @@
+package com.loopers.support.scheduling
+
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 지연 실행 스케줄러
+ *
+ * 작업마다 스레드를 재우는 대신 지연 큐(ScheduledThreadPoolExecutor)에 등록하고,
+ * 만료된 작업만 가상 스레드로 넘겨 실행한다.
+ * 대기 중인 작업은 큐의 원소일 뿐이므로 수십만 건이 쌓여도 소수의 타이머 스레드로 감당할 수 있다.
+ */
+@Component
+class DelayedTaskScheduler(
+    properties: DelayedTaskProperties,
+    meterRegistry: MeterRegistry,
+) {
+    companion object {
+        private val logger = LoggerFactory.getLogger(DelayedTaskScheduler::class.java)
+    }
+
+    private val timer = ScheduledThreadPoolExecutor(
+        properties.timerThreads,
+        Thread.ofPlatform().name("pg-timer-", 0).daemon(true).factory(),
+    ).apply {
+        removeOnCancelPolicy = true
+        executeExistingDelayedTasksAfterShutdownPolicy = false
+    }
+    private val worker = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pg-task-", 0).factory())
+    private val permits = Semaphore(properties.maxConcurrentTasks)
+    private val pending = AtomicInteger()
+
+    init {
+        Gauge.builder("pg.scheduler.pending", pending) { it.get().toDouble() }
+            .description("타이머 만료를 기다리는 작업 수")
+            .register(meterRegistry)
+    }
+
+    fun schedule(delay: Duration, task: () -> Unit) {
+        pending.incrementAndGet()
+        timer.schedule({
+            pending.decrementAndGet()
+            worker.execute { run(task) }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS)
+    }
+
+    fun pendingCount(): Int = pending.get()
+
+    private fun run(task: () -> Unit) {
+        permits.acquire()
+        try {
+            task()
+        } catch (e: Exception) {
+            logger.error("지연 작업 실행 중 오류가 발생했습니다. {}", e.message, e)
+        } finally {
+            permits.release()
+        }
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        val dropped = timer.shutdownNow().size
+        if (dropped > 0) {
+            logger.warn("종료 시점에 대기 중이던 지연 작업 {}건을 폐기합니다.", dropped)
+        }
+        worker.shutdown()
+        worker.awaitTermination(10, TimeUnit.SECONDS)
+    }
+}
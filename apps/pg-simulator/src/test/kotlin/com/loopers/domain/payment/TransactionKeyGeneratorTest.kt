@@ -0,0 +1,84 @@
+package com.loopers.domain.payment
+
+import com.loopers.infrastructure.payment.InMemoryPaymentRepository
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class TransactionKeyGeneratorTest {
+    private val fixedClock = Clock.fixed(Instant.parse("2025-08-16T03:00:00Z"), ZoneId.of("Asia/Seoul"))
+
+    @DisplayName("날짜, 노드 ID, 시퀀스로 yyyyMMdd:TR:xxxxxx 형식의 KEY 를 생성한다.")
+    @Test
+    fun generatesKeyInExpectedShape() {
+        // given
+        val generator = TransactionKeyGenerator(TransactionKeyProperties(nodeId = 10), InMemoryPaymentRepository(), fixedClock)
+
+        // when
+        val first = generator.generate()
+        val second = generator.generate()
+
+        // then
+        assertThat(first).isEqualTo("20250816:TR:a00000")
+        assertThat(second).isEqualTo("20250816:TR:a00001")
+    }
+
+    @DisplayName("여러 스레드에서 동시에 생성해도 KEY 가 중복되지 않는다.")
+    @Test
+    fun generatesUniqueKeysUnderContention() {
+        // given
+        val generator = TransactionKeyGenerator(TransactionKeyProperties(nodeId = 0), InMemoryPaymentRepository(), fixedClock)
+        val threads = 32
+        val perThread = 50_000
+        val keys = ConcurrentHashMap.newKeySet<String>()
+        val start = CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(threads)
+
+        // when
+        repeat(threads) {
+            executor.execute {
+                start.await()
+                repeat(perThread) { keys.add(generator.generate()) }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+
+        // then
+        assertThat(keys).hasSize(threads * perThread)
+    }
+
+    @DisplayName("같은 날 재기동하면 저장된 마지막 KEY 다음 시퀀스부터 발급한다.")
+    @Test
+    fun continuesFromHighWaterMarkAfterRestart() {
+        // given
+        val repository = InMemoryPaymentRepository()
+        repository.save(payment("20250816:TR:a0000z"))
+        repository.save(payment("20250816:TR:b00100"))
+        repository.save(payment("20250815:TR:a00500"))
+
+        // when
+        val generator = TransactionKeyGenerator(TransactionKeyProperties(nodeId = 10), repository, fixedClock)
+
+        // then
+        assertThat(generator.generate()).isEqualTo("20250816:TR:a00010")
+    }
+
+    private fun payment(transactionKey: String) = Payment(
+        transactionKey = transactionKey,
+        userId = "user",
+        orderId = transactionKey,
+        cardType = CardType.SAMSUNG,
+        cardNo = "1234-5678-9814-1451",
+        amount = 5000,
+        callbackUrl = "http://localhost:8080/api/v1/examples/callback",
+    )
+}
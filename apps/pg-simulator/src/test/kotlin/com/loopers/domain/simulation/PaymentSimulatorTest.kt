@@ -0,0 +1,94 @@
+package com.loopers.domain.simulation
+
+import com.loopers.support.error.CoreException
+import com.loopers.support.error.ErrorType
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+
+class PaymentSimulatorTest {
+    private val transactionKeys = (0 until 200).map { "20250816:TR:0${it.toString(36).padStart(5, '0')}" }
+
+    private fun simulator(seed: Long, profile: String = "brownout") =
+        PaymentSimulator(SimulationProperties(profile = profile, seed = seed))
+
+    private fun requestOutcomes(simulator: PaymentSimulator, count: Int = 200) =
+        List(count) { simulator.nextRequest() }
+
+    @DisplayName("같은 시드면 요청 단계의 지연과 장애 순서가 같다.")
+    @Test
+    fun sameSeedReproducesRequestSequence() {
+        // given
+        val first = simulator(seed = 7)
+        val second = simulator(seed = 7)
+
+        // when
+        val firstOutcomes = requestOutcomes(first)
+        val secondOutcomes = requestOutcomes(second)
+
+        // then
+        assertThat(firstOutcomes).isEqualTo(secondOutcomes)
+        assertThat(firstOutcomes.map { it.fault }.toSet()).hasSizeGreaterThan(1)
+    }
+
+    @DisplayName("시드가 다르면 요청 단계의 결과 순서가 달라진다.")
+    @Test
+    fun differentSeedChangesRequestSequence() {
+        // when
+        val firstOutcomes = requestOutcomes(simulator(seed = 7))
+        val secondOutcomes = requestOutcomes(simulator(seed = 8))
+
+        // then
+        assertThat(firstOutcomes).isNotEqualTo(secondOutcomes)
+    }
+
+    @DisplayName("같은 시드면 처리 순서와 무관하게 트랜잭션 KEY 별 처리 지연과 결과가 같다.")
+    @Test
+    fun sameSeedReproducesProcessingPerTransactionKey() {
+        // given
+        val first = simulator(seed = 7)
+        val second = simulator(seed = 7)
+
+        // when
+        val firstOutcomes = transactionKeys.associateWith {
+            first.nextProcessingLatency(it) to first.nextProcessingResult(it)
+        }
+        val secondOutcomes = transactionKeys.reversed().associateWith {
+            second.nextProcessingResult(it).let { result -> second.nextProcessingLatency(it) to result }
+        }
+
+        // then
+        assertThat(firstOutcomes).isEqualTo(secondOutcomes)
+        assertThat(firstOutcomes.values.map { it.second }.toSet()).hasSizeGreaterThan(1)
+    }
+
+    @DisplayName("프로파일을 교체하면 새 시드의 첫 요청부터 결과를 재현한다.")
+    @Test
+    fun switchRestartsSequenceFromNewSeed() {
+        // given
+        val switched = simulator(seed = 1, profile = "normal")
+        requestOutcomes(switched, count = 37)
+
+        // when
+        switched.switch(presetName = "brownout", seed = 7)
+
+        // then
+        assertThat(requestOutcomes(switched)).isEqualTo(requestOutcomes(simulator(seed = 7)))
+    }
+
+    @DisplayName("검증에 실패한 프로파일로는 교체하지 않는다.")
+    @Test
+    fun rejectsInvalidProfileOnSwitch() {
+        // given
+        val simulator = simulator(seed = 7)
+        val invalid = SimulationProfile.STABLE.copy(name = "invalid", timeoutRate = -0.1)
+
+        // when & then
+        assertThatThrownBy { simulator.switch(profile = invalid, seed = 1) }
+            .isInstanceOf(CoreException::class.java)
+            .extracting("errorType").isEqualTo(ErrorType.BAD_REQUEST)
+        assertThat(simulator.currentProfile).isEqualTo(SimulationProfile.BROWNOUT)
+        assertThat(simulator.currentSeed).isEqualTo(7)
+    }
+}
@@ -0,0 +1,72 @@
+package com.loopers.domain.simulation
+
+import org.assertj.core.api.Assertions.assertThatCode
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+
+class SimulationProfileTest {
+
+    @DisplayName("모든 프리셋은 검증을 통과한다.")
+    @Test
+    fun presetsAreValid() {
+        SimulationProfile.PRESETS.values.forEach { profile ->
+            assertThatCode { profile.validate() }.doesNotThrowAnyException()
+        }
+    }
+
+    @DisplayName("0 ~ 1 범위를 벗어난 비율은 거부한다.")
+    @Test
+    fun rejectsRateOutOfRange() {
+        // given
+        val profile = SimulationProfile.STABLE.copy(name = "invalid", invalidCardRate = 1.5)
+
+        // when & then
+        assertThatThrownBy { profile.validate() }
+            .isInstanceOf(IllegalArgumentException::class.java)
+            .hasMessage("비율은 0 ~ 1 사이여야 합니다.")
+    }
+
+    @DisplayName("요청 단계 장애 비율의 합이 1을 넘으면 거부한다.")
+    @Test
+    fun rejectsRequestFaultRatesOverOne() {
+        // given
+        val profile = SimulationProfile.STABLE.copy(name = "invalid", internalErrorRate = 0.6, serviceUnavailableRate = 0.6)
+
+        // when & then
+        assertThatThrownBy { profile.validate() }
+            .isInstanceOf(IllegalArgumentException::class.java)
+            .hasMessage("요청 단계 장애 비율의 합은 1을 넘을 수 없습니다.")
+    }
+
+    @DisplayName("처리 단계 실패 비율의 합이 1을 넘으면 거부한다.")
+    @Test
+    fun rejectsProcessingFailureRatesOverOne() {
+        // given
+        val profile = SimulationProfile.STABLE.copy(name = "invalid", limitExceededRate = 0.7, invalidCardRate = 0.4)
+
+        // when & then
+        assertThatThrownBy { profile.validate() }
+            .isInstanceOf(IllegalArgumentException::class.java)
+            .hasMessage("처리 단계 실패 비율의 합은 1을 넘을 수 없습니다.")
+    }
+
+    @DisplayName("중첩된 지연 분포까지 검증한다.")
+    @Test
+    fun validatesNestedLatencyDistribution() {
+        // given
+        val profile = SimulationProfile.STABLE.copy(
+            name = "invalid",
+            processingLatency = LatencyDistribution.Bimodal(
+                fast = LatencyDistribution.Uniform(500, 100),
+                slow = LatencyDistribution.Fixed(1000),
+                slowRatio = 0.1,
+            ),
+        )
+
+        // when & then
+        assertThatThrownBy { profile.validate() }
+            .isInstanceOf(IllegalArgumentException::class.java)
+            .hasMessage("최소 지연 시간은 0 이상, 최대 지연 시간 이하여야 합니다.")
+    }
+}
@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    // jackson streaming (JSON 폴백 디코딩 / 감사 로그용 JSON 변환)
+    implementation("com.fasterxml.jackson.core:jackson-core")
+
+    // 벤치마크 비교 대상 (ObjectMapper.readTree)
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+}
+
+// ./gradlew :modules:event-schema:jmh
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+}
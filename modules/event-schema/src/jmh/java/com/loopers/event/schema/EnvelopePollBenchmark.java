@@ -0,0 +1,109 @@
+package com.loopers.event.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 번의 폴링(MAX_POLLING_SIZE = 3000건)을 해석하는 비용 비교
+ * - readTree: 컨슈머의 기존 경로 (레코드마다 JsonNode 트리 생성 후 has()/get())
+ * - streaming: JsonParser 로 필요한 필드만 재사용 객체에 채운다
+ *
+ * ./gradlew :modules:event-schema:jmh -Pjmh.includes=EnvelopePollBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnvelopePollBenchmark {
+
+    private static final int POLL_SIZE = 3000;
+    private static final String[] CATALOG_TYPES = {"PRODUCT_VIEWED", "PRODUCT_LIKED", "PRODUCT_UNLIKED", "STOCK_ADJUSTED"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventEnvelope reusable = new EventEnvelope();
+    private final List<byte[]> poll = new ArrayList<>(POLL_SIZE);
+
+    /** 프로듀서가 보내던 JSON 과 같은 모양(null 필드 포함)으로 카탈로그 80%, 주문 20% 를 섞는다 */
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < POLL_SIZE; i++) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("eventId", UUID.randomUUID().toString());
+            if (random.nextInt(10) < 8) {
+                event.put("eventType", CATALOG_TYPES[random.nextInt(CATALOG_TYPES.length)]);
+                event.put("productId", (long) random.nextInt(10_000));
+                event.put("userId", "user-" + random.nextInt(100_000));
+                event.put("timestamp", System.currentTimeMillis());
+                event.put("quantityChanged", null);
+            } else {
+                event.put("eventType", "ORDER_CREATED");
+                event.put("orderId", (long) i);
+                event.put("userId", "user-" + random.nextInt(100_000));
+                event.put("totalAmount", 45_000);
+                event.put("couponId", null);
+                event.put("cardCompany", "SAMSUNG");
+                event.put("cardNumber", "1234-5678-9814-1451");
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (int j = 0; j < 1 + random.nextInt(3); j++) {
+                    items.add(Map.of("productId", (long) random.nextInt(10_000), "quantity", 1 + random.nextInt(3), "price", 15_000));
+                }
+                event.put("items", items);
+                event.put("transactionId", null);
+                event.put("paymentStatus", null);
+                event.put("failureReason", null);
+                event.put("timestamp", System.currentTimeMillis());
+            }
+            event.put("version", System.currentTimeMillis());
+            poll.add(objectMapper.writeValueAsBytes(event));
+        }
+    }
+
+    @Benchmark
+    public void readTree(Blackhole blackhole) throws Exception {
+        for (byte[] payload : poll) {
+            JsonNode eventData = objectMapper.readTree(payload);
+            blackhole.consume(eventData.has("eventId") ? eventData.get("eventId").asText() : null);
+            blackhole.consume(eventData.has("eventType") ? eventData.get("eventType").asText() : null);
+            blackhole.consume(eventData.has("version") ? eventData.get("version").asLong() : null);
+            blackhole.consume(eventData.has("productId") ? eventData.get("productId").asLong() : null);
+            JsonNode items = eventData.get("items");
+            if (items != null && items.isArray()) {
+                for (JsonNode item : items) {
+                    blackhole.consume(item.get("productId").asLong());
+                    blackhole.consume(item.get("quantity").asLong());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        for (byte[] payload : poll) {
+            EventEnvelope event = JsonEventCodec.decode(payload, reusable);
+            blackhole.consume(event.getEventId());
+            blackhole.consume(event.getEventType());
+            blackhole.consume(event.getVersion());
+            blackhole.consume(event.getProductId());
+            for (int i = 0; i < event.getItemCount(); i++) {
+                blackhole.consume(event.getItemProductId(i));
+                blackhole.consume(event.getItemQuantity(i));
+            }
+        }
+    }
+}
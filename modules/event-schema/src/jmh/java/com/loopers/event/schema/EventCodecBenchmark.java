@@ -0,0 +1,100 @@
+package com.loopers.event.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 바이너리 인코딩과 기존 Jackson 트리 경로(ObjectMapper 직렬화 + readTree)의 인코딩/디코딩 비용 비교
+ *
+ * ./gradlew :modules:event-schema:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventCodecBenchmark {
+
+    @Param({"CATALOG", "ORDER"})
+    public String kind;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventEnvelope reusable = new EventEnvelope();
+
+    private EventEnvelope event;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+    private JsonNode jsonTree;
+
+    @Setup
+    public void setUp() {
+        event = new EventEnvelope()
+                .setEventId(UUID.randomUUID().toString())
+                .setVersion(System.currentTimeMillis())
+                .setTimestamp(System.currentTimeMillis())
+                .setUserId("user-12345");
+        if ("CATALOG".equals(kind)) {
+            event.setEventType("PRODUCT_LIKED").setProductId(123_456L);
+        } else {
+            event.setEventType("ORDER_CREATED")
+                    .setOrderId(987_654L)
+                    .setTotalAmount(new BigDecimal("45000"))
+                    .setCardCompany("SAMSUNG")
+                    .setCardNumber("1234-5678-9814-1451")
+                    .addItem(1L, 2L, new BigDecimal("10000"))
+                    .addItem(2L, 1L, new BigDecimal("15000"))
+                    .addItem(3L, 1L, new BigDecimal("10000"));
+        }
+        binaryPayload = BinaryEventCodec.encode(event);
+        jsonPayload = EventCodec.encode(event, EventEncoding.JSON);
+        try {
+            jsonTree = objectMapper.readTree(jsonPayload);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(jsonTree);
+    }
+
+    @Benchmark
+    public EventEnvelope decodeBinary() {
+        return BinaryEventCodec.decode(binaryPayload, reusable);
+    }
+
+    /** 컨슈머의 기존 경로: readTree 후 필요한 필드를 꺼낸다 */
+    @Benchmark
+    public void decodeJacksonTree(Blackhole blackhole) throws Exception {
+        JsonNode root = objectMapper.readTree(jsonPayload);
+        blackhole.consume(root.get("eventId").asText());
+        blackhole.consume(root.get("eventType").asText());
+        blackhole.consume(root.get("version").asLong());
+        JsonNode productId = root.get("productId");
+        blackhole.consume(productId != null ? productId.asLong() : 0L);
+        JsonNode items = root.get("items");
+        if (items != null) {
+            for (JsonNode item : items) {
+                blackhole.consume(item.get("productId").asLong());
+                blackhole.consume(item.get("quantity").asLong());
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.loopers.event.schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 이벤트 바이너리 인코딩
+ *
+ * <pre>
+ * [MAGIC(0xEB)][SCHEMA_VERSION][field]*
+ * field = tag(varint: fieldNumber << 3 | wireType) + value
+ * </pre>
+ *
+ * 스키마 진화 규칙
+ * - 필드 번호는 한 번 배정하면 의미를 바꾸거나 재사용하지 않는다. 삭제한 번호는 아래 표에 남겨 둔다.
+ * - 새 필드는 항상 선택(optional)이며, 디코더는 모르는 필드를 wire type 에 따라 건너뛴다.
+ *   따라서 구버전 컨슈머는 신버전 프로듀서의 메시지를 그대로 읽을 수 있다.
+ * - 기존 필드의 타입/의미를 바꿔야 하는 호환 불가 변경에만 SCHEMA_VERSION 을 올린다.
+ *   디코더는 지원하지 않는 버전을 거부하므로, 컨슈머를 먼저 배포한 뒤 프로듀서를 올린다.
+ * - 이벤트 타입 코드표({@link EventTypeCode})에 새 타입을 추가해도, 모든 컨슈머가 그 코드를 알 때까지는
+ *   타입 이름(17)으로 보낸다. 코드를 모르는 컨슈머는 "UNKNOWN_{code}" 로 읽어 버리기 때문이다
+ *   ({@link EventTypeCode#MAX_PRODUCED_CODE} 로 강제한다).
+ *
+ * 필드 번호
+ * <pre>
+ *  1 eventId(string)        2 eventType(code)      3 version            4 timestamp
+ *  5 productId              6 userId(string)       7 quantityChanged(zigzag)
+ *  8 orderId                9 totalAmount(decimal string)                10 couponId
+ * 11 cardCompany           12 cardNumber          13 transactionId      14 paymentStatus
+ * 15 failureReason         16 item(nested: 1 productId, 2 quantity, 3 (폐기: price(double), 읽기만 함), 4 price(decimal string))
+ * 17 eventType(string, 코드표에 없는 타입)          18 (예약)
+ * 19 eventId(16 bytes, UUID 형식일 때)
+ * </pre>
+ */
+public final class BinaryEventCodec {
+
+    public static final byte MAGIC = (byte) 0xEB;
+    public static final int SCHEMA_VERSION = 1;
+
+    static final int EVENT_ID = 1;
+    static final int EVENT_TYPE_CODE = 2;
+    static final int VERSION = 3;
+    static final int TIMESTAMP = 4;
+    static final int PRODUCT_ID = 5;
+    static final int USER_ID = 6;
+    static final int QUANTITY_CHANGED = 7;
+    static final int ORDER_ID = 8;
+    static final int TOTAL_AMOUNT = 9;
+    static final int COUPON_ID = 10;
+    static final int CARD_COMPANY = 11;
+    static final int CARD_NUMBER = 12;
+    static final int TRANSACTION_ID = 13;
+    static final int PAYMENT_STATUS = 14;
+    static final int FAILURE_REASON = 15;
+    static final int ITEM = 16;
+    static final int EVENT_TYPE_NAME = 17;
+    static final int EVENT_ID_UUID = 19;
+
+    static final int ITEM_PRODUCT_ID = 1;
+    static final int ITEM_QUANTITY = 2;
+    // 예전 프로듀서가 보낸 double 단가 (금액 정밀도를 잃으므로 더는 쓰지 않고 읽기만 한다)
+    static final int ITEM_PRICE_DOUBLE = 3;
+    static final int ITEM_PRICE = 4;
+
+    private static final int INITIAL_BUFFER_SIZE = 96;
+
+    private BinaryEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] payload) {
+        return payload != null && payload.length >= 2 && payload[0] == MAGIC;
+    }
+
+    public static byte[] encode(EventEnvelope event) {
+        WireWriter writer = new WireWriter(INITIAL_BUFFER_SIZE);
+        writer.writeRawByte(MAGIC);
+        writer.writeRawByte(SCHEMA_VERSION);
+
+        writeEventId(writer, event.getEventId());
+        int typeCode = EventTypeCode.codeOf(event.getEventType());
+        if (typeCode > 0) {
+            writer.writeVarint(EVENT_TYPE_CODE, typeCode);
+        } else if (event.getEventType() != null) {
+            writer.writeString(EVENT_TYPE_NAME, event.getEventType());
+        }
+        if (event.getVersion() != null) writer.writeVarint(VERSION, event.getVersion());
+        if (event.getTimestamp() != null) writer.writeVarint(TIMESTAMP, event.getTimestamp());
+        if (event.getProductId() != null) writer.writeVarint(PRODUCT_ID, event.getProductId());
+        if (event.getUserId() != null) writer.writeString(USER_ID, event.getUserId());
+        if (event.getQuantityChanged() != null) writer.writeSignedVarint(QUANTITY_CHANGED, event.getQuantityChanged());
+        if (event.getOrderId() != null) writer.writeVarint(ORDER_ID, event.getOrderId());
+        if (event.getTotalAmount() != null) writer.writeString(TOTAL_AMOUNT, event.getTotalAmount().toPlainString());
+        if (event.getCouponId() != null) writer.writeVarint(COUPON_ID, event.getCouponId());
+        if (event.getCardCompany() != null) writer.writeString(CARD_COMPANY, event.getCardCompany());
+        if (event.getCardNumber() != null) writer.writeString(CARD_NUMBER, event.getCardNumber());
+        if (event.getTransactionId() != null) writer.writeString(TRANSACTION_ID, event.getTransactionId());
+        if (event.getPaymentStatus() != null) writer.writeString(PAYMENT_STATUS, event.getPaymentStatus());
+        if (event.getFailureReason() != null) writer.writeString(FAILURE_REASON, event.getFailureReason());
+
+        for (int i = 0; i < event.getItemCount(); i++) {
+            WireWriter item = new WireWriter(24);
+            item.writeVarint(ITEM_PRODUCT_ID, event.getItemProductId(i));
+            item.writeSignedVarint(ITEM_QUANTITY, event.getItemQuantity(i));
+            if (event.getItemPrice(i) != null) {
+                item.writeString(ITEM_PRICE, event.getItemPrice(i).toPlainString());
+            }
+            writer.writeBytes(ITEM, item.toByteArray());
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param target 재사용할 대상 (reset 후 채워진다)
+     */
+    public static EventEnvelope decode(byte[] payload, EventEnvelope target) {
+        if (!isBinary(payload)) {
+            throw new EventDecodingException("바이너리 이벤트 형식이 아닙니다.");
+        }
+        int schemaVersion = payload[1] & 0xFF;
+        if (schemaVersion != SCHEMA_VERSION) {
+            throw new EventDecodingException("지원하지 않는 스키마 버전입니다: " + schemaVersion);
+        }
+
+        target.reset();
+        WireReader reader = new WireReader(payload, 2, payload.length);
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            int wireType = tag & 0x7;
+            switch (tag >>> 3) {
+                case EVENT_ID -> target.setEventId(reader.readString());
+                case EVENT_ID_UUID -> target.setEventId(reader.readUuid());
+                case EVENT_TYPE_CODE -> {
+                    int code = (int) reader.readRawVarint();
+                    String name = EventTypeCode.nameOf(code);
+                    target.setEventType(name != null ? name : "UNKNOWN_" + code);
+                }
+                case EVENT_TYPE_NAME -> target.setEventType(reader.readString());
+                case VERSION -> target.setVersion(reader.readRawVarint());
+                case TIMESTAMP -> target.setTimestamp(reader.readRawVarint());
+                case PRODUCT_ID -> target.setProductId(reader.readRawVarint());
+                case USER_ID -> target.setUserId(reader.readString());
+                case QUANTITY_CHANGED -> target.setQuantityChanged((int) reader.readSignedVarint());
+                case ORDER_ID -> target.setOrderId(reader.readRawVarint());
+                case TOTAL_AMOUNT -> target.setTotalAmount(new BigDecimal(reader.readString()));
+                case COUPON_ID -> target.setCouponId(reader.readRawVarint());
+                case CARD_COMPANY -> target.setCardCompany(reader.readString());
+                case CARD_NUMBER -> target.setCardNumber(reader.readString());
+                case TRANSACTION_ID -> target.setTransactionId(reader.readString());
+                case PAYMENT_STATUS -> target.setPaymentStatus(reader.readString());
+                case FAILURE_REASON -> target.setFailureReason(reader.readString());
+                case ITEM -> readItem(reader.readNested(), target);
+                default -> reader.skipField(wireType);
+            }
+        }
+        return target;
+    }
+
+    private static void writeEventId(WireWriter writer, String eventId) {
+        if (eventId == null) {
+            return;
+        }
+        UUID uuid = parseCanonicalUuid(eventId);
+        if (uuid != null) {
+            writer.writeUuid(EVENT_ID_UUID, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } else {
+            writer.writeString(EVENT_ID, eventId);
+        }
+    }
+
+    /**
+     * 소문자 36자 UUID 표기일 때만 16바이트로 압축한다 (디코딩 결과가 원문과 정확히 같아야 하므로)
+     */
+    private static UUID parseCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void readItem(WireReader reader, EventEnvelope target) {
+        long productId = 0;
+        long quantity = 1;
+        BigDecimal price = null;
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case ITEM_PRODUCT_ID -> productId = reader.readRawVarint();
+                case ITEM_QUANTITY -> quantity = reader.readSignedVarint();
+                case ITEM_PRICE -> price = new BigDecimal(reader.readString());
+                case ITEM_PRICE_DOUBLE -> {
+                    double legacy = reader.readDouble();
+                    if (price == null && !Double.isNaN(legacy)) {
+                        price = BigDecimal.valueOf(legacy);
+                    }
+                }
+                default -> reader.skipField(tag & 0x7);
+            }
+        }
+        target.addItem(productId, quantity, price);
+    }
+}
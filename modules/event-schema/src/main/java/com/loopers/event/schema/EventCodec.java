@@ -0,0 +1,52 @@
+package com.loopers.event.schema;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 프로듀서/컨슈머가 사용하는 이벤트 인코딩 진입점
+ *
+ * 컨슈머는 첫 바이트(MAGIC)로 바이너리/JSON 을 구분하므로, 프로듀서의 인코딩 전환(JSON -> 바이너리) 중에도
+ * 두 형식이 섞인 토픽을 그대로 읽을 수 있다.
+ */
+public final class EventCodec {
+
+    private EventCodec() {
+    }
+
+    public static byte[] encode(EventEnvelope event, EventEncoding encoding) {
+        return switch (encoding) {
+            case BINARY -> BinaryEventCodec.encode(event);
+            case JSON -> JsonEventCodec.toJson(event).getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    /**
+     * @param target 재사용할 대상 (reset 후 채워진다)
+     */
+    public static EventEnvelope decode(byte[] payload, EventEnvelope target) {
+        if (payload == null || payload.length == 0) {
+            throw new EventDecodingException("빈 이벤트 페이로드입니다.");
+        }
+        return BinaryEventCodec.isBinary(payload)
+                ? BinaryEventCodec.decode(payload, target)
+                : JsonEventCodec.decode(payload, target);
+    }
+
+    public static EventEnvelope decode(byte[] payload) {
+        return decode(payload, new EventEnvelope());
+    }
+
+    /**
+     * 사람이 읽을 수 있는 JSON 표현 (감사 로그 / DLT 로그용)
+     * JSON 페이로드는 원문을 그대로, 바이너리 페이로드는 디코딩 후 JSON 으로 변환해 돌려준다.
+     */
+    public static String toJson(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        if (!BinaryEventCodec.isBinary(payload)) {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+        return JsonEventCodec.toJson(BinaryEventCodec.decode(payload, new EventEnvelope()));
+    }
+}
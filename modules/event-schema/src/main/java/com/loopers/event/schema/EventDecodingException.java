@@ -0,0 +1,15 @@
+package com.loopers.event.schema;
+
+/**
+ * 이벤트 페이로드를 해석할 수 없을 때 발생
+ */
+public class EventDecodingException extends RuntimeException {
+
+    public EventDecodingException(String message) {
+        super(message);
+    }
+
+    public EventDecodingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.loopers.event.schema;
+
+/**
+ * 이벤트 페이로드 인코딩 방식
+ */
+public enum EventEncoding {
+    /** {@link BinaryEventCodec} 형식 */
+    BINARY,
+    /** 바이너리 도입 이전과 같은 JSON 형식 */
+    JSON
+}
@@ -0,0 +1,175 @@
+package com.loopers.event.schema;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * catalog-events / order-events 공통 이벤트 구조
+ *
+ * 바이너리/JSON 디코더가 채워 넣는 가변 객체로, 배치 안에서 레코드마다 {@link #reset()} 후 재사용할 수 있다.
+ * 주문 항목은 객체 목록 대신 배열로 보관해 레코드당 할당을 줄인다 (단가는 금액이므로 BigDecimal).
+ * 값을 보관해야 하는 경우(배치 밖으로 넘기는 경우)에는 {@link #copy()} 로 복사한다.
+ */
+public class EventEnvelope {
+
+    private static final int INITIAL_ITEM_CAPACITY = 4;
+
+    private String eventId;
+    private String eventType;
+    private Long version;
+    private Long timestamp;
+    private Long productId;
+    private String userId;
+    private Integer quantityChanged;
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private Long couponId;
+    private String cardCompany;
+    private String cardNumber;
+    private String transactionId;
+    private String paymentStatus;
+    private String failureReason;
+
+    private long[] itemProductIds = new long[INITIAL_ITEM_CAPACITY];
+    private long[] itemQuantities = new long[INITIAL_ITEM_CAPACITY];
+    private BigDecimal[] itemPrices = new BigDecimal[INITIAL_ITEM_CAPACITY];
+    private int itemCount;
+
+    public EventEnvelope reset() {
+        eventId = null;
+        eventType = null;
+        version = null;
+        timestamp = null;
+        productId = null;
+        userId = null;
+        quantityChanged = null;
+        orderId = null;
+        totalAmount = null;
+        couponId = null;
+        cardCompany = null;
+        cardNumber = null;
+        transactionId = null;
+        paymentStatus = null;
+        failureReason = null;
+        itemCount = 0;
+        return this;
+    }
+
+    void clearItems() {
+        itemCount = 0;
+    }
+
+    /**
+     * 주문 항목 추가
+     *
+     * @param price 단가를 모르면 null
+     */
+    public EventEnvelope addItem(long productId, long quantity, BigDecimal price) {
+        if (itemCount == itemProductIds.length) {
+            int capacity = itemCount * 2;
+            itemProductIds = Arrays.copyOf(itemProductIds, capacity);
+            itemQuantities = Arrays.copyOf(itemQuantities, capacity);
+            itemPrices = Arrays.copyOf(itemPrices, capacity);
+        }
+        itemProductIds[itemCount] = productId;
+        itemQuantities[itemCount] = quantity;
+        itemPrices[itemCount] = price;
+        itemCount++;
+        return this;
+    }
+
+    public EventEnvelope copy() {
+        EventEnvelope copy = new EventEnvelope();
+        copy.eventId = eventId;
+        copy.eventType = eventType;
+        copy.version = version;
+        copy.timestamp = timestamp;
+        copy.productId = productId;
+        copy.userId = userId;
+        copy.quantityChanged = quantityChanged;
+        copy.orderId = orderId;
+        copy.totalAmount = totalAmount;
+        copy.couponId = couponId;
+        copy.cardCompany = cardCompany;
+        copy.cardNumber = cardNumber;
+        copy.transactionId = transactionId;
+        copy.paymentStatus = paymentStatus;
+        copy.failureReason = failureReason;
+        for (int i = 0; i < itemCount; i++) {
+            copy.addItem(itemProductIds[i], itemQuantities[i], itemPrices[i]);
+        }
+        return copy;
+    }
+
+    public boolean isValid() {
+        return eventId != null && !eventId.isBlank() && eventType != null && !eventType.isBlank();
+    }
+
+    public boolean hasProductId() {
+        return productId != null;
+    }
+
+    // Getter/Setter
+    public String getEventId() { return eventId; }
+    public EventEnvelope setEventId(String eventId) { this.eventId = eventId; return this; }
+
+    public String getEventType() { return eventType; }
+    public EventEnvelope setEventType(String eventType) { this.eventType = eventType; return this; }
+
+    public Long getVersion() { return version; }
+    public EventEnvelope setVersion(Long version) { this.version = version; return this; }
+
+    public Long getTimestamp() { return timestamp; }
+    public EventEnvelope setTimestamp(Long timestamp) { this.timestamp = timestamp; return this; }
+
+    public Long getProductId() { return productId; }
+    public EventEnvelope setProductId(Long productId) { this.productId = productId; return this; }
+
+    public String getUserId() { return userId; }
+    public EventEnvelope setUserId(String userId) { this.userId = userId; return this; }
+
+    public Integer getQuantityChanged() { return quantityChanged; }
+    public EventEnvelope setQuantityChanged(Integer quantityChanged) { this.quantityChanged = quantityChanged; return this; }
+
+    public Long getOrderId() { return orderId; }
+    public EventEnvelope setOrderId(Long orderId) { this.orderId = orderId; return this; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public EventEnvelope setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; return this; }
+
+    public Long getCouponId() { return couponId; }
+    public EventEnvelope setCouponId(Long couponId) { this.couponId = couponId; return this; }
+
+    public String getCardCompany() { return cardCompany; }
+    public EventEnvelope setCardCompany(String cardCompany) { this.cardCompany = cardCompany; return this; }
+
+    public String getCardNumber() { return cardNumber; }
+    public EventEnvelope setCardNumber(String cardNumber) { this.cardNumber = cardNumber; return this; }
+
+    public String getTransactionId() { return transactionId; }
+    public EventEnvelope setTransactionId(String transactionId) { this.transactionId = transactionId; return this; }
+
+    public String getPaymentStatus() { return paymentStatus; }
+    public EventEnvelope setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; return this; }
+
+    public String getFailureReason() { return failureReason; }
+    public EventEnvelope setFailureReason(String failureReason) { this.failureReason = failureReason; return this; }
+
+    public int getItemCount() { return itemCount; }
+    public long getItemProductId(int index) { return itemProductIds[index]; }
+    public long getItemQuantity(int index) { return itemQuantities[index]; }
+    /** @return 단가를 모르면 null */
+    public BigDecimal getItemPrice(int index) { return itemPrices[index]; }
+
+    @Override
+    public String toString() {
+        return "EventEnvelope{" +
+                "eventId='" + eventId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", productId=" + productId +
+                ", orderId=" + orderId +
+                ", version=" + version +
+                ", items=" + itemCount +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package com.loopers.event.schema;
+
+/**
+ * 바이너리 포맷에서 이벤트 타입 문자열 대신 쓰는 코드표
+ * 코드는 한 번 배정하면 변경/재사용하지 않는다. 코드표에 없는 타입은 문자열 필드로 전송된다.
+ *
+ * 새 타입 추가는 두 단계로 배포한다. 코드를 모르는 컨슈머는 "UNKNOWN_{code}" 로 읽어 버리기 때문이다.
+ * 1. 코드표에만 추가해 배포한다. 컨슈머는 코드를 읽을 수 있게 되고, 프로듀서는 여전히 문자열 필드로 보낸다.
+ * 2. 모든 컨슈머가 배포된 뒤 {@link #MAX_PRODUCED_CODE} 를 올려 코드로 보내기 시작한다.
+ */
+enum EventTypeCode {
+    PRODUCT_LIKED(1),
+    PRODUCT_UNLIKED(2),
+    PRODUCT_VIEWED(3),
+    STOCK_ADJUSTED(4),
+    ORDER_CREATED(5),
+    PAYMENT_PROCESSED(6);
+
+    /** 프로듀서가 코드로 보내도 되는 가장 큰 코드 (이보다 큰 코드의 타입은 문자열 필드로 보낸다) */
+    static final int MAX_PRODUCED_CODE = 6;
+
+    private static final EventTypeCode[] BY_CODE;
+
+    static {
+        int maxCode = 0;
+        for (EventTypeCode type : values()) {
+            maxCode = Math.max(maxCode, type.code);
+        }
+        BY_CODE = new EventTypeCode[maxCode + 1];
+        for (EventTypeCode type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    final int code;
+
+    EventTypeCode(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return 프로듀서가 보낼 코드 (코드표에 없거나 아직 모든 컨슈머에 배포되지 않은 코드면 0 - 문자열 필드로 보낸다)
+     */
+    static int codeOf(String eventType) {
+        for (EventTypeCode type : values()) {
+            if (type.name().equals(eventType)) {
+                return type.code <= MAX_PRODUCED_CODE ? type.code : 0;
+            }
+        }
+        return 0;
+    }
+
+    static String nameOf(int code) {
+        return code > 0 && code < BY_CODE.length && BY_CODE[code] != null ? BY_CODE[code].name() : null;
+    }
+}
@@ -0,0 +1,228 @@
+package com.loopers.event.schema;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * JSON 이벤트 인코딩 (바이너리 도입 이전 메시지 / 감사 로그용 표현)
+ *
+ * 필드 이름은 commerce-api 의 CatalogEvent / OrderEvent 직렬화 결과와 같다.
+ * 주문 항목은 최상위 items 와 예전 형식의 eventData.items 를 모두 읽고, 단가는 price / unitPrice 를 모두 허용한다.
+ */
+public final class JsonEventCodec {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private JsonEventCodec() {
+    }
+
+    /**
+     * 스트리밍 파서로 필요한 필드만 한 번에 읽는다 (JsonNode 트리를 만들지 않는다)
+     *
+     * @param target 재사용할 대상 (reset 후 채워진다)
+     */
+    public static EventEnvelope decode(byte[] payload, EventEnvelope target) {
+        target.reset();
+        try (JsonParser parser = FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new EventDecodingException("JSON 이벤트는 객체여야 합니다.");
+            }
+            readRoot(parser, target);
+        } catch (IOException e) {
+            throw new EventDecodingException("JSON 이벤트를 해석할 수 없습니다.", e);
+        }
+        return target;
+    }
+
+    private static void readRoot(JsonParser parser, EventEnvelope target) throws IOException {
+        Long quantity = null;
+        boolean topLevelItems = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "eventId" -> target.setEventId(text(parser, token));
+                case "eventType" -> target.setEventType(text(parser, token));
+                case "version" -> target.setVersion(number(parser, token));
+                case "timestamp" -> target.setTimestamp(number(parser, token));
+                case "productId" -> target.setProductId(number(parser, token));
+                case "userId" -> target.setUserId(text(parser, token));
+                case "quantityChanged" -> {
+                    Long value = number(parser, token);
+                    target.setQuantityChanged(value != null ? value.intValue() : null);
+                }
+                case "quantity" -> quantity = number(parser, token);
+                case "orderId" -> target.setOrderId(number(parser, token));
+                case "totalAmount" -> {
+                    if (token.isNumeric()) {
+                        target.setTotalAmount(parser.getDecimalValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "couponId" -> target.setCouponId(number(parser, token));
+                case "cardCompany" -> target.setCardCompany(text(parser, token));
+                case "cardNumber" -> target.setCardNumber(text(parser, token));
+                case "transactionId" -> target.setTransactionId(text(parser, token));
+                case "paymentStatus" -> target.setPaymentStatus(text(parser, token));
+                case "failureReason" -> target.setFailureReason(text(parser, token));
+                case "items" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        // 최상위 items 가 eventData.items 보다 우선한다
+                        target.clearItems();
+                        topLevelItems = true;
+                        readItems(parser, target);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "eventData" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readLegacyEventData(parser, target, topLevelItems);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (target.getQuantityChanged() == null && quantity != null) {
+            target.setQuantityChanged(quantity.intValue());
+        }
+    }
+
+    /** 예전 형식: eventData 안의 items 만 읽는다 */
+    private static void readLegacyEventData(JsonParser parser, EventEnvelope target, boolean topLevelItems) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("items".equals(field) && token == JsonToken.START_ARRAY && !topLevelItems) {
+                readItems(parser, target);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readItems(JsonParser parser, EventEnvelope target) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Long productId = null;
+            long quantity = 1L;
+            BigDecimal price = null;
+            BigDecimal unitPrice = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                switch (field) {
+                    case "productId" -> productId = number(parser, valueToken);
+                    case "quantity" -> {
+                        Long value = number(parser, valueToken);
+                        quantity = value != null ? value : 1L;
+                    }
+                    case "price" -> price = valueToken.isNumeric() ? parser.getDecimalValue() : null;
+                    case "unitPrice" -> unitPrice = valueToken.isNumeric() ? parser.getDecimalValue() : null;
+                    default -> parser.skipChildren();
+                }
+            }
+            if (productId != null) {
+                target.addItem(productId, quantity, price != null ? price : unitPrice);
+            }
+        }
+    }
+
+    /**
+     * 이벤트를 JSON 문자열로 변환 (null 필드는 생략)
+     */
+    public static String toJson(EventEnvelope event) {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            writeString(generator, "eventId", event.getEventId());
+            writeString(generator, "eventType", event.getEventType());
+            writeNumber(generator, "productId", event.getProductId());
+            writeNumber(generator, "orderId", event.getOrderId());
+            writeString(generator, "userId", event.getUserId());
+            if (event.getQuantityChanged() != null) {
+                generator.writeNumberField("quantityChanged", event.getQuantityChanged());
+            }
+            if (event.getTotalAmount() != null) {
+                generator.writeNumberField("totalAmount", event.getTotalAmount());
+            }
+            writeNumber(generator, "couponId", event.getCouponId());
+            writeString(generator, "cardCompany", event.getCardCompany());
+            writeString(generator, "cardNumber", event.getCardNumber());
+            writeString(generator, "transactionId", event.getTransactionId());
+            writeString(generator, "paymentStatus", event.getPaymentStatus());
+            writeString(generator, "failureReason", event.getFailureReason());
+            if (event.getItemCount() > 0) {
+                generator.writeArrayFieldStart("items");
+                for (int i = 0; i < event.getItemCount(); i++) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("productId", event.getItemProductId(i));
+                    generator.writeNumberField("quantity", event.getItemQuantity(i));
+                    if (event.getItemPrice(i) != null) {
+                        generator.writeNumberField("price", event.getItemPrice(i));
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            writeNumber(generator, "timestamp", event.getTimestamp());
+            writeNumber(generator, "version", event.getVersion());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /** 숫자(또는 숫자 문자열)만 읽고, 그 외 형식(예: ISO 날짜 문자열)은 없는 값으로 본다 */
+    private static Long number(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return parser.getValueAsLong();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static void writeString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+}
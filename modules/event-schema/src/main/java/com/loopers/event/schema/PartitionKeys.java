@@ -0,0 +1,44 @@
+package com.loopers.event.schema;
+
+import java.util.Set;
+
+/**
+ * 카프카 레코드 키 규칙
+ *
+ * 핫 키 분산(salting) 시 키는 {@code {기본 키}#{salt}} 형태가 되어 한 상품의 이벤트가 여러 파티션으로 퍼진다.
+ * 컨슈머의 집계는 키가 아니라 페이로드의 productId 로 합산하므로 하위 키들이 자연히 합쳐지고,
+ * 키 자체를 남기는 곳(감사 로그 등)만 {@link #baseKey} 로 원래 키를 복원한다.
+ */
+public final class PartitionKeys {
+
+    public static final char SALT_SEPARATOR = '#';
+
+    // 처리 순서와 무관하게 합산되는 이벤트 타입 (조회수, 좋아요 증감) - 여러 파티션에 나누어도 결과가 같다
+    // 좋아요 수는 반영 시 0 에서 멈추지 않고 그대로 더하며, 0 미만은 읽는 쪽에서 0 으로 본다
+    private static final Set<String> COMMUTATIVE_EVENT_TYPES = Set.of("PRODUCT_VIEWED", "PRODUCT_LIKED", "PRODUCT_UNLIKED");
+
+    private PartitionKeys() {
+    }
+
+    public static String salted(String baseKey, int salt) {
+        return baseKey + SALT_SEPARATOR + salt;
+    }
+
+    /**
+     * salt 를 뗀 원래 키 (salt 가 없으면 그대로)
+     */
+    public static String baseKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        int separator = key.lastIndexOf(SALT_SEPARATOR);
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+
+    /**
+     * 키를 나누어 발행해도 되는(순서에 무관한) 이벤트 타입인지
+     */
+    public static boolean isCommutative(String eventType) {
+        return eventType != null && COMMUTATIVE_EVENT_TYPES.contains(eventType);
+    }
+}
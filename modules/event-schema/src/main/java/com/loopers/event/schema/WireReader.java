@@ -0,0 +1,121 @@
+package com.loopers.event.schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * {@link WireWriter} 로 인코딩된 바이트를 읽는다.
+ */
+final class WireReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    WireReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    int readRawByte() {
+        checkRemaining(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    /** @return (fieldNumber << 3) | wireType */
+    int readTag() {
+        return (int) readRawVarint();
+    }
+
+    long readRawVarint() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readRawByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new EventDecodingException("varint 가 너무 깁니다.");
+    }
+
+    long readSignedVarint() {
+        long raw = readRawVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    double readDouble() {
+        checkRemaining(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (buffer[position++] & 0xFF) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    String readUuid() {
+        int length = readLength();
+        if (length != 16) {
+            throw new EventDecodingException("UUID 길이가 올바르지 않습니다: " + length);
+        }
+        long most = 0;
+        long least = 0;
+        for (int i = 0; i < 8; i++) {
+            most = (most << 8) | (buffer[position++] & 0xFF);
+        }
+        for (int i = 0; i < 8; i++) {
+            least = (least << 8) | (buffer[position++] & 0xFF);
+        }
+        return new UUID(most, least).toString();
+    }
+
+    /** 중첩 메시지를 읽기 위한 하위 reader */
+    WireReader readNested() {
+        int length = readLength();
+        WireReader nested = new WireReader(buffer, position, position + length);
+        position += length;
+        return nested;
+    }
+
+    /** 알 수 없는 필드는 wire type 에 맞춰 건너뛴다 (하위 호환) */
+    void skipField(int wireType) {
+        switch (wireType) {
+            case WireWriter.VARINT -> readRawVarint();
+            case WireWriter.FIXED64 -> {
+                checkRemaining(8);
+                position += 8;
+            }
+            case WireWriter.LENGTH_DELIMITED -> {
+                int length = readLength();
+                position += length;
+            }
+            default -> throw new EventDecodingException("알 수 없는 wire type 입니다: " + wireType);
+        }
+    }
+
+    private int readLength() {
+        long length = readRawVarint();
+        if (length < 0 || length > limit - position) {
+            throw new EventDecodingException("길이 정보가 올바르지 않습니다: " + length);
+        }
+        return (int) length;
+    }
+
+    private void checkRemaining(int size) {
+        if (position + size > limit) {
+            throw new EventDecodingException("데이터가 예상보다 짧습니다.");
+        }
+    }
+}
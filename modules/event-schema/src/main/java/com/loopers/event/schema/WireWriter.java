@@ -0,0 +1,92 @@
+package com.loopers.event.schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 태그 기반 바이너리 인코더 (protobuf 와 같은 varint / length-delimited 규칙)
+ */
+final class WireWriter {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int position;
+
+    WireWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void writeRawByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarint(int fieldNumber, long value) {
+        writeTag(fieldNumber, VARINT);
+        writeRawVarint(value);
+    }
+
+    /** 음수가 될 수 있는 값은 zigzag 로 인코딩해 작은 음수도 1바이트로 표현한다 */
+    void writeSignedVarint(int fieldNumber, long value) {
+        writeVarint(fieldNumber, (value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(int fieldNumber, double value) {
+        writeTag(fieldNumber, FIXED64);
+        long bits = Double.doubleToRawLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    void writeString(int fieldNumber, String value) {
+        writeBytes(fieldNumber, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytes(int fieldNumber, byte[] value) {
+        writeTag(fieldNumber, LENGTH_DELIMITED);
+        writeRawVarint(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    void writeUuid(int fieldNumber, long mostSignificantBits, long leastSignificantBits) {
+        writeTag(fieldNumber, LENGTH_DELIMITED);
+        writeRawVarint(16);
+        ensureCapacity(16);
+        for (int i = 7; i >= 0; i--) {
+            buffer[position++] = (byte) (mostSignificantBits >>> (8 * i));
+        }
+        for (int i = 7; i >= 0; i--) {
+            buffer[position++] = (byte) (leastSignificantBits >>> (8 * i));
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int fieldNumber, int wireType) {
+        writeRawVarint(((long) fieldNumber << 3) | wireType);
+    }
+
+    private void writeRawVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.loopers.event.schema;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    @Nested
+    @DisplayName("바이너리 인코딩")
+    class Binary {
+
+        @Test
+        @DisplayName("주문 이벤트를 인코딩/디코딩하면 모든 필드가 그대로 복원된다")
+        void roundTripOrderEvent() {
+            // given
+            EventEnvelope event = new EventEnvelope()
+                    .setEventId(UUID.randomUUID().toString())
+                    .setEventType("ORDER_CREATED")
+                    .setVersion(1_735_000_000_000L)
+                    .setTimestamp(1_735_000_000_123L)
+                    .setOrderId(42L)
+                    .setUserId("user-1")
+                    .setTotalAmount(new BigDecimal("30000.50"))
+                    .setCouponId(7L)
+                    .setCardCompany("SAMSUNG")
+                    .setCardNumber("1234-5678-9814-1451")
+                    .addItem(1L, 2L, new BigDecimal("10000"))
+                    .addItem(2L, 1L, new BigDecimal("10000.10"));
+
+            // when
+            byte[] payload = EventCodec.encode(event, EventEncoding.BINARY);
+            EventEnvelope decoded = EventCodec.decode(payload);
+
+            // then
+            assertThat(BinaryEventCodec.isBinary(payload)).isTrue();
+            assertThat(decoded.getEventId()).isEqualTo(event.getEventId());
+            assertThat(decoded.getEventType()).isEqualTo("ORDER_CREATED");
+            assertThat(decoded.getVersion()).isEqualTo(event.getVersion());
+            assertThat(decoded.getTimestamp()).isEqualTo(event.getTimestamp());
+            assertThat(decoded.getOrderId()).isEqualTo(42L);
+            assertThat(decoded.getUserId()).isEqualTo("user-1");
+            assertThat(decoded.getTotalAmount()).isEqualByComparingTo("30000.50");
+            assertThat(decoded.getCouponId()).isEqualTo(7L);
+            assertThat(decoded.getCardNumber()).isEqualTo("1234-5678-9814-1451");
+            assertThat(decoded.getItemCount()).isEqualTo(2);
+            assertThat(decoded.getItemProductId(1)).isEqualTo(2L);
+            assertThat(decoded.getItemQuantity(0)).isEqualTo(2L);
+            assertThat(decoded.getItemPrice(1)).isEqualTo(new BigDecimal("10000.10"));
+            assertThat(payload.length).isLessThan(JsonEventCodec.toJson(event).getBytes(StandardCharsets.UTF_8).length / 2);
+        }
+
+        @Test
+        @DisplayName("코드표에 없는 이벤트 타입과 음수 수량도 복원된다")
+        void roundTripUnknownTypeAndNegativeQuantity() {
+            // given
+            EventEnvelope event = new EventEnvelope()
+                    .setEventId("custom-id")
+                    .setEventType("PRODUCT_ARCHIVED")
+                    .setProductId(3L)
+                    .setQuantityChanged(-5);
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(BinaryEventCodec.encode(event));
+
+            // then
+            assertThat(decoded.getEventId()).isEqualTo("custom-id");
+            assertThat(decoded.getEventType()).isEqualTo("PRODUCT_ARCHIVED");
+            assertThat(decoded.getQuantityChanged()).isEqualTo(-5);
+        }
+
+        @Test
+        @DisplayName("신버전 프로듀서가 추가한 모르는 필드는 건너뛴다")
+        void skipsUnknownFields() {
+            // given
+            WireWriter writer = new WireWriter(32);
+            writer.writeRawByte(BinaryEventCodec.MAGIC);
+            writer.writeRawByte(BinaryEventCodec.SCHEMA_VERSION);
+            writer.writeString(BinaryEventCodec.EVENT_ID, "event-1");
+            writer.writeString(99, "new-field");
+            writer.writeDouble(100, 1.5);
+            writer.writeVarint(101, 300);
+            writer.writeVarint(BinaryEventCodec.EVENT_TYPE_CODE, 1);
+            writer.writeVarint(BinaryEventCodec.PRODUCT_ID, 10L);
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(writer.toByteArray());
+
+            // then
+            assertThat(decoded.getEventId()).isEqualTo("event-1");
+            assertThat(decoded.getEventType()).isEqualTo("PRODUCT_LIKED");
+            assertThat(decoded.getProductId()).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("예전 프로듀서가 double 로 보낸 주문 항목 단가도 읽는다")
+        void decodesLegacyDoubleItemPrice() {
+            // given
+            WireWriter item = new WireWriter(24);
+            item.writeVarint(BinaryEventCodec.ITEM_PRODUCT_ID, 1L);
+            item.writeSignedVarint(BinaryEventCodec.ITEM_QUANTITY, 2L);
+            item.writeDouble(BinaryEventCodec.ITEM_PRICE_DOUBLE, 1200.5);
+            WireWriter writer = new WireWriter(32);
+            writer.writeRawByte(BinaryEventCodec.MAGIC);
+            writer.writeRawByte(BinaryEventCodec.SCHEMA_VERSION);
+            writer.writeString(BinaryEventCodec.EVENT_ID, "event-1");
+            writer.writeBytes(BinaryEventCodec.ITEM, item.toByteArray());
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(writer.toByteArray());
+
+            // then
+            assertThat(decoded.getItemPrice(0)).isEqualByComparingTo("1200.5");
+        }
+
+        @Test
+        @DisplayName("코드표에 없는 이벤트 타입은 이름으로 보내 구버전 컨슈머도 그대로 읽는다")
+        void sendsUnknownEventTypeByName() {
+            // given
+            EventEnvelope event = new EventEnvelope().setEventId("event-1").setEventType("COUPON_ISSUED");
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(BinaryEventCodec.encode(event));
+
+            // then
+            assertThat(decoded.getEventType()).isEqualTo("COUPON_ISSUED");
+        }
+
+        @Test
+        @DisplayName("프로듀서가 코드로 보내는 타입은 모두 코드표에 있다 (코드표에 먼저 추가해 컨슈머에 배포한 뒤 코드로 보낸다)")
+        void producesOnlyCodesKnownToConsumers() {
+            // given
+            int maxCode = 0;
+            for (EventTypeCode type : EventTypeCode.values()) {
+                maxCode = Math.max(maxCode, type.code);
+            }
+
+            // when & then
+            assertThat(EventTypeCode.MAX_PRODUCED_CODE).isLessThanOrEqualTo(maxCode);
+            for (EventTypeCode type : EventTypeCode.values()) {
+                int produced = EventTypeCode.codeOf(type.name());
+                assertThat(produced).isIn(0, type.code);
+                if (produced > 0) {
+                    assertThat(EventTypeCode.nameOf(produced)).isEqualTo(type.name());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("지원하지 않는 스키마 버전은 거부한다")
+        void rejectsUnsupportedSchemaVersion() {
+            // given
+            byte[] payload = {BinaryEventCodec.MAGIC, (byte) (BinaryEventCodec.SCHEMA_VERSION + 1), 0x0A, 0x00};
+
+            // when & then
+            assertThatThrownBy(() -> EventCodec.decode(payload))
+                    .isInstanceOf(EventDecodingException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON 폴백")
+    class JsonFallback {
+
+        @Test
+        @DisplayName("바이너리 도입 이전의 JSON 메시지도 같은 구조로 읽는다")
+        void decodesLegacyJson() {
+            // given
+            String json = """
+                    {"eventId":"e-1","eventType":"ORDER_CREATED","orderId":5,"totalAmount":1000,
+                     "timestamp":"2025-01-01T00:00:00+09:00","version":3,
+                     "eventData":{"items":[{"productId":11,"quantity":2,"unitPrice":500}]}}
+                    """;
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(json.getBytes(StandardCharsets.UTF_8));
+
+            // then
+            assertThat(decoded.getEventId()).isEqualTo("e-1");
+            assertThat(decoded.getOrderId()).isEqualTo(5L);
+            assertThat(decoded.getTimestamp()).isNull();
+            assertThat(decoded.getVersion()).isEqualTo(3L);
+            assertThat(decoded.getItemCount()).isEqualTo(1);
+            assertThat(decoded.getItemProductId(0)).isEqualTo(11L);
+            assertThat(decoded.getItemPrice(0)).isEqualByComparingTo("500");
+        }
+
+        @Test
+        @DisplayName("모르는 중첩 필드는 건너뛰고, 최상위 items 가 eventData.items 보다 우선한다")
+        void skipsNestedUnknownFieldsAndPrefersTopLevelItems() {
+            // given
+            String json = """
+                    {"eventData":{"action":"LIKED","items":[{"productId":1,"quantity":9}]},
+                     "meta":{"trace":[1,2,{"a":null}]},
+                     "eventId":"e-3","eventType":"ORDER_CREATED","couponId":null,
+                     "items":[{"productId":2,"quantity":3,"extra":{"x":1},"price":1200.5}],
+                     "quantity":4}
+                    """;
+
+            // when
+            EventEnvelope decoded = EventCodec.decode(json.getBytes(StandardCharsets.UTF_8));
+
+            // then
+            assertThat(decoded.getEventId()).isEqualTo("e-3");
+            assertThat(decoded.getCouponId()).isNull();
+            assertThat(decoded.getQuantityChanged()).isEqualTo(4);
+            assertThat(decoded.getItemCount()).isEqualTo(1);
+            assertThat(decoded.getItemProductId(0)).isEqualTo(2L);
+            assertThat(decoded.getItemQuantity(0)).isEqualTo(3L);
+            assertThat(decoded.getItemPrice(0)).isEqualByComparingTo("1200.5");
+        }
+
+        @Test
+        @DisplayName("같은 객체를 재사용해도 이전 레코드의 값이 남지 않는다")
+        void resetsReusedEnvelope() {
+            // given
+            EventEnvelope reusable = new EventEnvelope();
+            EventCodec.decode("""
+                    {"eventId":"e-4","eventType":"ORDER_CREATED","orderId":1,"items":[{"productId":1,"quantity":1}]}
+                    """.getBytes(StandardCharsets.UTF_8), reusable);
+
+            // when
+            EventCodec.decode("""
+                    {"eventId":"e-5","eventType":"PRODUCT_VIEWED","productId":7}
+                    """.getBytes(StandardCharsets.UTF_8), reusable);
+
+            // then
+            assertThat(reusable.getEventId()).isEqualTo("e-5");
+            assertThat(reusable.getOrderId()).isNull();
+            assertThat(reusable.getItemCount()).isZero();
+            assertThat(reusable.getProductId()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("객체가 아닌 JSON 은 거부한다")
+        void rejectsNonObjectJson() {
+            // when & then
+            assertThatThrownBy(() -> EventCodec.decode("[1,2]".getBytes(StandardCharsets.UTF_8)))
+                    .isInstanceOf(EventDecodingException.class);
+        }
+
+        @Test
+        @DisplayName("감사 로그용 JSON 변환은 바이너리 페이로드를 읽을 수 있는 JSON 으로 바꾼다")
+        void rendersBinaryAsJson() {
+            // given
+            EventEnvelope event = new EventEnvelope()
+                    .setEventId("e-2")
+                    .setEventType("PRODUCT_LIKED")
+                    .setProductId(9L)
+                    .setUserId("user-9");
+
+            // when
+            String json = EventCodec.toJson(BinaryEventCodec.encode(event));
+            EventEnvelope reparsed = EventCodec.decode(json.getBytes(StandardCharsets.UTF_8));
+
+            // then
+            assertThat(json).contains("\"eventType\":\"PRODUCT_LIKED\"");
+            assertThat(reparsed.getEventId()).isEqualTo("e-2");
+            assertThat(reparsed.getProductId()).isEqualTo(9L);
+            assertThat(reparsed.getUserId()).isEqualTo("user-9");
+        }
+    }
+}
@@ -3,9 +3,16 @@ package com.loopers.config.kafka
 import com.fasterxml.jackson.databind.ObjectMapper
 import org.apache.kafka.clients.consumer.ConsumerConfig
 import org.apache.kafka.clients.producer.ProducerConfig
+import org.apache.kafka.common.serialization.ByteArrayDeserializer
+import org.apache.kafka.common.serialization.ByteArraySerializer
+import org.apache.kafka.common.TopicPartition
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Primary
 import org.springframework.kafka.annotation.EnableKafka
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory
 import org.springframework.kafka.core.ConsumerFactory
@@ -14,6 +21,9 @@ import org.springframework.kafka.core.DefaultKafkaProducerFactory
 import org.springframework.kafka.core.KafkaTemplate
 import org.springframework.kafka.core.ProducerFactory
 import org.springframework.kafka.listener.ContainerProperties
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer
+import org.springframework.kafka.listener.DefaultErrorHandler
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries
 import org.springframework.kafka.support.converter.BatchMessagingMessageConverter
 import org.springframework.kafka.support.converter.StringJsonMessageConverter
 import org.springframework.kafka.annotation.EnableKafkaRetryTopic
@@ -25,6 +35,18 @@ import java.util.HashMap
 open class KafkaConfig {
     companion object {
         const val BATCH_LISTENER = "BATCH_LISTENER_DEFAULT"
+        /** 값을 byte[] 그대로 전달하는 배치 리스너 (바이너리/JSON 이벤트를 컨슈머가 직접 디코딩) */
+        const val BYTES_BATCH_LISTENER = "BATCH_LISTENER_BYTES"
+
+        /** acks=all + 멱등성 프로듀서. 유실되면 안 되는 이벤트(주문/결제)용 */
+        const val RELIABLE_BYTES_TEMPLATE = "reliableBytesKafkaTemplate"
+        /** acks=1 프로듀서. 일부 유실을 감수하고 처리량을 우선하는 이벤트(좋아요/조회 등)용 */
+        const val THROUGHPUT_BYTES_TEMPLATE = "throughputBytesKafkaTemplate"
+
+        private const val LINGER_MS = 10 // 배치를 채우기 위해 대기하는 시간: 10ms
+        private const val BATCH_SIZE = 64 * 1024 // 파티션별 배치 크기: 64KB
+        private const val COMPRESSION_TYPE = "lz4"
+        private const val MAX_IN_FLIGHT_REQUESTS = 5 // 멱등성 프로듀서에서 순서가 보장되는 최대값
 
         private const val MAX_POLLING_SIZE = 3000 // 단일 폴링에서 읽을 최대 메시지 수: 3000건
         private const val FETCH_MIN_BYTES = (1024 * 1024) // 최소 페치 크기: 1MB
@@ -32,6 +54,12 @@ open class KafkaConfig {
         private const val SESSION_TIMEOUT_MS = 60 * 1000 // 세션 타임아웃: 1분
         private const val HEARTBEAT_INTERVAL_MS = 20 * 1000 // 하트비트 간격: 20초 (세션 타임아웃의 1/3)
         private const val MAX_POLL_INTERVAL_MS = 2 * 60 * 1000 // 최대 폴링 간격: 2분
+
+        /** 재시도를 모두 소진한 레코드를 보내는 토픽 접미사 (원본 토픽 + "-dlt") */
+        const val DLT_SUFFIX = "-dlt"
+        private const val RECORD_RETRY_ATTEMPTS = 2 // 실패한 레코드 재시도 횟수 (최초 처리 포함 3회)
+        private const val RECORD_RETRY_INITIAL_INTERVAL_MS = 1000L
+        private const val RECORD_RETRY_MULTIPLIER = 2.0
     }
 
     @Bean
@@ -44,6 +72,58 @@ open class KafkaConfig {
 
     // Producer serializers are configured via application YAML
 
+    /**
+     * 직렬화된 byte[] 를 그대로 보내는 프로듀서
+     * 문자열 변환 없이 전송하며, 배치/압축 설정은 YAML 에 값이 없을 때만 기본값을 적용한다.
+     */
+    @Bean(RELIABLE_BYTES_TEMPLATE)
+    open fun reliableBytesKafkaTemplate(
+        kafkaProperties: KafkaProperties,
+        customizers: ObjectProvider<DefaultKafkaProducerFactoryCustomizer>,
+    ): KafkaTemplate<String, ByteArray> {
+        val props = bytesProducerProperties(kafkaProperties).apply {
+            put(ProducerConfig.ACKS_CONFIG, "all")
+            put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+        }
+        return KafkaTemplate(bytesProducerFactory(props, customizers))
+    }
+
+    @Bean(THROUGHPUT_BYTES_TEMPLATE)
+    open fun throughputBytesKafkaTemplate(
+        kafkaProperties: KafkaProperties,
+        customizers: ObjectProvider<DefaultKafkaProducerFactoryCustomizer>,
+    ): KafkaTemplate<String, ByteArray> {
+        val props = bytesProducerProperties(kafkaProperties).apply {
+            put(ProducerConfig.ACKS_CONFIG, "1")
+            // 멱등성 프로듀서는 acks=all 이 필요하므로 비활성화한다 (중복은 컨슈머의 eventId 멱등 처리로 흡수)
+            put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false)
+            // 멱등성 없이 재시도하면 앞선 배치가 실패 후 재전송될 때 뒤 배치가 먼저 기록될 수 있다.
+            // 재고 변경처럼 같은 키 안의 순서가 중요한 이벤트가 섞이므로 in-flight 요청을 1개로 제한한다.
+            put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, 1)
+        }
+        return KafkaTemplate(bytesProducerFactory(props, customizers))
+    }
+
+    private fun bytesProducerProperties(kafkaProperties: KafkaProperties): MutableMap<String, Any> =
+        HashMap(kafkaProperties.buildProducerProperties()).apply {
+            put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer::class.java)
+            putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS)
+            putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, BATCH_SIZE)
+            putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, COMPRESSION_TYPE)
+            putIfAbsent(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, MAX_IN_FLIGHT_REQUESTS)
+        }
+
+    /**
+     * 부트 자동 설정의 프로듀서 커스터마이저(프로듀서 메트릭 리스너 등)를 직접 만든 팩토리에도 적용한다.
+     */
+    private fun bytesProducerFactory(
+        props: Map<String, Any>,
+        customizers: ObjectProvider<DefaultKafkaProducerFactoryCustomizer>,
+    ): ProducerFactory<String, ByteArray> =
+        DefaultKafkaProducerFactory<String, ByteArray>(props).also { factory ->
+            customizers.orderedStream().forEach { it.customize(factory) }
+        }
+
     @Bean
     open fun consumerFactory(
         kafkaProperties: KafkaProperties,
@@ -52,7 +132,11 @@ open class KafkaConfig {
         return DefaultKafkaConsumerFactory(props)
     }
 
+    /**
+     * 기본 템플릿 (@RetryableTopic 등 단일 KafkaTemplate 을 찾는 곳에서 사용)
+     */
     @Bean
+    @Primary
     open fun kafkaTemplate(producerFactory: ProducerFactory<String, String>): KafkaTemplate<String, String> =
         KafkaTemplate(producerFactory)
 
@@ -65,22 +149,56 @@ open class KafkaConfig {
         kafkaProperties: KafkaProperties,
         converter: StringJsonMessageConverter,
     ): ConcurrentKafkaListenerContainerFactory<*, *> {
-        val consumerConfig = HashMap(kafkaProperties.buildConsumerProperties())
-            .apply {
-                put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLLING_SIZE)
-                put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, FETCH_MIN_BYTES)
-                put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, FETCH_MAX_WAIT_MS)
-                put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, SESSION_TIMEOUT_MS)
-                put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, HEARTBEAT_INTERVAL_MS)
-                put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, MAX_POLL_INTERVAL_MS)
-            }
-
         return ConcurrentKafkaListenerContainerFactory<Any, Any>().apply {
-            consumerFactory = DefaultKafkaConsumerFactory(consumerConfig)
+            consumerFactory = DefaultKafkaConsumerFactory(batchConsumerProperties(kafkaProperties))
             containerProperties.ackMode = ContainerProperties.AckMode.MANUAL
             setBatchMessageConverter(BatchMessagingMessageConverter(converter))
             setConcurrency(3)
             isBatchListener = true
         }
     }
+
+    /**
+     * 리스너가 BatchListenerFailedException 으로 실패 위치를 알리면, 그 앞까지는 커밋하고 실패한 레코드만
+     * 백오프로 재시도한 뒤 DLT 로 보낸다. 위치를 알리지 않은 예외는 배치 전체를 재시도한다.
+     */
+    @Bean(BYTES_BATCH_LISTENER)
+    open fun bytesBatchListenerContainerFactory(
+        kafkaProperties: KafkaProperties,
+        @Qualifier(RELIABLE_BYTES_TEMPLATE) deadLetterTemplate: KafkaTemplate<String, ByteArray>,
+    ): ConcurrentKafkaListenerContainerFactory<String, ByteArray> {
+        val consumerConfig = batchConsumerProperties(kafkaProperties).apply {
+            put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer::class.java)
+        }
+
+        return ConcurrentKafkaListenerContainerFactory<String, ByteArray>().apply {
+            consumerFactory = DefaultKafkaConsumerFactory(consumerConfig)
+            containerProperties.ackMode = ContainerProperties.AckMode.MANUAL
+            setConcurrency(3)
+            isBatchListener = true
+            setCommonErrorHandler(recordIsolatingErrorHandler(deadLetterTemplate))
+        }
+    }
+
+    private fun recordIsolatingErrorHandler(deadLetterTemplate: KafkaTemplate<String, ByteArray>): DefaultErrorHandler {
+        // 파티션 수가 원본과 달라도 되도록 파티션은 프로듀서가 정한다
+        val recoverer = DeadLetterPublishingRecoverer(deadLetterTemplate) { record, _ ->
+            TopicPartition(record.topic() + DLT_SUFFIX, -1)
+        }
+        val backOff = ExponentialBackOffWithMaxRetries(RECORD_RETRY_ATTEMPTS).apply {
+            initialInterval = RECORD_RETRY_INITIAL_INTERVAL_MS
+            multiplier = RECORD_RETRY_MULTIPLIER
+        }
+        return DefaultErrorHandler(recoverer, backOff)
+    }
+
+    private fun batchConsumerProperties(kafkaProperties: KafkaProperties): MutableMap<String, Any> =
+        HashMap(kafkaProperties.buildConsumerProperties()).apply {
+            put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLLING_SIZE)
+            put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, FETCH_MIN_BYTES)
+            put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, FETCH_MAX_WAIT_MS)
+            put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, SESSION_TIMEOUT_MS)
+            put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, HEARTBEAT_INTERVAL_MS)
+            put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, MAX_POLL_INTERVAL_MS)
+        }
 }
@@ -7,6 +7,7 @@ include(
     ":apps:pg-simulator",
     ":modules:jpa",
     ":modules:kafka",
+    ":modules:event-schema",
     ":supports:jackson",
     ":supports:logging",
     ":supports:monitoring",